@@ -0,0 +1,48 @@
+package com.pokemon.api.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Drops entries from this node's "pokemon" cache when another node broadcasts that it
+ * refreshed them, so the next read here loads the new value from the shared tier. The
+ * subscription is re-established with backoff if the store connection drops; invalidations
+ * sent meanwhile are lost, and those entries fall back to their own refresh schedule.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationListener {
+
+    private final SharedPokemonCache sharedCache;
+    private final CacheManager cacheManager;
+
+    private Disposable subscription;
+
+    @PostConstruct
+    public void start() {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache("pokemon"), "Cache not configured: pokemon");
+        subscription = sharedCache.invalidations()
+                .doOnError(e -> log.warn("Cache invalidation subscription failed, resubscribing: {}", e.toString()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(id -> {
+                    log.debug("Pokémon {} was refreshed on another node, evicting local copy", id);
+                    cache.evict(id);
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.pokemon.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-cache counters for refresh-ahead activity: refreshes started, reloads that replaced a
+ * value, refreshes that failed (the stale value is kept), and reads answered with a value past
+ * its refresh point.
+ */
+@Component
+public class CacheRefreshStats implements MeterBinder {
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public Counters counters(String cacheName) {
+        return counters.computeIfAbsent(cacheName, name -> {
+            Counters created = new Counters();
+            MeterRegistry bound = registry;
+            if (bound != null) {
+                register(bound, name, created);
+            }
+            return created;
+        });
+    }
+
+    /** Exposes each cache's counters as {@code cache.refresh.*} meters tagged with the cache name. */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        counters.forEach((name, value) -> register(registry, name, value));
+    }
+
+    private static void register(MeterRegistry registry, String cacheName, Counters value) {
+        counter(registry, "cache.refresh.started", cacheName, value.refreshes, "Background refreshes started");
+        counter(registry, "cache.refresh.reloads", cacheName, value.reloads, "Refreshes that replaced the value");
+        counter(registry, "cache.refresh.failures", cacheName, value.refreshFailures, "Refreshes that failed; the stale value was kept");
+        counter(registry, "cache.refresh.stale.hits", cacheName, value.staleHits, "Reads answered with a value past its refresh point");
+    }
+
+    private static void counter(MeterRegistry registry, String name, String cacheName, LongAdder adder, String description) {
+        FunctionCounter.builder(name, adder, LongAdder::sum)
+                .tag("cache", cacheName)
+                .description(description)
+                .register(registry);
+    }
+
+    /**
+     * Counts a stale hit if {@code key} is cached and older than the cache's refresh interval.
+     * Call before reading so the refresh the read triggers does not reset the age first.
+     */
+    public void recordRead(String cacheName, Cache<Object, Object> cache, Object key) {
+        cache.policy().refreshAfterWrite().ifPresent(refresh -> refresh.ageOf(key)
+                .filter(age -> age.compareTo(refresh.getRefreshesAfter()) >= 0)
+                .ifPresent(age -> counters(cacheName).staleHits.increment()));
+    }
+
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        counters.forEach((name, value) -> snapshot.put(name, value.snapshot()));
+        return snapshot;
+    }
+
+    public static class Counters {
+        private final LongAdder refreshes = new LongAdder();
+        private final LongAdder reloads = new LongAdder();
+        private final LongAdder refreshFailures = new LongAdder();
+        private final LongAdder staleHits = new LongAdder();
+
+        void recordRefresh() {
+            refreshes.increment();
+        }
+
+        void recordReload() {
+            reloads.increment();
+        }
+
+        void recordRefreshFailure() {
+            refreshFailures.increment();
+        }
+
+        public Snapshot snapshot() {
+            return new Snapshot(refreshes.sum(), reloads.sum(), refreshFailures.sum(), staleHits.sum());
+        }
+    }
+
+    public record Snapshot(long refreshes, long reloads, long refreshFailures, long staleHits) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.pokemon.api.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSprites;
+import com.pokemon.api.model.PokemonStat;
+import com.pokemon.api.response.EvolutionChainResponse;
+import com.pokemon.api.response.EvolutionChainResponse.ChainLink;
+import com.pokemon.api.response.EvolutionChainResponse.EvolutionDetail;
+import com.pokemon.api.response.NamedResource;
+
+import java.util.List;
+
+/**
+ * Weighs cache entries by their estimated heap footprint in bytes, so caches are bounded by
+ * memory rather than entry count: the single {@code pokemonList} entry weighs as much as the
+ * whole dex it holds, not as much as one Pokémon.
+ * <p>
+ * The estimate walks the cached types field by field with a 64-bit JVM's layout (12-byte
+ * headers, 4-byte compressed references, 8-byte alignment, Latin-1 strings). Type, stat and
+ * region names and weakness lists are shared by every entry (see
+ * {@link com.pokemon.api.model.Vocabulary} and {@link com.pokemon.api.model.TypeChart}), so
+ * only the lists holding them are counted. Values of other types weigh {@link #UNKNOWN_BYTES}.
+ * {@code EntryWeigherTest} keeps the estimate close to what JOL measures.
+ */
+public final class EntryWeigher implements Weigher<Object, Object> {
+
+    public static final EntryWeigher INSTANCE = new EntryWeigher();
+
+    static final int UNKNOWN_BYTES = 1024;
+
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+    private static final int BOXED = 16;      // Integer
+    private static final int BOXED_LONG = 24;
+    private static final int LIST = 24;       // ArrayList, List.of, unmodifiable wrappers alike
+
+    private EntryWeigher() {
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, estimate(value));
+    }
+
+    /** Estimated bytes retained by {@code value}, not counting shared names. */
+    public static long estimate(Object value) {
+        return switch (value) {
+            case null -> 0;
+            case Pokemon pokemon -> pokemon(pokemon);
+            case EvolutionChainResponse chain -> object(2) + BOXED_LONG + link(chain.getChain());
+            case List<?> list -> {
+                long size = list(list.size());
+                for (Object element : list) {
+                    size += estimate(element);
+                }
+                yield size;
+            }
+            case String string -> string(string);
+            default -> UNKNOWN_BYTES;
+        };
+    }
+
+    private static long pokemon(Pokemon pokemon) {
+        long size = object(9) + BOXED_LONG + string(pokemon.getName()) + 2 * BOXED;
+        size += pokemon.getTypes() == null ? 0 : list(pokemon.getTypes().size());
+        size += sprites(pokemon.getSprites());
+        List<PokemonStat> stats = pokemon.getStats();
+        if (stats != null) {
+            // Each stat and its boxed base value; the stat names are shared
+            size += list(stats.size()) + stats.size() * (object(2) + BOXED);
+        }
+        return size;
+    }
+
+    private static long sprites(PokemonSprites sprites) {
+        if (sprites == null) {
+            return 0;
+        }
+        return object(3) + string(sprites.getFrontDefault()) + string(sprites.getBackDefault())
+                + string(sprites.getOfficialArtwork());
+    }
+
+    private static long link(ChainLink link) {
+        if (link == null) {
+            return 0;
+        }
+        long size = object(3) + named(link.getSpecies());
+        if (link.getEvolutionDetails() != null) {
+            size += list(link.getEvolutionDetails().size());
+            for (EvolutionDetail detail : link.getEvolutionDetails()) {
+                size += object(7) + named(detail.getTrigger()) + named(detail.getItem()) + named(detail.getHeldItem())
+                        + named(detail.getKnownMove()) + string(detail.getTimeOfDay())
+                        + (detail.getMinLevel() == null ? 0 : BOXED) + (detail.getMinHappiness() == null ? 0 : BOXED);
+            }
+        }
+        if (link.getEvolvesTo() != null) {
+            size += list(link.getEvolvesTo().size());
+            for (ChainLink next : link.getEvolvesTo()) {
+                size += link(next);
+            }
+        }
+        return size;
+    }
+
+    private static long named(NamedResource resource) {
+        return resource == null ? 0 : object(2) + string(resource.getName()) + string(resource.getUrl());
+    }
+
+    private static long string(String string) {
+        return string == null ? 0 : 24 + align(ARRAY_HEADER + string.length());
+    }
+
+    private static long list(int size) {
+        return LIST + align(ARRAY_HEADER + (long) REFERENCE * size);
+    }
+
+    private static long object(int references) {
+        return align(HEADER + (long) REFERENCE * references);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
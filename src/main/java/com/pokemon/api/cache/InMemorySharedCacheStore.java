@@ -0,0 +1,87 @@
+package com.pokemon.api.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link SharedCacheStore} kept in this JVM. It stands in for Redis in tests, where one
+ * instance can be handed to several cache setups to play several nodes, and in local
+ * development; it shares nothing between processes.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Sinks.Many<String>> channels = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemorySharedCacheStore() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemorySharedCacheStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<byte[]> get(String key) {
+        return Mono.fromSupplier(() -> live(key));
+    }
+
+    @Override
+    public Mono<List<byte[]>> getAll(List<String> keys) {
+        return Mono.fromSupplier(() -> {
+            List<byte[]> values = new ArrayList<>(keys.size());
+            keys.forEach(key -> values.add(live(key)));
+            return values;
+        });
+    }
+
+    @Override
+    public Mono<Void> put(String key, byte[] value, Duration ttl) {
+        return Mono.fromRunnable(() -> entries.put(key, new Entry(value.clone(), clock.instant().plus(ttl))));
+    }
+
+    @Override
+    public Mono<Void> delete(String key) {
+        return Mono.fromRunnable(() -> entries.remove(key));
+    }
+
+    @Override
+    public Mono<Void> publish(String channel, String message) {
+        return Mono.fromRunnable(() -> channel(channel).emitNext(message, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1))));
+    }
+
+    @Override
+    public Flux<String> subscribe(String channel) {
+        return channel(channel).asFlux();
+    }
+
+    private byte[] live(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.expiresAt())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value().clone();
+    }
+
+    private Sinks.Many<String> channel(String name) {
+        // Like Redis pub/sub: no replay, and a publish with no subscribers is simply dropped
+        return channels.computeIfAbsent(name, ignored -> Sinks.many().multicast().directBestEffort());
+    }
+
+    private record Entry(byte[] value, Instant expiresAt) {
+    }
+}
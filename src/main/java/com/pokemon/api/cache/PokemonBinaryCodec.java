@@ -0,0 +1,178 @@
+package com.pokemon.api.cache;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSprites;
+import com.pokemon.api.model.PokemonStat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact binary form of {@link Pokemon}: length-prefixed UTF-8 strings, byte-sized list
+ * counts and {@link Integer#MIN_VALUE} for absent numbers. Field order is the format, so any
+ * change here needs a new snapshot format version.
+ */
+public final class PokemonBinaryCodec {
+
+    private static final int ABSENT = Integer.MIN_VALUE;
+
+    private PokemonBinaryCodec() {
+    }
+
+    /** One Pokémon as a standalone record, as stored in the shared cache. */
+    public static byte[] encode(Pokemon pokemon) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(pokemon, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws java.nio.BufferUnderflowException if {@code bytes} is not a whole record
+     */
+    public static Pokemon decode(byte[] bytes) {
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    public static void write(Pokemon pokemon, DataOutput out) throws IOException {
+        out.writeLong(pokemon.getId());
+        writeString(out, pokemon.getName());
+        writeStrings(out, pokemon.getTypes());
+        writeString(out, pokemon.getRegion());
+        writeStrings(out, pokemon.getWeaknesses());
+
+        PokemonSprites sprites = pokemon.getSprites();
+        out.writeBoolean(sprites != null);
+        if (sprites != null) {
+            writeString(out, sprites.getFrontDefault());
+            writeString(out, sprites.getBackDefault());
+            writeString(out, sprites.getOfficialArtwork());
+        }
+
+        writeInt(out, pokemon.getHeight());
+        writeInt(out, pokemon.getWeight());
+
+        List<PokemonStat> stats = pokemon.getStats();
+        writeCount(out, stats);
+        if (stats != null) {
+            for (PokemonStat stat : stats) {
+                writeString(out, stat.getName());
+                writeInt(out, stat.getBaseStat());
+            }
+        }
+    }
+
+    /**
+     * Reads one Pokémon from the current position of {@code in}.
+     *
+     * @throws java.nio.BufferUnderflowException if the buffer ends mid-record
+     */
+    public static Pokemon read(ByteBuffer in) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(in.getLong());
+        pokemon.setName(readString(in));
+        pokemon.setTypes(readStrings(in));
+        pokemon.setRegion(readString(in));
+        pokemon.setWeaknesses(readStrings(in));
+
+        if (in.get() != 0) {
+            PokemonSprites sprites = new PokemonSprites();
+            sprites.setFrontDefault(readString(in));
+            sprites.setBackDefault(readString(in));
+            sprites.setOfficialArtwork(readString(in));
+            pokemon.setSprites(sprites);
+        }
+
+        pokemon.setHeight(readInt(in));
+        pokemon.setWeight(readInt(in));
+
+        int statCount = in.get();
+        if (statCount >= 0) {
+            List<PokemonStat> stats = new ArrayList<>(statCount);
+            for (int i = 0; i < statCount; i++) {
+                PokemonStat stat = new PokemonStat();
+                stat.setName(readString(in));
+                stat.setBaseStat(readInt(in));
+                stats.add(stat);
+            }
+            pokemon.setStats(List.copyOf(stats));
+        }
+        return pokemon;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            // The length would wrap and the record (CRC and all) decode as garbage
+            throw new IOException("String too long to encode: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutput out, List<String> values) throws IOException {
+        writeCount(out, values);
+        if (values != null) {
+            for (String value : values) {
+                writeString(out, value);
+            }
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = in.get();
+        if (count < 0) {
+            return null;
+        }
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = readString(in);
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    private static void writeCount(DataOutput out, List<?> values) throws IOException {
+        if (values == null) {
+            out.writeByte(-1);
+        } else if (values.size() > Byte.MAX_VALUE) {
+            throw new IOException("Too many elements to encode: " + values.size());
+        } else {
+            out.writeByte(values.size());
+        }
+    }
+
+    private static void writeInt(DataOutput out, Integer value) throws IOException {
+        out.writeInt(value == null ? ABSENT : value);
+    }
+
+    private static Integer readInt(ByteBuffer in) {
+        int value = in.getInt();
+        return value == ABSENT ? null : value;
+    }
+}
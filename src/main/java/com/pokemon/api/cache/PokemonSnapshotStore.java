@@ -0,0 +1,228 @@
+package com.pokemon.api.cache;
+
+import com.pokemon.api.model.Pokemon;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+
+/**
+ * Persists the "pokemon" cache to a binary snapshot file so a restarted node starts warm.
+ * <p>
+ * The file is a fixed 32-byte header followed by {@link PokemonBinaryCodec} records:
+ * <pre>
+ *   int   magic ("PKSN")
+ *   short format version
+ *   short reserved
+ *   long  written at (epoch millis)
+ *   int   record count
+ *   int   payload length
+ *   long  CRC32C of the payload
+ * </pre>
+ * At startup the file is memory-mapped and loaded before the web server accepts requests.
+ * A snapshot with the wrong magic or version, a bad checksum, or an age above
+ * {@code pokeapi.snapshot.max-age} is ignored and the node starts cold.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PokemonSnapshotStore {
+
+    static final int MAGIC = 0x504B534E; // "PKSN"
+    static final short FORMAT_VERSION = 2; // 2: weaknesses from the full type chart
+    static final int HEADER_SIZE = 32;
+
+    private final CacheManager cacheManager;
+
+    @Value("${pokeapi.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pokeapi.snapshot.path:data/pokemon-cache.snapshot}")
+    private Path path;
+
+    @Value("${pokeapi.snapshot.max-age:12h}")
+    private Duration maxAge;
+
+    private Clock clock = Clock.systemUTC();
+
+    @PostConstruct
+    public void restoreOnStartup() {
+        if (enabled) {
+            restore();
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        if (enabled) {
+            write();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${pokeapi.snapshot.write-interval:600000}",
+            fixedDelayString = "${pokeapi.snapshot.write-interval:600000}")
+    public void writePeriodically() {
+        if (enabled) {
+            write();
+        }
+    }
+
+    /**
+     * Loads the snapshot into the "pokemon" cache.
+     *
+     * @return the number of restored Pokémon, 0 when the node has to start cold
+     */
+    public int restore() {
+        if (!Files.isRegularFile(path)) {
+            log.info("No cache snapshot at {}, starting cold", path);
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        List<Pokemon> restored;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            restored = readSnapshot(buffer);
+        } catch (IOException e) {
+            log.warn("Could not read cache snapshot {}: {}", path, e.getMessage());
+            return 0;
+        }
+        if (restored.isEmpty()) {
+            return 0;
+        }
+
+        Cache cache = pokemonCache();
+        restored.forEach(pokemon -> cache.put(pokemon.getId(), pokemon));
+        log.info("Restored {} Pokémon from cache snapshot {} in {} ms",
+                restored.size(), path, (System.nanoTime() - start) / 1_000_000);
+        return restored.size();
+    }
+
+    /**
+     * Writes the current "pokemon" cache contents. The file is replaced atomically so a crash
+     * mid-write leaves the previous snapshot intact.
+     */
+    public synchronized void write() {
+        List<Pokemon> entries = new ArrayList<>();
+        for (Object value : ((CaffeineCache) pokemonCache()).getNativeCache().asMap().values()) {
+            if (value instanceof Pokemon pokemon) {
+                entries.add(pokemon);
+            }
+        }
+        if (entries.isEmpty()) {
+            log.debug("Pokémon cache is empty, keeping existing snapshot");
+            return;
+        }
+
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(entries.size() * 512);
+            try (DataOutputStream out = new DataOutputStream(payload)) {
+                for (Pokemon pokemon : entries) {
+                    PokemonBinaryCodec.write(pokemon, out);
+                }
+            }
+            byte[] bytes = payload.toByteArray();
+            CRC32C crc = new CRC32C();
+            crc.update(bytes);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putShort(FORMAT_VERSION)
+                    .putShort((short) 0)
+                    .putLong(clock.millis())
+                    .putInt(entries.size())
+                    .putInt(bytes.length)
+                    .putLong(crc.getValue())
+                    .flip();
+
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.write(new ByteBuffer[]{header, ByteBuffer.wrap(bytes)});
+                channel.force(true);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote cache snapshot with {} Pokémon ({} bytes) to {}", entries.size(), HEADER_SIZE + bytes.length, path);
+        } catch (IOException e) {
+            log.warn("Could not write cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private List<Pokemon> readSnapshot(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) {
+            log.warn("Cache snapshot {} is truncated, starting cold", path);
+            return List.of();
+        }
+
+        int magic = buffer.getInt();
+        short version = buffer.getShort();
+        buffer.getShort();
+        long writtenAt = buffer.getLong();
+        int count = buffer.getInt();
+        int payloadLength = buffer.getInt();
+        long checksum = buffer.getLong();
+
+        if (magic != MAGIC || version != FORMAT_VERSION) {
+            log.warn("Cache snapshot {} has unsupported format (magic {}, version {}), starting cold",
+                    path, Integer.toHexString(magic), version);
+            return List.of();
+        }
+        Duration age = Duration.between(Instant.ofEpochMilli(writtenAt), clock.instant());
+        if (age.compareTo(maxAge) > 0) {
+            log.warn("Cache snapshot {} is {} old (max {}), starting cold", path, age, maxAge);
+            return List.of();
+        }
+        if (count < 0 || payloadLength != buffer.remaining()) {
+            log.warn("Cache snapshot {} is truncated, starting cold", path);
+            return List.of();
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice());
+        if (crc.getValue() != checksum) {
+            log.warn("Cache snapshot {} failed its checksum, starting cold", path);
+            return List.of();
+        }
+
+        try {
+            List<Pokemon> restored = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                restored.add(PokemonBinaryCodec.read(buffer));
+            }
+            return restored;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            log.warn("Cache snapshot {} could not be decoded, starting cold", path);
+            return List.of();
+        }
+    }
+
+    private Cache pokemonCache() {
+        return Objects.requireNonNull(cacheManager.getCache("pokemon"), "Cache not configured: pokemon");
+    }
+}
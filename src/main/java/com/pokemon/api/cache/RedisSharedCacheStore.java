@@ -0,0 +1,71 @@
+package com.pokemon.api.cache;
+
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link SharedCacheStore} on Redis: plain string keys with binary values ({@code SET ... PX},
+ * {@code MGET}) and Redis pub/sub for the broadcast channel. Connections are made on first
+ * use, so commands fail (and the shared tier counts misses) while Redis is unreachable.
+ */
+public class RedisSharedCacheStore implements SharedCacheStore {
+
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final ReactiveRedisTemplate<String, byte[]> redis;
+
+    public RedisSharedCacheStore(ReactiveRedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+        this.redis = new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext
+                .<String, byte[]>newSerializationContext(RedisSerializer.byteArray())
+                .key(RedisSerializer.string())
+                .hashKey(RedisSerializer.string())
+                .build());
+    }
+
+    @Override
+    public Mono<byte[]> get(String key) {
+        return redis.opsForValue().get(key);
+    }
+
+    @Override
+    public Mono<List<byte[]>> getAll(List<String> keys) {
+        return redis.opsForValue().multiGet(keys);
+    }
+
+    @Override
+    public Mono<Void> put(String key, byte[] value, Duration ttl) {
+        return redis.opsForValue().set(key, value, ttl).then();
+    }
+
+    @Override
+    public Mono<Void> delete(String key) {
+        return redis.delete(key).then();
+    }
+
+    @Override
+    public Mono<Void> publish(String channel, String message) {
+        return redis.convertAndSend(channel, message.getBytes(StandardCharsets.UTF_8)).then();
+    }
+
+    /**
+     * Each subscription gets its own pub/sub connection, opened on subscribe and closed when it
+     * ends, so a node starts without Redis and resubscribing reconnects.
+     */
+    @Override
+    public Flux<String> subscribe(String channel) {
+        return Flux.using(() -> new ReactiveRedisMessageListenerContainer(connectionFactory),
+                container -> container.receive(ChannelTopic.of(channel)).map(ReactiveSubscription.Message::getMessage),
+                container -> container.destroyLater().subscribe());
+    }
+}
@@ -0,0 +1,157 @@
+package com.pokemon.api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pokemon.api.model.Pokemon;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON bodies for cached {@link Pokemon}, serialized once with the application's
+ * {@link ObjectMapper} and reused until the entry changes.
+ * <p>
+ * Bodies are keyed by the identity of the cached object (Caffeine weak keys compare by
+ * identity). A refresh or reload puts a new object in the "pokemon" cache, so the next request
+ * serializes the new value and the old body is dropped once the old object is collected; no
+ * explicit invalidation hook is needed and a stale body can never be served for a new value.
+ * <p>
+ * ETags are strong and derived from the bytes, so equal content always gets the same tag,
+ * across refreshes and across nodes. A page body is the concatenation of its entries' bodies
+ * and its ETag is a digest of theirs, so pages never run Jackson either.
+ */
+@Component
+public class SerializedResponseCache {
+
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_SEPARATOR = {','};
+    private static final byte[] ARRAY_END = {']'};
+
+    private final ObjectMapper objectMapper;
+    private final boolean gzipEnabled;
+    private final Cache<Pokemon, Body> bodies;
+
+    public SerializedResponseCache(ObjectMapper objectMapper,
+                                   @Value("${pokeapi.responses.gzip:true}") boolean gzipEnabled,
+                                   @Value("${pokeapi.responses.maximum-weight:8MB}") DataSize maximumWeight) {
+        this.objectMapper = objectMapper;
+        this.gzipEnabled = gzipEnabled;
+        this.bodies = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((Pokemon pokemon, Body body) -> body.bytes())
+                .build();
+    }
+
+    public boolean isGzipEnabled() {
+        return gzipEnabled;
+    }
+
+    public Body single(Pokemon pokemon) {
+        return bodies.get(pokemon, this::serialize);
+    }
+
+    /**
+     * Body for a JSON array of {@code pokemon}, assembled from the cached entry bodies. Pages
+     * are not stored themselves and carry no pre-gzipped variant.
+     */
+    public Body page(List<Pokemon> pokemon) {
+        return array(pokemon.size(), i -> single(pokemon.get(i)));
+    }
+
+    /**
+     * Body for a bulk lookup: one array element per requested ID, in request order, either the
+     * cached entry body or {@code {"id":N,"missing":true}} for an ID in neither the cache nor
+     * PokeAPI. Built like {@link #page}, so entry bodies are reused.
+     */
+    public Body lookup(List<Long> ids, Map<Long, Pokemon> found) {
+        return array(ids.size(), i -> {
+            Pokemon pokemon = found.get(ids.get(i));
+            return pokemon != null ? single(pokemon) : missing(ids.get(i));
+        });
+    }
+
+    private Body array(int size, IntFunction<Body> entries) {
+        MessageDigest digest = sha256();
+        ByteArrayOutputStream json = new ByteArrayOutputStream(size * 1024 + 2);
+        json.writeBytes(ARRAY_START);
+        for (int i = 0; i < size; i++) {
+            Body entry = entries.apply(i);
+            if (i > 0) {
+                json.writeBytes(ARRAY_SEPARATOR);
+            }
+            json.writeBytes(entry.json());
+            digest.update(entry.etag().getBytes(StandardCharsets.US_ASCII));
+        }
+        json.writeBytes(ARRAY_END);
+        return new Body(json.toByteArray(), encode(digest.digest()), null);
+    }
+
+    private static Body missing(Long id) {
+        byte[] json = ("{\"id\":" + id + ",\"missing\":true}").getBytes(StandardCharsets.US_ASCII);
+        return new Body(json, "missing-" + id, null);
+    }
+
+    private Body serialize(Pokemon pokemon) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(pokemon);
+            return new Body(json, encode(sha256().digest(json)), gzipEnabled ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize Pokémon " + pokemon.getId(), e);
+        }
+    }
+
+    /** 128 bits of SHA-256 is plenty for a validator and keeps the header short. */
+    private static String encode(byte[] digest) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every JVM", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A serialized body. {@code etag} is unquoted; the gzip variant (null when disabled or for
+     * pages) is a different representation and gets its own tag, {@link #gzipEtag()}.
+     */
+    public record Body(byte[] json, String etag, byte[] gzip) {
+
+        public String gzipEtag() {
+            return etag + "-gzip";
+        }
+
+        /** Roughly the heap this body holds: both arrays and the tag. */
+        int bytes() {
+            return 64 + json.length + (gzip == null ? 0 : gzip.length) + etag.length();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pokemon.api.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A key-value store shared by every node, used as the second cache tier behind the
+ * in-process Caffeine caches, plus a broadcast channel for invalidation messages. Values are
+ * opaque bytes; {@link SharedPokemonCache} decides what goes in them.
+ * <p>
+ * Implementations: {@link RedisSharedCacheStore} for real deployments and
+ * {@link InMemorySharedCacheStore} as a stand-in for tests and single-node development.
+ */
+public interface SharedCacheStore {
+
+    /** The value stored under {@code key}, or empty if there is none. */
+    Mono<byte[]> get(String key);
+
+    /** Values for {@code keys} in the same order, with {@code null} for the ones not stored. */
+    Mono<List<byte[]>> getAll(List<String> keys);
+
+    Mono<Void> put(String key, byte[] value, Duration ttl);
+
+    Mono<Void> delete(String key);
+
+    /** Sends {@code message} to every subscriber of {@code channel}, on any node, including this one. */
+    Mono<Void> publish(String channel, String message);
+
+    /** Messages published to {@code channel} from the time of subscription on. */
+    Flux<String> subscribe(String channel);
+}
@@ -0,0 +1,186 @@
+package com.pokemon.api.cache;
+
+import com.pokemon.api.model.Pokemon;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Second cache tier for the "pokemon" cache, shared by every node through a
+ * {@link SharedCacheStore}. The Caffeine loaders in {@link com.pokemon.api.config.CacheConfig}
+ * read through it: a local miss asks the shared store first and only goes to PokeAPI when no
+ * node has fetched that Pokémon yet, then stores what it fetched for the others. Values are
+ * {@link PokemonBinaryCodec} records, a few hundred bytes each.
+ * <p>
+ * When a background refresh on this node brings back a changed Pokémon, it is written to the
+ * store and an invalidation is broadcast; the other nodes drop their local copy (see
+ * {@link CacheInvalidationListener}) and pick the new value up from the store on the next read.
+ * <p>
+ * The shared tier is an optimization only. A store that fails or answers slower than
+ * {@code timeout} counts as a miss, and failed writes are dropped, so reads never fail because
+ * of it.
+ */
+@Slf4j
+public class SharedPokemonCache {
+
+    /**
+     * The codec's format version is part of the key, so nodes on another format never read these.
+     * v2: weaknesses from the full type chart.
+     */
+    static final String KEY_PREFIX = "pokeapi:pokemon:v2:";
+    static final String INVALIDATION_CHANNEL = "pokeapi:pokemon:invalidations";
+
+    private final SharedCacheStore store;
+    private final Duration ttl;
+    private final Duration timeout;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter readErrors;
+    private final Counter writes;
+    private final Counter writeErrors;
+    private final Counter invalidationsSent;
+    private final Counter invalidationsReceived;
+
+    public SharedPokemonCache(SharedCacheStore store, Duration ttl, Duration timeout, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.ttl = ttl;
+        this.timeout = timeout;
+        this.hits = counter(meterRegistry, "cache.l2.reads", "result", "hit", "Shared cache lookups");
+        this.misses = counter(meterRegistry, "cache.l2.reads", "result", "miss", "Shared cache lookups");
+        this.readErrors = counter(meterRegistry, "cache.l2.reads", "result", "error", "Shared cache lookups");
+        this.writes = counter(meterRegistry, "cache.l2.writes", "result", "success", "Upstream results stored in the shared cache");
+        this.writeErrors = counter(meterRegistry, "cache.l2.writes", "result", "error", "Upstream results stored in the shared cache");
+        this.invalidationsSent = counter(meterRegistry, "cache.l2.invalidations", "direction", "sent", "Invalidation broadcasts");
+        this.invalidationsReceived = counter(meterRegistry, "cache.l2.invalidations", "direction", "received", "Invalidation broadcasts");
+    }
+
+    /** The Pokémon from the shared store, or else from {@code upstream} (and then stored). */
+    public Mono<Pokemon> load(Long id, Function<Long, Mono<Pokemon>> upstream) {
+        return read(id).switchIfEmpty(Mono.defer(() -> upstream.apply(id).flatMap(pokemon -> write(pokemon).thenReturn(pokemon))));
+    }
+
+    /**
+     * Bulk form of {@link #load}: one multi-get for all {@code ids}, then a single upstream batch
+     * for the ones no node has stored.
+     */
+    public Mono<Map<Long, Pokemon>> loadAll(List<Long> ids, Function<List<Long>, Flux<Pokemon>> upstream) {
+        return readAll(ids).flatMap(found -> {
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            if (missing.isEmpty()) {
+                return Mono.just(found);
+            }
+            return upstream.apply(missing)
+                    .flatMap(pokemon -> write(pokemon).thenReturn(pokemon))
+                    .doOnNext(pokemon -> found.put(pokemon.getId(), pokemon))
+                    .then(Mono.just(found));
+        });
+    }
+
+    /**
+     * Refresh of a cached entry. A value another node already refreshed is taken from the
+     * store; otherwise the Pokémon is fetched from {@code upstream}, stored, and if it differs
+     * from {@code current} the other nodes are told to drop their copy.
+     */
+    public Mono<Pokemon> reload(Long id, Pokemon current, Function<Long, Mono<Pokemon>> upstream) {
+        return read(id)
+                .filter(shared -> !shared.equals(current))
+                .switchIfEmpty(Mono.defer(() -> upstream.apply(id).flatMap(pokemon -> write(pokemon)
+                        .then(pokemon.equals(current) ? Mono.<Void>empty() : publishInvalidation(id))
+                        .thenReturn(pokemon))));
+    }
+
+    /** Stores a Pokémon this node found changed upstream and tells the other nodes to drop their copy. */
+    public Mono<Void> update(Pokemon pokemon) {
+        return write(pokemon).then(publishInvalidation(pokemon.getId()));
+    }
+
+    /** IDs invalidated by other nodes; this node's own broadcasts are filtered out. */
+    public Flux<Long> invalidations() {
+        return store.subscribe(INVALIDATION_CHANNEL).handle((message, sink) -> {
+            int separator = message.indexOf(' ');
+            if (separator < 0) {
+                log.warn("Ignoring malformed cache invalidation '{}'", message);
+                return;
+            }
+            if (!message.substring(0, separator).equals(nodeId)) {
+                try {
+                    sink.next(Long.parseLong(message.substring(separator + 1)));
+                    invalidationsReceived.increment();
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring malformed cache invalidation '{}'", message);
+                }
+            }
+        });
+    }
+
+    private Mono<Pokemon> read(Long id) {
+        return store.get(KEY_PREFIX + id)
+                .timeout(timeout)
+                .map(PokemonBinaryCodec::decode)
+                .doOnNext(pokemon -> hits.increment())
+                .switchIfEmpty(Mono.fromRunnable(misses::increment))
+                .onErrorResume(e -> {
+                    readErrors.increment();
+                    log.warn("Shared cache read of Pokémon {} failed, treating as a miss: {}", id, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Map<Long, Pokemon>> readAll(List<Long> ids) {
+        return store.getAll(ids.stream().map(id -> KEY_PREFIX + id).toList())
+                .timeout(timeout)
+                .map(values -> {
+                    Map<Long, Pokemon> found = new HashMap<>();
+                    for (int i = 0; i < ids.size(); i++) {
+                        byte[] value = i < values.size() ? values.get(i) : null;
+                        if (value != null) {
+                            found.put(ids.get(i), PokemonBinaryCodec.decode(value));
+                        }
+                    }
+                    hits.increment(found.size());
+                    misses.increment(ids.size() - found.size());
+                    return found;
+                })
+                .onErrorResume(e -> {
+                    readErrors.increment(ids.size());
+                    log.warn("Shared cache read of {} Pokémon failed, treating as misses: {}", ids.size(), e.toString());
+                    return Mono.fromSupplier(HashMap::new);
+                });
+    }
+
+    private Mono<Void> write(Pokemon pokemon) {
+        return Mono.defer(() -> store.put(KEY_PREFIX + pokemon.getId(), PokemonBinaryCodec.encode(pokemon), ttl))
+                .timeout(timeout)
+                .doOnSuccess(ignored -> writes.increment())
+                .onErrorResume(e -> {
+                    writeErrors.increment();
+                    log.warn("Shared cache write of Pokémon {} failed: {}", pokemon.getId(), e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> publishInvalidation(Long id) {
+        return store.publish(INVALIDATION_CHANNEL, nodeId + " " + id)
+                .timeout(timeout)
+                .doOnSuccess(ignored -> invalidationsSent.increment())
+                .onErrorResume(e -> {
+                    log.warn("Could not broadcast invalidation of Pokémon {}: {}", id, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String tag, String value, String description) {
+        return Counter.builder(name).tag(tag, value).description(description).register(registry);
+    }
+}
@@ -0,0 +1,380 @@
+package com.pokemon.api.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Sprite and artwork images on local disk, stored by content so each distinct image is kept
+ * once however many keys point at it.
+ * <pre>
+ *   blobs/ab/ab12…   image bytes, named by their SHA-256
+ *   refs/25-front    "&lt;sha-256&gt; &lt;content type&gt;" for each key
+ *   tmp/             downloads in progress
+ * </pre>
+ * The store is bounded by {@code pokeapi.sprites.max-size}: past it, the least recently served
+ * images are dropped along with the keys pointing at them. Access order only lives in memory;
+ * after a restart the index is rebuilt from the files, oldest image first.
+ * <p>
+ * A dropped image's file stays where it is for {@code pokeapi.sprites.delete-delay} before it
+ * is deleted: Tomcat's sendfile opens a file by name once the handler has returned, so a
+ * response that looked the image up just before it was dropped must still find it. Those
+ * files no longer count towards the size bound; they are deleted on a later {@link #put}.
+ */
+@Slf4j
+@Component
+public class SpriteStore implements MeterBinder {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path blobs;
+    private final Path refs;
+    private final Path tmp;
+    private final long maxBytes;
+    private final long deleteDelayNanos;
+
+    /** Access-ordered, so iteration starts at the least recently served image. */
+    private final LinkedHashMap<String, Blob> blobsByHash = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Blob> blobsByKey = new HashMap<>();
+    /** Hashes of dropped images whose files are still on disk, with when they may go. */
+    private final Map<String, Long> pendingDeletes = new HashMap<>();
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SpriteStore(@Value("${pokeapi.sprites.path:data/sprites}") Path root,
+                       @Value("${pokeapi.sprites.max-size:256MB}") DataSize maxSize,
+                       @Value("${pokeapi.sprites.delete-delay:10m}") Duration deleteDelay) {
+        this.blobs = root.resolve("blobs");
+        this.refs = root.resolve("refs");
+        this.tmp = root.resolve("tmp");
+        this.maxBytes = maxSize.toBytes();
+        this.deleteDelayNanos = deleteDelay.toNanos();
+    }
+
+    /**
+     * The image stored under {@code key}, marked as most recently served. A file that went
+     * missing from disk is dropped from the index and reported as a miss.
+     */
+    public synchronized Optional<Sprite> get(String key) {
+        Blob blob = blobsByKey.get(key);
+        if (blob != null && !Files.isRegularFile(blob.path)) {
+            log.warn("Sprite {} went missing from {}, dropping it", blob.hash, blob.path);
+            remove(blob);
+            blob = null;
+        }
+        if (blob == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        blobsByHash.get(blob.hash); // Touch for LRU order
+        hits.increment();
+        return Optional.of(blob.sprite());
+    }
+
+    public synchronized boolean contains(String key) {
+        return blobsByKey.containsKey(key);
+    }
+
+    /** A file for a download in progress, to be handed to {@link #put}. */
+    public Path createTempFile() throws IOException {
+        Files.createDirectories(tmp);
+        return Files.createTempFile(tmp, "download", ".tmp");
+    }
+
+    /**
+     * Stores the downloaded image in {@code file} under {@code key}. The file is moved into
+     * place, or deleted if the same bytes are stored already.
+     */
+    public Sprite put(String key, Path file, String contentType) throws IOException {
+        String hash = sha256(file);
+        Path path = blobPath(hash);
+        long size = Files.size(file);
+        Files.createDirectories(path.getParent());
+        Files.createDirectories(refs);
+
+        synchronized (this) {
+            deleteExpired();
+            writeRef(key, hash, contentType);
+            Blob blob = blobsByHash.get(hash);
+            if (blob == null) {
+                pendingDeletes.remove(hash); // Dropped recently and back already: keep the file
+                Files.move(file, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                blob = new Blob(hash, path, size, contentType);
+                blobsByHash.put(hash, blob);
+                totalBytes += size;
+            } else {
+                Files.deleteIfExists(file);
+            }
+            Blob previous = blobsByKey.put(key, blob);
+            if (previous != null && previous != blob && previous.keys.remove(key) && previous.keys.isEmpty()) {
+                remove(previous);
+            }
+            blob.keys.add(key);
+            evictOverBudget();
+            return blob.sprite();
+        }
+    }
+
+    /**
+     * Rebuilds the index from disk and removes what nothing points at: leftover downloads,
+     * images without a key and keys without an image.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        blobsByHash.clear();
+        blobsByKey.clear();
+        pendingDeletes.clear(); // Nothing is being served yet; unreferenced files go below
+        totalBytes = 0;
+        try {
+            deleteAll(tmp);
+            Map<String, Path> refFiles = new HashMap<>();
+            if (Files.isDirectory(refs)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(refs)) {
+                    files.forEach(file -> refFiles.put(file.getFileName().toString(), file));
+                }
+            }
+
+            List<Blob> found = new ArrayList<>();
+            Map<String, Blob> byHash = new HashMap<>();
+            for (Map.Entry<String, Path> ref : refFiles.entrySet()) {
+                String[] fields = Files.readString(ref.getValue(), StandardCharsets.US_ASCII).trim().split(" ", 2);
+                Path path = fields.length == 2 && SHA_256.matcher(fields[0]).matches() ? blobPath(fields[0]) : null;
+                if (path == null || !Files.isRegularFile(path)) {
+                    Files.deleteIfExists(ref.getValue());
+                    continue;
+                }
+                Blob blob = byHash.get(fields[0]);
+                if (blob == null) {
+                    blob = new Blob(fields[0], path, Files.size(path), fields[1]);
+                    byHash.put(blob.hash, blob);
+                    found.add(blob);
+                }
+                blob.keys.add(ref.getKey());
+            }
+            deleteOrphans(byHash.keySet());
+
+            found.sort(Comparator.comparing(blob -> lastModified(blob.path)));
+            for (Blob blob : found) {
+                blobsByHash.put(blob.hash, blob);
+                blob.keys.forEach(key -> blobsByKey.put(key, blob));
+                totalBytes += blob.size;
+            }
+            evictOverBudget();
+            if (!found.isEmpty()) {
+                log.info("Sprite store has {} images ({} bytes) for {} keys", blobsByHash.size(), totalBytes, blobsByKey.size());
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not index sprite store {}: {}", blobs.getParent(), e.getMessage());
+        }
+    }
+
+    public synchronized long sizeBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int images() {
+        return blobsByHash.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pokemon.sprites.store.size", this, SpriteStore::sizeBytes)
+                .description("Bytes of sprite images on disk")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("pokemon.sprites.store.images", this, SpriteStore::images)
+                .description("Distinct sprite images on disk")
+                .register(registry);
+        counter(registry, "hit", hits);
+        counter(registry, "miss", misses);
+        FunctionCounter.builder("pokemon.sprites.store.evictions", evictions, LongAdder::sum)
+                .description("Sprite images deleted to stay within pokeapi.sprites.max-size")
+                .register(registry);
+    }
+
+    private void evictOverBudget() {
+        Iterator<Blob> eldest = blobsByHash.values().iterator();
+        // The newest image always stays, even if it alone is over budget
+        while (totalBytes > maxBytes && blobsByHash.size() > 1) {
+            Blob blob = eldest.next();
+            eldest.remove();
+            totalBytes -= blob.size;
+            blob.keys.forEach(blobsByKey::remove);
+            deleteFiles(blob);
+            evictions.increment();
+        }
+    }
+
+    private void remove(Blob blob) {
+        if (blobsByHash.remove(blob.hash) != null) {
+            totalBytes -= blob.size;
+        }
+        blob.keys.forEach(blobsByKey::remove);
+        deleteFiles(blob);
+    }
+
+    /** Deletes the keys of a dropped image now and its file once the delete delay is up. */
+    private void deleteFiles(Blob blob) {
+        try {
+            for (String key : blob.keys) {
+                Files.deleteIfExists(refs.resolve(key));
+            }
+            if (deleteDelayNanos <= 0) {
+                Files.deleteIfExists(blob.path);
+            } else {
+                pendingDeletes.put(blob.hash, System.nanoTime() + deleteDelayNanos);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete sprite {}: {}", blob.hash, e.getMessage());
+        }
+    }
+
+    private void deleteExpired() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Long>> pending = pendingDeletes.entrySet().iterator();
+        while (pending.hasNext()) {
+            Map.Entry<String, Long> entry = pending.next();
+            if (now - entry.getValue() >= 0) {
+                pending.remove();
+                try {
+                    Files.deleteIfExists(blobPath(entry.getKey()));
+                } catch (IOException e) {
+                    log.warn("Could not delete sprite {}: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void writeRef(String key, String hash, String contentType) throws IOException {
+        Files.createDirectories(tmp);
+        Path ref = Files.createTempFile(tmp, key, ".ref");
+        Files.writeString(ref, hash + " " + contentType, StandardCharsets.US_ASCII);
+        Files.move(ref, refs.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteOrphans(Set<String> referenced) throws IOException {
+        if (!Files.isDirectory(blobs)) {
+            return;
+        }
+        Set<Path> orphans = new HashSet<>();
+        try (var files = Files.walk(blobs, 2)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !referenced.contains(file.getFileName().toString()))
+                    .forEach(orphans::add);
+        }
+        for (Path orphan : orphans) {
+            Files.deleteIfExists(orphan);
+        }
+    }
+
+    private Path blobPath(String hash) {
+        return blobs.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HEX.formatHex(digest.digest());
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteAll(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static void counter(MeterRegistry registry, String result, LongAdder count) {
+        FunctionCounter.builder("pokemon.sprites.store.requests", count, LongAdder::sum)
+                .tag("result", result)
+                .description("Sprite store lookups")
+                .register(registry);
+    }
+
+    /**
+     * A stored image: serve {@link #path()} as {@link #contentType()}. The SHA-256 doubles as
+     * a strong ETag since the bytes can never change under it.
+     */
+    public record Sprite(String hash, Path path, long size, String contentType) {
+
+        public String etag() {
+            return "\"" + hash + "\"";
+        }
+    }
+
+    private static final class Blob {
+        private final String hash;
+        private final Path path;
+        private final long size;
+        private final String contentType;
+        private final Set<String> keys = new HashSet<>(2);
+
+        private Blob(String hash, Path path, long size, String contentType) {
+            this.hash = hash;
+            this.path = path;
+            this.size = size;
+            this.contentType = contentType;
+        }
+
+        private Sprite sprite() {
+            return new Sprite(hash, path, size, contentType);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.pokemon.api.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Cache loader for caches built with {@code refreshAfterWrite}. Caffeine keeps serving the
+ * current value while {@link #asyncReload} runs, and keeps it if the reload fails or comes
+ * back empty, until {@code expireAfterWrite} (refresh interval plus grace period) drops it.
+ */
+@Slf4j
+public class StaleWhileRevalidateLoader implements AsyncCacheLoader<Object, Object> {
+
+    private final String cacheName;
+    private final CacheRefreshStats.Counters counters;
+    private final Function<Object, Mono<?>> loader;
+    private final Function<List<Object>, Mono<? extends Map<?, ?>>> bulkLoader;
+    private final BiFunction<Object, Object, Mono<?>> reloader;
+
+    public StaleWhileRevalidateLoader(String cacheName, CacheRefreshStats stats,
+                                      Function<Object, Mono<?>> loader) {
+        this(cacheName, stats, loader, null);
+    }
+
+    /**
+     * @param bulkLoader loads several missing keys at once; {@code null} to load them one by one
+     */
+    public StaleWhileRevalidateLoader(String cacheName, CacheRefreshStats stats,
+                                      Function<Object, Mono<?>> loader,
+                                      Function<List<Object>, Mono<? extends Map<?, ?>>> bulkLoader) {
+        this(cacheName, stats, loader, bulkLoader, (key, oldValue) -> loader.apply(key));
+    }
+
+    /**
+     * @param reloader refreshes a key given its current value; the other constructors use
+     *                 {@code loader} and ignore the current value
+     */
+    public StaleWhileRevalidateLoader(String cacheName, CacheRefreshStats stats,
+                                      Function<Object, Mono<?>> loader,
+                                      Function<List<Object>, Mono<? extends Map<?, ?>>> bulkLoader,
+                                      BiFunction<Object, Object, Mono<?>> reloader) {
+        this.cacheName = cacheName;
+        this.counters = stats.counters(cacheName);
+        this.loader = loader;
+        this.bulkLoader = bulkLoader;
+        this.reloader = reloader;
+    }
+
+    @Override
+    public CompletableFuture<Object> asyncLoad(Object key, Executor executor) {
+        log.info("Cache miss - Loading {} entry {}", cacheName, key);
+        return loader.apply(key)
+                .<Object>map(value -> value)
+                .toFuture();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<? extends Map<?, ?>> asyncLoadAll(Set<?> keys, Executor executor) {
+        log.info("Cache miss - Loading {} {} entries", keys.size(), cacheName);
+        if (bulkLoader != null) {
+            return bulkLoader.apply(List.copyOf((Set<Object>) keys)).toFuture();
+        }
+        return Flux.fromIterable(keys)
+                .flatMap(key -> loader.apply(key).map(value -> Map.entry(key, value)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Object> asyncReload(Object key, Object oldValue, Executor executor) {
+        counters.recordRefresh();
+        return reloader.apply(key, oldValue)
+                .<Object>map(value -> {
+                    // A revalidation that found nothing new hands back the current value itself
+                    if (value != oldValue) {
+                        counters.recordReload();
+                    }
+                    return value;
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> oldValue))
+                .doOnError(e -> {
+                    counters.recordRefreshFailure();
+                    log.warn("Refresh of {} entry {} failed, serving stale value: {}", cacheName, key, e.getMessage());
+                })
+                .toFuture();
+    }
+}
@@ -1,30 +1,160 @@
 package com.pokemon.api.config;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.pokemon.api.cache.CacheRefreshStats;
+import com.pokemon.api.cache.EntryWeigher;
+import com.pokemon.api.cache.SharedPokemonCache;
+import com.pokemon.api.cache.StaleWhileRevalidateLoader;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.response.EvolutionChainResponse;
+import com.pokemon.api.service.PokeApiService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+/**
+ * The Caffeine caches behind {@link com.pokemon.api.service.PokemonCacheManager}, each sized
+ * in bytes and refreshed according to its own {@link CachePolicy}.
+ */
+@Slf4j
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /** The caches CacheConfig builds; each needs to be a weight-bounded Caffeine cache at startup. */
+    public static final List<String> CACHE_NAMES = List.of("pokemon", "pokemonList", "evolutionChain");
+
+    // About 1 KB per Pokémon, so the full dex is about 1 MB in "pokemon" and again as the one
+    // "pokemonList" entry; the 500-odd chains take about 1 MB too
+    private static final Map<String, CachePolicy> DEFAULTS = Map.of(
+            "pokemon", CachePolicy.defaults(),
+            "pokemonList", CachePolicy.defaults().toBuilder().maximumWeight(DataSize.ofMegabytes(8)).build(),
+            "evolutionChain", CachePolicy.defaults().toBuilder().maximumWeight(DataSize.ofMegabytes(4)).build());
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+    public CacheManager cacheManager(PokeApiService pokeApiService,
+                                     CacheRefreshStats refreshStats,
+                                     Environment environment,
+                                     Optional<SharedPokemonCache> sharedCache) {
+        Binder binder = Binder.get(environment);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected AsyncCache<Object, Object> createAsyncCaffeineCache(String name) {
+                // Caches created on first use have no loader, so they expire but are not refreshed
+                CachePolicy policy = policy(binder, name);
+                return weighted(policy).expireAfterWrite(policy.expireAfterWrite()).buildAsync();
+            }
+        };
+        cacheManager.setAsyncCacheMode(true);   // Backs the reactive lookups in PokemonCacheManager
+        cacheManager.setAllowNullValues(false); // Cache.retrieve then hands back plain values
+
+        // Entries are reloaded in the background once older than refreshAfterWrite; readers get
+        // the old value meanwhile, and for up to staleGrace longer if PokeAPI keeps failing.
+        cacheManager.registerCustomCache("pokemon", refreshAheadCacheBuilder(policy(binder, "pokemon"))
+                .buildAsync(pokemonLoader(pokeApiService, refreshStats, sharedCache)));
+        cacheManager.registerCustomCache("pokemonList", refreshAheadCacheBuilder(policy(binder, "pokemonList"))
+                .buildAsync(new StaleWhileRevalidateLoader("pokemonList", refreshStats,
+                        key -> pokeApiService.fetchAllPokemon()
+                                .sort(Comparator.comparing(Pokemon::getId))
+                                .collectList())));
+        // Evolution chains change even more rarely; EvolutionService builds its graph from these
+        cacheManager.registerCustomCache("evolutionChain", refreshAheadCacheBuilder(policy(binder, "evolutionChain"))
+                .buildAsync(new StaleWhileRevalidateLoader("evolutionChain", refreshStats,
+                        key -> pokeApiService.fetchEvolutionChain((Long) key),
+                        keys -> pokeApiService.fetchEvolutionChainsByIds(ids(keys)).collectMap(EvolutionChainResponse::getId))));
         return cacheManager;
     }
 
-    private Caffeine<Object, Object> caffeineCacheBuilder() {
+    /**
+     * Loads straight from PokeAPI, or with a shared tier (pokeapi.l2.type) reads through it first
+     * so a Pokémon any node already fetched is not fetched again. Refreshes are conditional
+     * requests; when nothing changed the current object stays cached as it is.
+     */
+    private StaleWhileRevalidateLoader pokemonLoader(PokeApiService pokeApiService, CacheRefreshStats refreshStats,
+                                                     Optional<SharedPokemonCache> sharedCache) {
+        if (sharedCache.isEmpty()) {
+            return new StaleWhileRevalidateLoader("pokemon", refreshStats,
+                    key -> pokeApiService.fetchPokemonById((Long) key),
+                    keys -> pokeApiService.fetchPokemonByIds(ids(keys)).collectMap(Pokemon::getId),
+                    (key, current) -> revalidate(pokeApiService, (Long) key, (Pokemon) current));
+        }
+        SharedPokemonCache shared = sharedCache.get();
+        return new StaleWhileRevalidateLoader("pokemon", refreshStats,
+                key -> shared.load((Long) key, pokeApiService::fetchPokemonById),
+                keys -> shared.loadAll(ids(keys), pokeApiService::fetchPokemonByIds),
+                (key, current) -> shared.reload((Long) key, (Pokemon) current, id -> revalidate(pokeApiService, id, (Pokemon) current)));
+    }
+
+    private static Mono<Pokemon> revalidate(PokeApiService pokeApiService, Long id, Pokemon current) {
+        return pokeApiService.fetchPokemonIfChanged(id)
+                .map(revision -> revision.changed() && !revision.pokemon().equals(current) ? revision.pokemon() : current);
+    }
+
+    private static List<Long> ids(List<Object> keys) {
+        return keys.stream().map(Long.class::cast).toList();
+    }
+
+    /**
+     * Fails startup unless every cache is Caffeine and bounded by weight. Another provider
+     * (e.g. {@code spring.cache.type: simple}) would hold entries forever without refreshing
+     * them, and the async lookups in PokemonCacheManager would not work at all.
+     */
+    @Bean
+    public SmartInitializingSingleton caffeineCacheCheck(CacheManager cacheManager, Environment environment) {
+        return () -> {
+            String type = environment.getProperty("spring.cache.type");
+            if (type != null && !type.equalsIgnoreCase("caffeine")) {
+                throw new IllegalStateException("spring.cache.type is " + type + ", but the caches are Caffeine caches "
+                        + "built by CacheConfig; remove the setting or set it to caffeine");
+            }
+            if (!(cacheManager instanceof CaffeineCacheManager)) {
+                throw new IllegalStateException("Expected a CaffeineCacheManager, but the cache manager is a "
+                        + cacheManager.getClass().getName());
+            }
+            Binder binder = Binder.get(environment);
+            for (String name : CACHE_NAMES) {
+                if (!(cacheManager.getCache(name) instanceof CaffeineCache cache)) {
+                    throw new IllegalStateException("Cache " + name + " is not a Caffeine cache");
+                }
+                boolean weighted = cache.getNativeCache().policy().eviction().map(Policy.Eviction::isWeighted).orElse(false);
+                if (!weighted) {
+                    throw new IllegalStateException("Cache " + name + " is not bounded by weight");
+                }
+                log.info("Cache {}: {}", name, policy(binder, name).describe());
+            }
+        };
+    }
+
+    static CachePolicy policy(Binder binder, String cacheName) {
+        return CachePolicy.bind(binder, cacheName, DEFAULTS.getOrDefault(cacheName, CachePolicy.defaults()));
+    }
+
+    private static Caffeine<Object, Object> weighted(CachePolicy policy) {
         return Caffeine.newBuilder()
-                .initialCapacity(100)  // Initial cache size
-                .maximumSize(1000)     // Maximum cache entries
-                .expireAfterWrite(24, TimeUnit.HOURS) // TTL: 24 hours
-                .recordStats();        // Enable cache statistics
+                .maximumWeight(policy.maximumWeight().toBytes())
+                .weigher(EntryWeigher.INSTANCE)
+                .recordStats();
+    }
+
+    private static Caffeine<Object, Object> refreshAheadCacheBuilder(CachePolicy policy) {
+        return weighted(policy)
+                .refreshAfterWrite(policy.refreshAfterWrite())
+                .expireAfterWrite(policy.expireAfterWrite());
     }
 }
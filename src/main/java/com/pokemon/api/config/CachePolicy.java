@@ -0,0 +1,64 @@
+package com.pokemon.api.config;
+
+import lombok.Builder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizing and freshness of one Caffeine cache. {@code maximumWeight} bounds the estimated heap
+ * bytes of its entries (see {@link com.pokemon.api.cache.EntryWeigher}); entries are reloaded
+ * in the background once older than {@code refreshAfterWrite} and dropped after
+ * {@code staleGrace} more, which is how long a stale value may be served while PokeAPI fails.
+ * <p>
+ * A cache named {@code fooBar} reads {@code pokeapi.cache.caches.foo-bar.*}; anything not set
+ * there comes from {@code pokeapi.cache.*}, then from the given defaults.
+ */
+@Builder(toBuilder = true)
+public record CachePolicy(DataSize maximumWeight, Duration refreshAfterWrite, Duration staleGrace) {
+
+    /** The values application.yml ships with for caches that have no section of their own. */
+    public static CachePolicy defaults() {
+        return new CachePolicy(DataSize.ofMegabytes(16), Duration.ofHours(12), Duration.ofHours(12));
+    }
+
+    public static CachePolicy bind(Binder binder, String cacheName, CachePolicy defaults) {
+        CachePolicy global = new CachePolicy(
+                binder.bind("pokeapi.cache.maximum-weight", DataSize.class).orElse(defaults.maximumWeight),
+                binder.bind("pokeapi.cache.refresh-after-write", Duration.class).orElse(defaults.refreshAfterWrite),
+                binder.bind("pokeapi.cache.stale-grace", Duration.class).orElse(defaults.staleGrace));
+        String prefix = "pokeapi.cache.caches." + kebabCase(cacheName) + ".";
+        return new CachePolicy(
+                binder.bind(prefix + "maximum-weight", DataSize.class).orElse(global.maximumWeight),
+                binder.bind(prefix + "refresh-after-write", Duration.class).orElse(global.refreshAfterWrite),
+                binder.bind(prefix + "stale-grace", Duration.class).orElse(global.staleGrace));
+    }
+
+    public Duration expireAfterWrite() {
+        return refreshAfterWrite.plus(staleGrace);
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("maximum-weight", maximumWeight.toString());
+        description.put("refresh-after-write", refreshAfterWrite.toString());
+        description.put("expire-after-write", expireAfterWrite().toString());
+        return description;
+    }
+
+    private static String kebabCase(String name) {
+        StringBuilder kebab = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                kebab.append('-').append(Character.toLowerCase(c));
+            } else {
+                kebab.append(c);
+            }
+        }
+        return kebab.toString();
+    }
+}
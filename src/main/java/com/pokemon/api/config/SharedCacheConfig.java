@@ -0,0 +1,72 @@
+package com.pokemon.api.config;
+
+import com.pokemon.api.cache.CacheInvalidationListener;
+import com.pokemon.api.cache.InMemorySharedCacheStore;
+import com.pokemon.api.cache.RedisSharedCacheStore;
+import com.pokemon.api.cache.SharedCacheStore;
+import com.pokemon.api.cache.SharedPokemonCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+/**
+ * The optional shared cache tier, selected with {@code pokeapi.l2.type}: {@code none} (the
+ * default; every node caches on its own), {@code memory} (in-process stand-in, for tests and
+ * local runs) or {@code redis}.
+ * <p>
+ * Spring Boot's Redis auto-configuration is excluded in application.yml so nodes without a
+ * shared tier never open a Redis client or report Redis health; the connection factory is
+ * only created here, from the usual {@code spring.data.redis.*} properties.
+ */
+@Configuration
+public class SharedCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "pokeapi.l2.type", havingValue = "memory")
+    public SharedCacheStore inMemorySharedCacheStore() {
+        return new InMemorySharedCacheStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pokeapi.l2.type", havingValue = "redis")
+    public LettuceConnectionFactory redisConnectionFactory(@Value("${spring.data.redis.host:localhost}") String host,
+                                                           @Value("${spring.data.redis.port:6379}") int port,
+                                                           @Value("${spring.data.redis.password:}") String password) {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(host, port);
+        if (StringUtils.hasText(password)) {
+            configuration.setPassword(password);
+        }
+        return new LettuceConnectionFactory(configuration);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pokeapi.l2.type", havingValue = "redis")
+    public SharedCacheStore redisSharedCacheStore(LettuceConnectionFactory redisConnectionFactory) {
+        return new RedisSharedCacheStore(redisConnectionFactory);
+    }
+
+    @Bean
+    @ConditionalOnBean(SharedCacheStore.class)
+    public SharedPokemonCache sharedPokemonCache(SharedCacheStore store,
+                                                 @Value("${pokeapi.l2.ttl:12h}") Duration ttl,
+                                                 @Value("${pokeapi.l2.timeout:250ms}") Duration timeout,
+                                                 MeterRegistry meterRegistry) {
+        return new SharedPokemonCache(store, ttl, timeout, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnBean(SharedPokemonCache.class)
+    public CacheInvalidationListener cacheInvalidationListener(SharedPokemonCache sharedPokemonCache,
+                                                               CacheManager cacheManager) {
+        return new CacheInvalidationListener(sharedPokemonCache, cacheManager);
+    }
+}
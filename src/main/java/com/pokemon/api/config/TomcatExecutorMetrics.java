@@ -0,0 +1,46 @@
+package com.pokemon.api.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queue depth of Tomcat's request threads as {@code tomcat.threads.queued}, next to the
+ * {@code tomcat.threads.busy} and {@code tomcat.threads.config.max} gauges Boot publishes
+ * with {@code server.tomcat.mbeanregistry.enabled}. Tomcat only queues a request once every
+ * thread is busy, so anything above zero means requests are waiting for a thread. Tomcat's
+ * pool is not a {@link java.util.concurrent.ThreadPoolExecutor}, which is why Micrometer's
+ * executor metrics cannot be used; with virtual threads there is no pool and no gauge.
+ */
+@Component
+public class TomcatExecutorMetrics implements ApplicationListener<ServletWebServerInitializedEvent> {
+
+    private final MeterRegistry registry;
+
+    public TomcatExecutorMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onApplicationEvent(ServletWebServerInitializedEvent event) {
+        if (!(event.getWebServer() instanceof TomcatWebServer tomcat)) {
+            return;
+        }
+        for (Connector connector : tomcat.getTomcat().getService().findConnectors()) {
+            if (connector.getProtocolHandler() instanceof AbstractProtocol<?> protocol
+                    && protocol.getExecutor() instanceof ThreadPoolExecutor executor) {
+                // Same name tag as Boot's tomcat.threads.* gauges, e.g. http-nio-8080
+                Gauge.builder("tomcat.threads.queued", executor, pool -> pool.getQueue().size())
+                        .tag("name", protocol.getName().replace("\"", ""))
+                        .description("Requests waiting for a Tomcat thread")
+                        .register(registry);
+            }
+        }
+    }
+}
@@ -1,19 +1,159 @@
 package com.pokemon.api.config;
 
+import io.netty.channel.ChannelOption;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.InfoContributor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The one HTTP client every PokeAPI call goes through. The {@link ClientHttpConnector} bean
+ * replaces Boot's default one, so the auto-configured {@link WebClient.Builder} (and with it
+ * the {@code http.client.requests} observation) runs on this pool; {@code pokeApiWebClient}
+ * adds the base URL and codec limits on top.
+ * <p>
+ * Pool gauges ({@code reactor.netty.connection.provider.*}) are published to Micrometer's
+ * global registry, which Boot links to the application's, once the first connection is made.
+ */
+@Slf4j
 @Configuration
 public class WebClientConfig {
 
+    private static final int MAX_IN_MEMORY_SIZE = 10 * 1024 * 1024; // 10MB buffer
+
+    @Bean
+    public HttpClientSettings pokeApiHttpClientSettings(
+            @Value("${pokeapi.base-url}") String baseUrl,
+            @Value("${pokeapi.http.max-connections:16}") int maxConnections,
+            @Value("${pokeapi.http.pending-acquire-max-count:256}") int pendingAcquireMaxCount,
+            @Value("${pokeapi.http.pending-acquire-timeout:10s}") Duration pendingAcquireTimeout,
+            @Value("${pokeapi.http.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${pokeapi.http.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${pokeapi.http.eviction-interval:15s}") Duration evictionInterval,
+            @Value("${pokeapi.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${pokeapi.http.read-timeout:3s}") Duration readTimeout,
+            @Value("${pokeapi.http.http2:true}") boolean http2,
+            @Value("${pokeapi.http.compression:true}") boolean compression,
+            @Value("${pokeapi.http.dns-cache-ttl:5m}") Duration dnsCacheTtl) {
+        HttpClientSettings settings = HttpClientSettings.builder()
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictionInterval(evictionInterval)
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                // HTTP/2 is negotiated over TLS (ALPN); a plain-HTTP base URL stays on HTTP/1.1
+                .http2(http2 && baseUrl.startsWith("https:"))
+                .compression(compression)
+                .dnsCacheTtl(dnsCacheTtl)
+                .build();
+        log.info("PokeAPI HTTP client: {}", settings.describe());
+        return settings;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider pokeApiConnectionProvider(HttpClientSettings settings) {
+        return connectionProvider("pokeapi", settings);
+    }
+
+    @Bean
+    public ClientHttpConnector pokeApiHttpConnector(ConnectionProvider pokeApiConnectionProvider, HttpClientSettings settings) {
+        return new ReactorClientHttpConnector(httpClient(pokeApiConnectionProvider, settings));
+    }
+
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
+    public WebClient pokeApiWebClient(WebClient.Builder builder, @Value("${pokeapi.base-url}") String baseUrl) {
         return builder
-                .baseUrl("https://pokeapi.co/api/v2")
+                .baseUrl(baseUrl)
                 .codecs(configurer -> configurer
                         .defaultCodecs()
-                        .maxInMemorySize(10 * 1024 * 1024)) // 10MB buffer
+                        .maxInMemorySize(MAX_IN_MEMORY_SIZE))
                 .build();
     }
-}
\ No newline at end of file
+
+    /** The settings under {@code pokeapi-http-client} in {@code /actuator/info}. */
+    @Bean
+    public InfoContributor pokeApiHttpClientInfo(HttpClientSettings settings) {
+        return builder -> builder.withDetail("pokeapi-http-client", settings.describe());
+    }
+
+    /** A pool that also reports its gauges, named {@code name} in their {@code name} tag. */
+    public static ConnectionProvider connectionProvider(String name, HttpClientSettings settings) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(settings.maxConnections())
+                .pendingAcquireMaxCount(settings.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.pendingAcquireTimeout())
+                .maxIdleTime(settings.maxIdleTime())
+                .maxLifeTime(settings.maxLifeTime())
+                .evictInBackground(settings.evictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    public static HttpClient httpClient(ConnectionProvider connectionProvider, HttpClientSettings settings) {
+        HttpProtocol[] protocols = settings.http2()
+                ? new HttpProtocol[] {HttpProtocol.H2, HttpProtocol.HTTP11}
+                : new HttpProtocol[] {HttpProtocol.HTTP11};
+        return HttpClient.create(connectionProvider)
+                .protocol(protocols)
+                .keepAlive(true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.connectTimeout().toMillis())
+                .responseTimeout(settings.readTimeout())
+                .compress(settings.compression())
+                // Netty's own resolver, caching answers instead of a blocking JDK lookup per connection
+                .resolver(spec -> spec
+                        .cacheMaxTimeToLive(settings.dnsCacheTtl())
+                        .cacheNegativeTimeToLive(Duration.ofSeconds(10)));
+    }
+
+    /**
+     * @param maxConnections         connections per remote address; keep at or above
+     *                               {@code pokeapi.execution.max-concurrent-requests}
+     * @param pendingAcquireMaxCount requests allowed to wait for a connection before failing
+     * @param readTimeout            time to the response headers
+     * @param http2                  offer HTTP/2 via ALPN, falling back to HTTP/1.1
+     */
+    @Builder(toBuilder = true)
+    public record HttpClientSettings(int maxConnections, int pendingAcquireMaxCount, Duration pendingAcquireTimeout,
+                                     Duration maxIdleTime, Duration maxLifeTime, Duration evictionInterval,
+                                     Duration connectTimeout, Duration readTimeout, boolean http2, boolean compression,
+                                     Duration dnsCacheTtl) {
+
+        /** The values application.yml ships with. */
+        public static HttpClientSettings defaults() {
+            return new HttpClientSettings(16, 256, Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofMinutes(5),
+                    Duration.ofSeconds(15), Duration.ofSeconds(2), Duration.ofSeconds(3), true, true, Duration.ofMinutes(5));
+        }
+
+        public Map<String, Object> describe() {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("max-connections", maxConnections);
+            description.put("pending-acquire-max-count", pendingAcquireMaxCount);
+            description.put("pending-acquire-timeout", pendingAcquireTimeout.toString());
+            description.put("max-idle-time", maxIdleTime.toString());
+            description.put("max-life-time", maxLifeTime.toString());
+            description.put("eviction-interval", evictionInterval.toString());
+            description.put("connect-timeout", connectTimeout.toString());
+            description.put("read-timeout", readTimeout.toString());
+            description.put("http2", http2);
+            description.put("compression", compression);
+            description.put("dns-cache-ttl", dnsCacheTtl.toString());
+            return description;
+        }
+    }
+}
@@ -1,19 +1,54 @@
 package com.pokemon.api.controller;
 
+import com.pokemon.api.cache.CacheRefreshStats;
+import com.pokemon.api.cache.SerializedResponseCache;
+import com.pokemon.api.cache.SpriteStore;
+import com.pokemon.api.model.EvolutionLine;
 import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSearchPage;
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.PreloadProgress;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.model.SpriteKind;
+import com.pokemon.api.model.SyncReport;
+import com.pokemon.api.service.EvolutionService;
 import com.pokemon.api.service.PokeApiService;
 import com.pokemon.api.service.PokemonCacheService;
+import com.pokemon.api.service.PokemonDeltaSync;
+import com.pokemon.api.service.PokemonPreloader;
+import com.pokemon.api.service.PokemonSearchService;
+import com.pokemon.api.service.SpriteService;
+import com.pokemon.api.store.PokedexQuery;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/pokemon")
@@ -21,26 +56,124 @@ import java.util.List;
 @CrossOrigin(origins = "*") // For frontend development
 public class PokemonController {
 
+    // Request attributes of Tomcat's sendfile support, as used by its DefaultServlet
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final PokemonCacheService cacheService;
+    private final PokemonPreloader pokemonPreloader;
+    private final PokemonDeltaSync pokemonDeltaSync;
+    private final EvolutionService evolutionService;
+    private final CacheRefreshStats cacheRefreshStats;
+    private final PokemonSearchService searchService;
+    private final SerializedResponseCache responseCache;
+    private final SpriteService spriteService;
+
+    @Value("${pokeapi.bulk.max-ids:50}")
+    private int maxBulkIds;
+
+    @Value("${pokeapi.sprites.cache-max-age:30d}")
+    private Duration spriteMaxAge;
 
     @GetMapping
-    public ResponseEntity<List<Pokemon>> getAllPokemon(
+    public ResponseEntity<byte[]> getAllPokemon(
             @RequestParam(defaultValue = "0") int offset,
-            @RequestParam(defaultValue = "100") int limit) {
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
         List<Pokemon> pokemonBatch = cacheService.getPokemonBatch(offset, limit);
-        return ResponseEntity.ok(pokemonBatch);
+        return respond(responseCache.page(pokemonBatch), acceptEncoding);
+    }
+
+    /**
+     * Several Pokémon by ID in one request, e.g. {@code ?ids=1,4,7}: one cache pass for all of
+     * them, misses fetched from PokeAPI together. The array follows the order of {@code ids};
+     * an ID that does not exist gets {@code {"id":N,"missing":true}} in its place. If PokeAPI
+     * fails for an ID instead, the answer is 503. At most {@code pokeapi.bulk.max-ids} IDs per
+     * request.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<byte[]> getPokemonByIds(
+            @RequestParam List<Long> ids,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (ids.isEmpty() || ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must list at least one Pokémon ID");
+        }
+        if (ids.size() > maxBulkIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxBulkIds + " ids per request, got " + ids.size());
+        }
+        if (ids.stream().anyMatch(id -> id < 1)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pokémon IDs start at 1");
+        }
+        Map<Long, Pokemon> found;
+        try {
+            found = cacheService.getPokemonByIds(ids.stream().distinct().toList());
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Pokémon unavailable", e);
+        }
+        return respond(responseCache.lookup(ids, found), acceptEncoding);
+    }
+
+    /**
+     * The full dex as newline-delimited JSON, written entry by entry as chunks arrive from the
+     * cache (or PokeAPI on a miss). Writes are driven by demand from the response, so a slow
+     * client slows the fetches down instead of piling entries up in memory.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Pokemon> streamAllPokemon() {
+        return cacheService.streamAllPokemon();
+    }
+
+    /**
+     * Filtered, sorted search over the cached Pokédex. Multi-valued filters take
+     * comma-separated values, e.g.
+     * {@code /search?type=fire,flying&typeMatch=all&region=kanto&stat=speed:100..&sort=attack,desc}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PokemonSearchPage> searchPokemon(
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(defaultValue = "any") String typeMatch,
+            @RequestParam(required = false) List<String> region,
+            @RequestParam(required = false) List<String> weakness,
+            @RequestParam(defaultValue = "any") String weaknessMatch,
+            @RequestParam(required = false) List<String> stat,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "" + PokedexQuery.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
+
+        PokedexQuery query;
+        try {
+            query = PokedexQuery.builder()
+                    .types(parseAll(type, PokemonType::fromName))
+                    .typeMatch(PokedexQuery.Match.parse(typeMatch))
+                    .regions(parseAll(region, Region::fromName))
+                    .weaknesses(parseAll(weakness, PokemonType::fromName))
+                    .weaknessMatch(PokedexQuery.Match.parse(weaknessMatch))
+                    .statRanges(stat == null ? List.of() : stat.stream().map(PokedexQuery.StatRange::parse).toList())
+                    .sort(PokedexQuery.Sort.parse(sort))
+                    .limit(limit)
+                    .cursor(cursor)
+                    .build();
+            return ResponseEntity.ok(searchService.search(query));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Pokemon> getPokemonById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getPokemonById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
             // Use cache service instead of direct API call
             List<Pokemon> pokemonList = cacheService.getPokemonBatch((int)(id - 1), 1);
             if (pokemonList.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
-            return ResponseEntity.ok(pokemonList.get(0));
+            return respond(responseCache.single(pokemonList.get(0)), acceptEncoding);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -48,13 +181,157 @@ public class PokemonController {
 
 
     @GetMapping("/{id}/details")
-    public ResponseEntity<Pokemon> getPokemonDetails(@PathVariable Long id) {
-        return getPokemonById(id);
+    public ResponseEntity<byte[]> getPokemonDetails(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return getPokemonById(id, acceptEncoding);
+    }
+
+    /** The Pokémon's evolution family, served from the in-memory {@link EvolutionService} graph. */
+    @GetMapping("/{id}/evolutions")
+    public ResponseEntity<EvolutionLine> getEvolutions(@PathVariable Long id) {
+        try {
+            return ResponseEntity.of(evolutionService.findLine(id));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Evolution chain unavailable", e);
+        }
+    }
+
+    /**
+     * The Pokémon's {@code front}, {@code back} or {@code artwork} image, downloaded once and
+     * then served from the on-disk {@link SpriteStore}. The ETag is the image's SHA-256, so
+     * {@code If-None-Match} gets a 304 until the image actually changes.
+     */
+    @GetMapping("/{id}/sprites/{kind}")
+    public void getSprite(@PathVariable Long id, @PathVariable String kind,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        SpriteKind spriteKind;
+        try {
+            spriteKind = SpriteKind.fromName(kind);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        SpriteStore.Sprite sprite;
+        try {
+            sprite = spriteService.findSprite(id, spriteKind).orElse(null);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Sprite unavailable", e);
+        }
+        if (sprite == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No " + spriteKind.apiName() + " sprite for Pokémon " + id);
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(spriteMaxAge).cachePublic().getHeaderValue());
+        response.setHeader("X-Content-Type-Options", "nosniff"); // The bytes come from a third-party host
+        if (new ServletWebRequest(request, response).checkNotModified(sprite.etag())) {
+            return;
+        }
+        response.setContentType(sprite.contentType());
+        response.setContentLengthLong(sprite.size());
+        if (!"HEAD".equals(request.getMethod())) {
+            transfer(sprite, request, response);
+        }
     }
 
     @PostMapping("/cache/preload")
     public ResponseEntity<String> triggerCachePreload() {
-        new Thread(cacheService::preloadPokemonCache).start();
+        if (!pokemonPreloader.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Cache preload already running");
+        }
         return ResponseEntity.accepted().body("Cache preload started");
     }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, CacheRefreshStats.Snapshot>> getCacheRefreshStats() {
+        return ResponseEntity.ok(cacheRefreshStats.snapshot());
+    }
+
+    @GetMapping("/cache/preload")
+    public ResponseEntity<PreloadProgress> getCachePreloadProgress() {
+        return ResponseEntity.ok(pokemonPreloader.progress());
+    }
+
+    @PostMapping("/cache/sync")
+    public ResponseEntity<String> triggerDeltaSync() {
+        if (!pokemonDeltaSync.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Delta sync already running");
+        }
+        return ResponseEntity.accepted().body("Delta sync started");
+    }
+
+    @GetMapping("/cache/sync")
+    public ResponseEntity<SyncReport> getDeltaSyncReport() {
+        return ResponseEntity.ok(pokemonDeltaSync.report());
+    }
+
+    /**
+     * Writes a pre-serialized body with its strong ETag. For GET requests Spring answers a
+     * matching {@code If-None-Match} with 304 and no body.
+     */
+    private ResponseEntity<byte[]> respond(SerializedResponseCache.Body body, String acceptEncoding) {
+        boolean gzip = body.gzip() != null && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(gzip ? body.gzipEtag() : body.etag());
+        if (responseCache.isGzipEnabled()) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? body.gzip() : body.json());
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip: listed as {@code gzip} (or {@code x-gzip}),
+     * or covered by {@code *}, with a q-value above 0. {@code gzip;q=0} refuses it.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0; // Unreadable weight: do not count it as an acceptance
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = Math.max(gzip, q);
+            } else if (name.equals("*")) {
+                any = q;
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    /**
+     * With Tomcat's NIO connector the file goes out by {@code sendfile}, which the connector
+     * takes over once the handler returns, so its bytes never pass through the JVM heap.
+     * Without sendfile support (or with it off) the file is copied to the response stream.
+     */
+    private static void transfer(SpriteStore.Sprite sprite, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, sprite.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, sprite.size());
+            return;
+        }
+        Files.copy(sprite.path(), response.getOutputStream());
+    }
+
+    private static <T> Set<T> parseAll(List<String> values, Function<String, T> parser) {
+        return values == null ? Set.of() : values.stream().map(String::trim).map(parser).collect(Collectors.toSet());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.pokemon.api.controller;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.service.PokemonCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking twin of {@link PokemonController}. Handlers return as soon as the lookup is
+ * wired up, so the request thread goes back to the pool while PokeAPI answers.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/pokemon")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*") // For frontend development
+public class ReactivePokemonController {
+
+    private final PokemonCacheService cacheService;
+
+    @GetMapping
+    public Mono<List<Pokemon>> getAllPokemon(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        return cacheService.fetchPokemonBatch(offset, limit);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Pokemon>> getPokemonById(@PathVariable Long id) {
+        return cacheService.fetchPokemonById(id)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.empty())
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
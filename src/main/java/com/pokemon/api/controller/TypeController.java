@@ -0,0 +1,50 @@
+package com.pokemon.api.controller;
+
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.TypeChart;
+import com.pokemon.api.model.TypeMatchups;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * Defensive type matchups from {@link TypeChart}, e.g. {@code /api/v1/types/water/ground/matchups}.
+ * The chart never changes at runtime, so responses may be cached for a day.
+ */
+@RestController
+@RequestMapping("/api/v1/types")
+@CrossOrigin(origins = "*") // For frontend development
+public class TypeController {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+
+    @GetMapping("/{type}/matchups")
+    public ResponseEntity<TypeMatchups> getMatchups(@PathVariable String type) {
+        return respond(TypeChart.matchups(parse(type), null));
+    }
+
+    @GetMapping("/{first}/{second}/matchups")
+    public ResponseEntity<TypeMatchups> getMatchups(@PathVariable String first, @PathVariable String second) {
+        return respond(TypeChart.matchups(parse(first), parse(second)));
+    }
+
+    private static ResponseEntity<TypeMatchups> respond(TypeMatchups matchups) {
+        return ResponseEntity.ok().cacheControl(CACHE_CONTROL).body(matchups);
+    }
+
+    private static PokemonType parse(String type) {
+        try {
+            return PokemonType.fromName(type);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.pokemon.api.model;
+
+import java.util.List;
+
+/**
+ * A Pokémon's place in its evolution family: its direct neighbours and the whole chain from the
+ * base species down.
+ *
+ * @param evolvesFrom the species it evolves from, {@code null} for a base species
+ * @param evolvesTo   the species it evolves into directly, empty for a final stage
+ */
+public record EvolutionLine(Long id, Long chainId, Long evolvesFrom, List<Long> evolvesTo, Node chain) {
+
+    /** One species in the chain; {@code evolvesBy} is {@code null} for the base species. */
+    public record Node(Long id, String name, EvolutionStep evolvesBy, List<Node> evolvesTo) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.pokemon.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * What it takes to evolve into a species, from PokeAPI's first evolution detail for it. Only the
+ * conditions that apply are set; {@code trigger} is e.g. {@code level-up}, {@code use-item} or
+ * {@code trade}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EvolutionStep(String trigger, Integer minLevel, String item, String heldItem, Integer minHappiness,
+                            String timeOfDay, String knownMove) {
+}
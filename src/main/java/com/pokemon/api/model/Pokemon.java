@@ -1,5 +1,7 @@
 package com.pokemon.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,4 +26,15 @@ public class Pokemon {
         this.id = id;
         this.name = name;
     }
+
+    /**
+     * The 4×, 2×, ½×, ¼× and 0× attacking types for this Pokémon's types, looked up in
+     * {@link TypeChart}'s precomputed tables rather than stored, so it can never disagree with
+     * {@link #getTypes()} and costs nothing to cache or snapshot.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonIgnoreProperties({"types", "multipliers"})
+    public TypeMatchups getMatchups() {
+        return TypeChart.matchups(types);
+    }
 }
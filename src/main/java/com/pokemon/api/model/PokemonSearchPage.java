@@ -0,0 +1,10 @@
+package com.pokemon.api.model;
+
+import java.util.List;
+
+/**
+ * One page of search results. {@code total} counts every match, not just this page;
+ * {@code nextCursor} is null on the last page.
+ */
+public record PokemonSearchPage(List<Pokemon> results, int total, String nextCursor) {
+}
@@ -0,0 +1,73 @@
+package com.pokemon.api.model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The 18 elemental types. {@link #apiName()} is the lowercase PokeAPI name used in
+ * {@link Pokemon#getTypes()}; {@link #displayName()} is the capitalized form used in
+ * {@link Pokemon#getWeaknesses()}.
+ */
+public enum PokemonType {
+    NORMAL("normal", "Normal"),
+    FIRE("fire", "Fire"),
+    WATER("water", "Water"),
+    ELECTRIC("electric", "Electric"),
+    GRASS("grass", "Grass"),
+    ICE("ice", "Ice"),
+    FIGHTING("fighting", "Fighting"),
+    POISON("poison", "Poison"),
+    GROUND("ground", "Ground"),
+    FLYING("flying", "Flying"),
+    PSYCHIC("psychic", "Psychic"),
+    BUG("bug", "Bug"),
+    ROCK("rock", "Rock"),
+    GHOST("ghost", "Ghost"),
+    DRAGON("dragon", "Dragon"),
+    DARK("dark", "Dark"),
+    STEEL("steel", "Steel"),
+    FAIRY("fairy", "Fairy");
+
+    private static final PokemonType[] VALUES = values();
+    private static final Map<String, PokemonType> BY_NAME = new HashMap<>();
+
+    static {
+        for (PokemonType type : VALUES) {
+            BY_NAME.put(type.apiName, type);
+        }
+    }
+
+    private final String apiName;
+    private final String displayName;
+
+    PokemonType(String apiName, String displayName) {
+        this.apiName = apiName;
+        this.displayName = displayName;
+    }
+
+    public String apiName() {
+        return apiName;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    public static PokemonType ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Resolves either spelling, case-insensitively.
+     *
+     * @throws IllegalArgumentException for names outside the 18 types
+     */
+    public static PokemonType fromName(String name) {
+        PokemonType type = name == null ? null : BY_NAME.get(name.toLowerCase(Locale.ROOT));
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown Pokémon type: " + name);
+        }
+        return type;
+    }
+}
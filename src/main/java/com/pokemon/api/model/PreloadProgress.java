@@ -0,0 +1,19 @@
+package com.pokemon.api.model;
+
+import java.time.Instant;
+
+/**
+ * Point-in-time view of the cache preloader. {@code lastGoodId} is the highest ID up to which
+ * every Pokémon of the current or last run is cached; an interrupted run resumes after it.
+ */
+public record PreloadProgress(
+        boolean running,
+        Instant startedAt,
+        Instant finishedAt,
+        long firstId,
+        long lastId,
+        int loaded,
+        int alreadyCached,
+        int failed,
+        long lastGoodId) {
+}
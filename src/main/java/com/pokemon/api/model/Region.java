@@ -0,0 +1,73 @@
+package com.pokemon.api.model;
+
+import java.util.Locale;
+
+/**
+ * Home regions in National Dex order; each region owns the IDs up to {@link #lastId()}.
+ */
+public enum Region {
+    KANTO("Kanto", 151),
+    JOHTO("Johto", 251),
+    HOENN("Hoenn", 386),
+    SINNOH("Sinnoh", 493),
+    UNOVA("Unova", 649),
+    KALOS("Kalos", 721),
+    ALOLA("Alola", 809),
+    GALAR("Galar", 905),
+    PALDEA("Paldea", Integer.MAX_VALUE);
+
+    private static final Region[] VALUES = values();
+    /** Region ordinal by ID, up to the last ID before Paldea; anything above is Paldea. */
+    private static final byte[] BY_ID = new byte[GALAR.lastId + 1];
+
+    static {
+        int id = 0;
+        for (Region region : VALUES) {
+            for (; id <= Math.min(region.lastId, GALAR.lastId); id++) {
+                BY_ID[id] = (byte) region.ordinal();
+            }
+        }
+    }
+
+    private final String displayName;
+    private final int lastId;
+
+    Region(String displayName, int lastId) {
+        this.displayName = displayName;
+        this.lastId = lastId;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    public int lastId() {
+        return lastId;
+    }
+
+    public static Region ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /** A table lookup; IDs below 1 count as Kanto and every ID past Galar's as Paldea. */
+    public static Region forPokemonId(long pokemonId) {
+        if (pokemonId < 0) {
+            return KANTO;
+        }
+        return pokemonId < BY_ID.length ? VALUES[BY_ID[(int) pokemonId]] : PALDEA;
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown region names
+     */
+    public static Region fromName(String name) {
+        if (name != null) {
+            for (Region region : VALUES) {
+                if (region.displayName.equalsIgnoreCase(name) || region.name().equals(name.toUpperCase(Locale.ROOT))) {
+                    return region;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown region: " + name);
+    }
+}
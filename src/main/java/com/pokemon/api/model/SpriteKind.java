@@ -0,0 +1,51 @@
+package com.pokemon.api.model;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * The images linked from {@link PokemonSprites}, by the name used in
+ * {@code /api/v1/pokemon/{id}/sprites/{kind}}.
+ */
+public enum SpriteKind {
+    FRONT("front", PokemonSprites::getFrontDefault),
+    BACK("back", PokemonSprites::getBackDefault),
+    ARTWORK("artwork", PokemonSprites::getOfficialArtwork);
+
+    private final String apiName;
+    private final Function<PokemonSprites, String> url;
+
+    SpriteKind(String apiName, Function<PokemonSprites, String> url) {
+        this.apiName = apiName;
+        this.url = url;
+    }
+
+    public String apiName() {
+        return apiName;
+    }
+
+    /** The upstream URL of this image, or {@code null} if the Pokémon has none. */
+    public String url(PokemonSprites sprites) {
+        return sprites == null ? null : url.apply(sprites);
+    }
+
+    /** The image's key in the sprite store, e.g. {@code 25-front}. */
+    public String key(long pokemonId) {
+        return pokemonId + "-" + apiName;
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown kinds
+     */
+    public static SpriteKind fromName(String name) {
+        if (name != null) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            for (SpriteKind kind : values()) {
+                if (kind.apiName.equals(lower)) {
+                    return kind;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown sprite kind: " + name + " (front, back or artwork)");
+    }
+}
@@ -0,0 +1,41 @@
+package com.pokemon.api.model;
+
+/**
+ * The six base stats, in PokeAPI order. {@link #apiName()} matches {@link PokemonStat#getName()}.
+ */
+public enum StatName {
+    HP("hp"),
+    ATTACK("attack"),
+    DEFENSE("defense"),
+    SPECIAL_ATTACK("special-attack"),
+    SPECIAL_DEFENSE("special-defense"),
+    SPEED("speed");
+
+    private static final StatName[] VALUES = values();
+
+    private final String apiName;
+
+    StatName(String apiName) {
+        this.apiName = apiName;
+    }
+
+    public String apiName() {
+        return apiName;
+    }
+
+    public static StatName ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * @throws IllegalArgumentException for names outside the six base stats
+     */
+    public static StatName fromName(String name) {
+        for (StatName stat : VALUES) {
+            if (stat.apiName.equalsIgnoreCase(name) || stat.name().equalsIgnoreCase(name)) {
+                return stat;
+            }
+        }
+        throw new IllegalArgumentException("Unknown stat: " + name);
+    }
+}
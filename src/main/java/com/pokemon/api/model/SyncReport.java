@@ -0,0 +1,19 @@
+package com.pokemon.api.model;
+
+import java.time.Instant;
+
+/**
+ * Point-in-time view of the delta sync. Of the {@code checked} cached Pokémon, {@code unchanged}
+ * were confirmed current (304, or the same payload), {@code updated} were replaced in the
+ * cache and {@code failed} could not be checked. {@code bytesDownloaded} counts response bodies.
+ */
+public record SyncReport(
+        boolean running,
+        Instant startedAt,
+        Instant finishedAt,
+        int checked,
+        int unchanged,
+        int updated,
+        int failed,
+        long bytesDownloaded) {
+}
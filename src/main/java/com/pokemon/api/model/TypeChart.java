@@ -0,0 +1,189 @@
+package com.pokemon.api.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The type chart (Gen VI onwards) as primitive tables, with the defensive matchups of every
+ * single and dual type worked out once at class load.
+ * <p>
+ * {@code CHART} holds attacking × defending effectiveness in halves (0, 1, 2, 4 for 0×, ½×,
+ * 1×, 2×). {@code PAIRS} holds, per defending pair and attacking type, the product of both
+ * defending types in quarters (0, 1, 2, 4, 8, 16 for 0× up to 4×), so a dual type's
+ * resistances and immunities cancel its weaknesses. A single type is stored as the pair
+ * {@code (t, t)} with the second factor dropped. Lookups index straight into those arrays and
+ * the {@link TypeMatchups} they return are shared, so nothing is allocated per call.
+ */
+public final class TypeChart {
+
+    private static final PokemonType[] TYPES = PokemonType.values();
+    private static final int N = TYPES.length;
+
+    private static final byte[] CHART = new byte[N * N];
+    private static final byte[] PAIRS = new byte[N * N * N];
+    private static final TypeMatchups[] MATCHUPS = new TypeMatchups[N * N];
+    private static final List<String>[] WEAKNESSES = newListArray(N * N);
+
+    static {
+        Arrays.fill(CHART, (byte) 2);
+        attack(PokemonType.NORMAL, List.of(), List.of("rock", "steel"), List.of("ghost"));
+        attack(PokemonType.FIRE, List.of("grass", "ice", "bug", "steel"), List.of("fire", "water", "rock", "dragon"), List.of());
+        attack(PokemonType.WATER, List.of("fire", "ground", "rock"), List.of("water", "grass", "dragon"), List.of());
+        attack(PokemonType.ELECTRIC, List.of("water", "flying"), List.of("electric", "grass", "dragon"), List.of("ground"));
+        attack(PokemonType.GRASS, List.of("water", "ground", "rock"),
+                List.of("fire", "grass", "poison", "flying", "bug", "dragon", "steel"), List.of());
+        attack(PokemonType.ICE, List.of("grass", "ground", "flying", "dragon"), List.of("fire", "water", "ice", "steel"), List.of());
+        attack(PokemonType.FIGHTING, List.of("normal", "ice", "rock", "dark", "steel"),
+                List.of("poison", "flying", "psychic", "bug", "fairy"), List.of("ghost"));
+        attack(PokemonType.POISON, List.of("grass", "fairy"), List.of("poison", "ground", "rock", "ghost"), List.of("steel"));
+        attack(PokemonType.GROUND, List.of("fire", "electric", "poison", "rock", "steel"), List.of("grass", "bug"), List.of("flying"));
+        attack(PokemonType.FLYING, List.of("grass", "fighting", "bug"), List.of("electric", "rock", "steel"), List.of());
+        attack(PokemonType.PSYCHIC, List.of("fighting", "poison"), List.of("psychic", "steel"), List.of("dark"));
+        attack(PokemonType.BUG, List.of("grass", "psychic", "dark"),
+                List.of("fire", "fighting", "poison", "flying", "ghost", "steel", "fairy"), List.of());
+        attack(PokemonType.ROCK, List.of("fire", "ice", "flying", "bug"), List.of("fighting", "ground", "steel"), List.of());
+        attack(PokemonType.GHOST, List.of("psychic", "ghost"), List.of("dark"), List.of("normal"));
+        attack(PokemonType.DRAGON, List.of("dragon"), List.of("steel"), List.of("fairy"));
+        attack(PokemonType.DARK, List.of("psychic", "ghost"), List.of("fighting", "dark", "fairy"), List.of());
+        attack(PokemonType.STEEL, List.of("ice", "rock", "fairy"), List.of("fire", "water", "electric", "steel"), List.of());
+        attack(PokemonType.FAIRY, List.of("fighting", "dragon", "dark"), List.of("fire", "poison", "steel"), List.of());
+
+        for (int first = 0; first < N; first++) {
+            // Only first <= second is filled in; see pair(PokemonType, PokemonType)
+            for (int second = first; second < N; second++) {
+                int pair = first * N + second;
+                for (int attacker = 0; attacker < N; attacker++) {
+                    int halves = CHART[attacker * N + first];
+                    // In quarters: a single type is 2 × its halves, a pair the product of both
+                    PAIRS[pair * N + attacker] = (byte) (first == second ? halves * 2 : halves * CHART[attacker * N + second]);
+                }
+                MATCHUPS[pair] = matchups(first, second);
+                List<String> weaknesses = new ArrayList<>(MATCHUPS[pair].quadruple());
+                weaknesses.addAll(MATCHUPS[pair].twice());
+                WEAKNESSES[pair] = List.copyOf(weaknesses);
+            }
+        }
+    }
+
+    private TypeChart() {
+    }
+
+    /** Effectiveness of one attacking type against a single type: 0, 0.5, 1 or 2. */
+    public static double effectiveness(PokemonType attacker, PokemonType defender) {
+        return CHART[attacker.ordinal() * N + defender.ordinal()] / 2.0;
+    }
+
+    /**
+     * Effectiveness against a dual type (pass the same type twice for a single type): 0, 0.25,
+     * 0.5, 1, 2 or 4.
+     */
+    public static double multiplier(PokemonType attacker, PokemonType first, PokemonType second) {
+        return PAIRS[pair(first, second) * N + attacker.ordinal()] / 4.0;
+    }
+
+    /** The shared, precomputed matchups of a single or dual type; {@code second} may be null. */
+    public static TypeMatchups matchups(PokemonType first, PokemonType second) {
+        return MATCHUPS[pair(first, second == null ? first : second)];
+    }
+
+    /**
+     * Matchups for a Pokémon's types as PokeAPI names them; names outside the 18 types are
+     * ignored. {@code null} if none is left.
+     */
+    public static TypeMatchups matchups(List<String> types) {
+        int pair = pair(types);
+        return pair < 0 ? null : MATCHUPS[pair];
+    }
+
+    /**
+     * The types that hit {@code types} for 4× and then 2×, by display name, each group in type
+     * order. Shared and unmodifiable; empty if no type is known.
+     */
+    public static List<String> weaknesses(List<String> types) {
+        int pair = pair(types);
+        return pair < 0 ? List.of() : WEAKNESSES[pair];
+    }
+
+    private static int pair(PokemonType first, PokemonType second) {
+        // (a, b) and (b, a) are the same defence, so both map to the lower-ordinal-first entry
+        int a = Math.min(first.ordinal(), second.ordinal());
+        int b = Math.max(first.ordinal(), second.ordinal());
+        return a * N + b;
+    }
+
+    private static int pair(List<String> types) {
+        if (types == null) {
+            return -1;
+        }
+        int first = -1;
+        int second = -1;
+        for (int i = 0; i < types.size(); i++) {
+            int ordinal = ordinal(types.get(i));
+            if (ordinal < 0) {
+                continue;
+            }
+            if (first < 0) {
+                first = ordinal;
+            } else if (second < 0) {
+                second = ordinal;
+            }
+        }
+        if (first < 0) {
+            return -1;
+        }
+        return pair(TYPES[first], TYPES[second < 0 ? first : second]);
+    }
+
+    private static int ordinal(String name) {
+        try {
+            return PokemonType.fromName(name).ordinal();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static TypeMatchups matchups(int first, int second) {
+        List<String> types = first == second
+                ? List.of(TYPES[first].apiName())
+                : List.of(TYPES[first].apiName(), TYPES[second].apiName());
+        Map<String, Double> multipliers = new LinkedHashMap<>();
+        List<String> quadruple = new ArrayList<>();
+        List<String> twice = new ArrayList<>();
+        List<String> half = new ArrayList<>();
+        List<String> quarter = new ArrayList<>();
+        List<String> immune = new ArrayList<>();
+        for (int attacker = 0; attacker < N; attacker++) {
+            int quarters = PAIRS[(first * N + second) * N + attacker];
+            multipliers.put(TYPES[attacker].apiName(), quarters / 4.0);
+            List<String> group = switch (quarters) {
+                case 16 -> quadruple;
+                case 8 -> twice;
+                case 2 -> half;
+                case 1 -> quarter;
+                case 0 -> immune;
+                default -> null;
+            };
+            if (group != null) {
+                group.add(TYPES[attacker].displayName());
+            }
+        }
+        return new TypeMatchups(types, Collections.unmodifiableMap(multipliers), List.copyOf(quadruple),
+                List.copyOf(twice), List.copyOf(half), List.copyOf(quarter), List.copyOf(immune));
+    }
+
+    private static void attack(PokemonType attacker, List<String> superEffective, List<String> notVeryEffective,
+                               List<String> noEffect) {
+        superEffective.forEach(defender -> CHART[attacker.ordinal() * N + PokemonType.fromName(defender).ordinal()] = 4);
+        notVeryEffective.forEach(defender -> CHART[attacker.ordinal() * N + PokemonType.fromName(defender).ordinal()] = 1);
+        noEffect.forEach(defender -> CHART[attacker.ordinal() * N + PokemonType.fromName(defender).ordinal()] = 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] newListArray(int size) {
+        return (List<String>[]) new List<?>[size];
+    }
+}
@@ -0,0 +1,21 @@
+package com.pokemon.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How hard each attacking type hits a single or dual type, from {@link TypeChart}. Type lists
+ * hold display names in type order; {@code multipliers} has every attacking type by API name.
+ * Instances are shared and immutable.
+ */
+public record TypeMatchups(
+        List<String> types,
+        Map<String, Double> multipliers,
+        @JsonProperty("4x") List<String> quadruple,
+        @JsonProperty("2x") List<String> twice,
+        @JsonProperty("0.5x") List<String> half,
+        @JsonProperty("0.25x") List<String> quarter,
+        @JsonProperty("0x") List<String> immune) {
+}
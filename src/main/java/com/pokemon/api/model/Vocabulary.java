@@ -0,0 +1,93 @@
+package com.pokemon.api.model;
+
+/**
+ * Canonical instances of the closed vocabularies every PokeAPI payload repeats: the 18 type
+ * names and the six stat names. Mapping through here means a cached Pokémon shares these
+ * strings with every other one instead of holding its own copies, and the streaming decoder can
+ * resolve a name straight from the parser's character buffer without creating a string at all.
+ * <p>
+ * The table is open-addressed on {@link String#hashCode()}, computed the same way over a
+ * {@code char[]} range, and is never written after class initialization.
+ */
+public final class Vocabulary {
+
+    private static final int MASK = 63;
+    private static final String[] TABLE = new String[MASK + 1];
+
+    static {
+        for (PokemonType type : PokemonType.values()) {
+            add(type.apiName());
+        }
+        for (StatName stat : StatName.values()) {
+            add(stat.apiName());
+        }
+    }
+
+    private Vocabulary() {
+    }
+
+    /** The canonical instance of {@code name} if it is a type or stat name, else {@code name} itself. */
+    public static String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (int slot = slot(name.hashCode()); TABLE[slot] != null; slot = (slot + 1) & MASK) {
+            if (TABLE[slot].equals(name)) {
+                return TABLE[slot];
+            }
+        }
+        return name;
+    }
+
+    /** Like {@link #intern(String)}, allocating a string only for a name outside the vocabulary. */
+    public static String intern(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        for (int slot = slot(hash); TABLE[slot] != null; slot = (slot + 1) & MASK) {
+            if (matches(TABLE[slot], chars, offset, length)) {
+                return TABLE[slot];
+            }
+        }
+        return new String(chars, offset, length);
+    }
+
+    /**
+     * {@code name} with its first letter in upper case, as names are served. Copies the
+     * characters once instead of concatenating substrings; returns {@code name} itself when
+     * there is nothing to change.
+     */
+    public static String capitalize(String name) {
+        if (name == null || name.isEmpty() || Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        char[] chars = name.toCharArray();
+        chars[0] = Character.toUpperCase(chars[0]);
+        return String.valueOf(chars);
+    }
+
+    private static void add(String name) {
+        int slot = slot(name.hashCode());
+        while (TABLE[slot] != null) {
+            slot = (slot + 1) & MASK;
+        }
+        TABLE[slot] = name;
+    }
+
+    private static int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & MASK;
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset, int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package com.pokemon.api.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/** A PokeAPI {@code /evolution-chain/{id}} payload, reduced to the tree and its triggers. */
+@Data
+public class EvolutionChainResponse {
+    private Long id;
+    private ChainLink chain;
+
+    @Data
+    public static class ChainLink {
+        private NamedResource species;
+        @JsonProperty("evolution_details")
+        private List<EvolutionDetail> evolutionDetails;
+        @JsonProperty("evolves_to")
+        private List<ChainLink> evolvesTo;
+    }
+
+    /** What it takes to evolve into the link's species; PokeAPI leaves unused conditions null. */
+    @Data
+    public static class EvolutionDetail {
+        private NamedResource trigger;
+        @JsonProperty("min_level")
+        private Integer minLevel;
+        private NamedResource item;
+        @JsonProperty("held_item")
+        private NamedResource heldItem;
+        @JsonProperty("min_happiness")
+        private Integer minHappiness;
+        @JsonProperty("time_of_day")
+        private String timeOfDay;
+        @JsonProperty("known_move")
+        private NamedResource knownMove;
+    }
+}
@@ -0,0 +1,16 @@
+package com.pokemon.api.response;
+
+import lombok.Data;
+
+/** PokeAPI's {@code NamedAPIResource}: a name and the URL of the resource, which ends in its ID. */
+@Data
+public class NamedResource {
+    private String name;
+    private String url;
+
+    /** The trailing ID of {@link #getUrl()}, e.g. 2 for {@code .../pokemon-species/2/}. */
+    public Long id() {
+        String trimmed = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        return Long.parseLong(trimmed.substring(trimmed.lastIndexOf('/') + 1));
+    }
+}
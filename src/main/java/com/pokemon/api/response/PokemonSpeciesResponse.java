@@ -0,0 +1,21 @@
+package com.pokemon.api.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/** A PokeAPI {@code /pokemon-species/{id}} payload, reduced to what links it to its evolution chain. */
+@Data
+public class PokemonSpeciesResponse {
+    private Long id;
+    private String name;
+    @JsonProperty("evolves_from_species")
+    private NamedResource evolvesFromSpecies;
+    @JsonProperty("evolution_chain")
+    private NamedResource evolutionChain; // Unnamed, only the URL
+    @JsonProperty("is_baby")
+    private boolean baby;
+    @JsonProperty("is_legendary")
+    private boolean legendary;
+    @JsonProperty("is_mythical")
+    private boolean mythical;
+}
@@ -0,0 +1,139 @@
+package com.pokemon.api.service;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Caps the upstream calls in flight without blocking a thread: a call that finds no free
+ * permit is queued, first come first served, and fails with
+ * {@link UpstreamUnavailableException} if none frees up within {@code maxWait}. The permit is
+ * returned whichever way the call ends, including cancellation.
+ */
+final class Bulkhead {
+
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private int available;
+
+    Bulkhead(int maxConcurrent, Duration maxWait) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("A bulkhead needs at least one permit");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.available = maxConcurrent;
+    }
+
+    /** Runs {@code call} once a permit is free, waiting up to {@code maxWait} for one. */
+    <T> Mono<T> call(Supplier<? extends Mono<T>> call) {
+        return withPermit(acquire().timeout(maxWait, Mono.error(() -> new UpstreamUnavailableException(
+                "No upstream permit free within " + maxWait + " (" + maxConcurrent + " calls in flight)"))), call);
+    }
+
+    /** Runs {@code call} only if a permit is free right now. */
+    <T> Mono<T> tryCall(Supplier<? extends Mono<T>> call) {
+        return withPermit(Mono.defer(() -> {
+            Permit permit = tryAcquire();
+            return permit != null ? Mono.just(permit) : Mono.error(new UpstreamUnavailableException("No upstream permit free"));
+        }), call);
+    }
+
+    synchronized int inFlight() {
+        return maxConcurrent - available;
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+
+    private <T> Mono<T> withPermit(Mono<Permit> permit, Supplier<? extends Mono<T>> call) {
+        return Mono.usingWhen(permit, ignored -> call.get(), Permit::release, (p, e) -> p.release(), Permit::release)
+                // A permit granted to a subscriber that has just cancelled never reaches usingWhen
+                .doOnDiscard(Permit.class, Permit::release);
+    }
+
+    private synchronized Permit tryAcquire() {
+        if (available > 0) {
+            available--;
+            return new Permit();
+        }
+        return null;
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            synchronized (this) {
+                if (available == 0) {
+                    waiters.add(waiter);
+                    waiting.incrementAndGet();
+                    sink.onCancel(waiter::cancel);
+                    return;
+                }
+                available--;
+            }
+            sink.success(new Permit());
+        });
+    }
+
+    private void release() {
+        Waiter next;
+        synchronized (this) {
+            do {
+                next = waiters.poll();
+            } while (next != null && !next.claim());
+            if (next == null) {
+                available++;
+                return;
+            }
+        }
+        next.sink.success(new Permit());
+    }
+
+    private final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Mono<Void> release() {
+            if (released.compareAndSet(false, true)) {
+                Bulkhead.this.release();
+            }
+            return Mono.empty();
+        }
+    }
+
+    private final class Waiter {
+        private final MonoSink<Permit> sink;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        /** Takes this waiter off the queue to hand it a permit; false if it already gave up. */
+        boolean claim() {
+            if (settled.compareAndSet(false, true)) {
+                waiting.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        void cancel() {
+            if (settled.compareAndSet(false, true)) {
+                waiting.decrementAndGet();
+                synchronized (Bulkhead.this) {
+                    waiters.remove(this);
+                }
+            }
+        }
+    }
+}
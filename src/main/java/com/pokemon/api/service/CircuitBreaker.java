@@ -0,0 +1,127 @@
+package com.pokemon.api.service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. While closed it keeps the outcomes of the last
+ * {@code windowSize} calls and opens once at least {@code minimumCalls} were recorded and the
+ * failure rate reaches the threshold. Open, it rejects every call for {@code openDuration}; then
+ * it lets {@code halfOpenCalls} trial calls through, closing again if all of them succeed and
+ * reopening on the first failure.
+ * <p>
+ * Outcomes that arrive for calls admitted in an earlier state are applied to the current one;
+ * with a handful of calls in flight that only nudges the window and keeps the code simple.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoTime;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    /**
+     * @param failureRateThreshold percentage of failed calls in the window that opens the circuit
+     */
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold,
+                   Duration openDuration, int halfOpenCalls, LongSupplier nanoTime) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenCalls < 1
+                || failureRateThreshold < 1 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings");
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoTime = nanoTime;
+    }
+
+    /** Whether a call may go ahead; every admitted call must end in one of the {@code on*} methods. */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoTime.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialPermits = halfOpenCalls;
+            trialSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialPermits == 0) {
+                return false;
+            }
+            trialPermits--;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.CLOSED) {
+            record(false);
+        } else if (state == State.HALF_OPEN && ++trialSuccesses >= halfOpenCalls) {
+            close();
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+                open();
+            }
+        } else if (state == State.HALF_OPEN) {
+            open();
+        }
+    }
+
+    /** An admitted call that ended without telling anything about upstream (cancelled, rejected locally). */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && trialPermits < halfOpenCalls) {
+            trialPermits++;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,121 @@
+package com.pokemon.api.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pokemon.api.model.EvolutionLine;
+import com.pokemon.api.response.EvolutionChainResponse;
+import com.pokemon.api.store.EvolutionGraph;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Serves evolution lines from an in-memory {@link EvolutionGraph} of every chain PokeAPI
+ * lists. The chains go through the "evolutionChain" cache, all of them in one {@code getAll}
+ * whose misses are fetched together, so a reload after the first one costs the chain list and
+ * whatever refresh-ahead finds stale. The graph is rebuilt from the cached chains and swapped
+ * in whole; lookups never wait on a rebuild.
+ * <p>
+ * A species the graph does not have yet (before the first load, or added upstream since) costs
+ * one species and one chain request, after which its whole family is served from memory too.
+ * Species lookups are cached for {@code pokeapi.evolutions.species-ttl}, 404s included, and
+ * concurrent lookups of one ID share a request, so IDs PokeAPI does not know (bogus or form
+ * IDs) cannot be used to flood it.
+ */
+@Slf4j
+@Service
+public class EvolutionService {
+
+    private static final int MAX_SPECIES_LOOKUPS = 10_000;
+
+    private final PokeApiService pokeApiService;
+    private final PokemonCacheManager pokemonCacheManager;
+    private final boolean preload;
+    private final AsyncCache<Long, Optional<Long>> speciesChains;
+
+    private volatile EvolutionGraph graph = EvolutionGraph.EMPTY;
+
+    public EvolutionService(PokeApiService pokeApiService,
+                            PokemonCacheManager pokemonCacheManager,
+                            @Value("${pokeapi.evolutions.preload:true}") boolean preload,
+                            @Value("${pokeapi.evolutions.species-ttl:1h}") Duration speciesTtl) {
+        this.pokeApiService = pokeApiService;
+        this.pokemonCacheManager = pokemonCacheManager;
+        this.preload = preload;
+        this.speciesChains = Caffeine.newBuilder()
+                .maximumSize(MAX_SPECIES_LOOKUPS)
+                .expireAfterWrite(speciesTtl)
+                .buildAsync();
+    }
+
+    /** Loads every chain PokeAPI lists into the cache and rebuilds the graph from them. */
+    @Scheduled(initialDelayString = "${pokeapi.evolutions.initial-delay:10000}",
+            fixedDelayString = "${pokeapi.evolutions.refresh-interval:3600000}")
+    public void loadAll() {
+        if (!preload) {
+            return;
+        }
+        try {
+            List<Long> ids = pokeApiService.fetchEvolutionChainIds().block();
+            Map<Long, EvolutionChainResponse> chains = pokemonCacheManager.getEvolutionChains(ids).block();
+            log.info("Loaded {} of {} evolution chains", chains.size(), ids.size());
+            rebuild();
+        } catch (Exception e) {
+            log.error("Error loading evolution chains: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return {@code id}'s evolution line, empty if PokeAPI has no such species
+     * @throws UpstreamUnavailableException or a {@link WebClientResponseException} if the species
+     *                                      is not in the graph and PokeAPI could not be asked
+     */
+    public Optional<EvolutionLine> findLine(Long id) {
+        EvolutionGraph current = graph;
+        if (!current.contains(id)) {
+            Long chainId = chainIdOf(id).orElse(null);
+            if (chainId == null) {
+                return Optional.empty();
+            }
+            pokemonCacheManager.getEvolutionChain(chainId).block();
+            current = rebuild();
+        }
+        return Optional.ofNullable(current.line(id));
+    }
+
+    /**
+     * The chain of species {@code id}, empty if PokeAPI has no such species (or it has no
+     * chain). Failed lookups are not cached.
+     */
+    private Optional<Long> chainIdOf(Long id) {
+        return Mono.fromFuture(speciesChains.get(id, (speciesId, executor) -> pokeApiService.fetchSpecies(speciesId)
+                        .map(species -> species.getEvolutionChain() == null
+                                ? Optional.<Long>empty()
+                                : Optional.of(species.getEvolutionChain().id()))
+                        .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(Optional.empty()))
+                        .defaultIfEmpty(Optional.empty())
+                        .toFuture()), true)
+                .block();
+    }
+
+    public EvolutionGraph graph() {
+        return graph;
+    }
+
+    private synchronized EvolutionGraph rebuild() {
+        long start = System.nanoTime();
+        EvolutionGraph rebuilt = EvolutionGraph.of(pokemonCacheManager.cachedEvolutionChains());
+        graph = rebuilt;
+        log.debug("Rebuilt evolution graph of {} species in {} chains in {} µs", rebuilt.size(), rebuilt.chains(),
+                (System.nanoTime() - start) / 1_000);
+        return rebuilt;
+    }
+}
@@ -1,172 +1,267 @@
 package com.pokemon.api.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.pokemon.api.model.Pokemon;
-import com.pokemon.api.model.PokemonSprites;
-import com.pokemon.api.model.PokemonStat;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.model.TypeChart;
+import com.pokemon.api.model.Vocabulary;
+import com.pokemon.api.response.EvolutionChainResponse;
 import com.pokemon.api.response.PokeApiResponse;
+import com.pokemon.api.response.PokemonSpeciesResponse;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
 
 @Slf4j
 @Service
 public class PokeApiService {
 
+    private static final int MAX_PAYLOAD_BYTES = 10 * 1024 * 1024;
+    private static final JsonFactory JSON = new JsonFactory();
+
     private final WebClient webClient;
-    private final ExecutorService executorService;
+    private final UpstreamPolicy upstreamPolicy;
+    private final Map<Long, PayloadValidator> validators = new ConcurrentHashMap<>();
 
     @Value("${pokeapi.max-pokemon:1025}")
     private int maxPokemon;
 
-    public PokeApiService(WebClient.Builder webClientBuilder,
-                          @Value("${pokeapi.base-url}") String baseUrl) {
-        this.webClient = webClientBuilder
-                .baseUrl(baseUrl)
-                .codecs(configurer -> configurer
-                        .defaultCodecs()
-                        .maxInMemorySize(10 * 1024 * 1024)) // Increase buffer size
-                .build();
-        this.executorService = Executors.newFixedThreadPool(10); // For parallel fetching
+    @Value("${pokeapi.evolutions.max-chains:1000}")
+    private int maxEvolutionChains;
+
+    @Value("${pokeapi.batch.concurrency:16}")
+    private int batchConcurrency;
+
+    @Value("${pokeapi.batch.request-timeout:5s}")
+    private Duration batchRequestTimeout;
+
+    /** @param pokeApiWebClient the shared client from {@code WebClientConfig}, base URL set */
+    public PokeApiService(WebClient pokeApiWebClient, UpstreamPolicy upstreamPolicy) {
+        this.webClient = pokeApiWebClient;
+        this.upstreamPolicy = upstreamPolicy;
     }
 
     public Pokemon getPokemonById(Long id) {
         log.info("Fetching Pokémon data from PokeAPI for ID: {}", id);
+        return fetchPokemonById(id).block();
+    }
 
-        PokeApiResponse response = webClient.get()
-                .uri("/pokemon/{id}", id)
-                .retrieve()
-                .bodyToMono(PokeApiResponse.class)
+    /**
+     * Fetches several Pokémon in one go, keeping at most {@code pokeapi.batch.concurrency}
+     * requests in flight. IDs that still fail after retries, or take longer than
+     * {@code pokeapi.batch.request-timeout} in all, are left out of the result.
+     */
+    public Map<Long, Pokemon> getPokemonByIds(Collection<Long> ids) {
+        log.info("Fetching {} Pokémon from PokeAPI in one batch", ids.size());
+        return fetchPokemonByIds(ids)
+                .collectMap(Pokemon::getId)
                 .block();
+    }
+
+    /**
+     * The body is collected as the raw network buffers and decoded with
+     * {@link PokemonPayloadDecoder}, which reads the few fields we keep and skips the rest, so
+     * no {@link PokeApiResponse} graph is built for a payload that is mostly moves. Runs under
+     * the {@link UpstreamPolicy}, so transient failures are retried and an unhealthy PokeAPI
+     * is not called at all. The response's validators are kept for {@link #fetchPokemonIfChanged}.
+     */
+    public Mono<Pokemon> fetchPokemonById(Long id) {
+        return fetchRevision(id, null).map(PokemonRevision::pokemon);
+    }
+
+    /**
+     * Revalidates {@code id} against what was last fetched: a conditional request with the
+     * ETag or Last-Modified PokeAPI sent then, and if the body comes back anyway, a hash
+     * comparison before decoding. Only a changed payload is decoded.
+     */
+    public Mono<PokemonRevision> fetchPokemonIfChanged(Long id) {
+        return fetchRevision(id, validators.get(id));
+    }
+
+    /** Whether {@code id} was fetched or revalidated less than {@code age} ago. */
+    public boolean checkedWithin(Long id, Duration age) {
+        PayloadValidator validator = validators.get(id);
+        return validator != null && System.nanoTime() - validator.checkedAtNanos() < age.toNanos();
+    }
+
+    private Mono<PokemonRevision> fetchRevision(Long id, PayloadValidator known) {
+        return upstreamPolicy.execute(() -> webClient.get()
+                .uri("/pokemon/{id}", id)
+                .headers(headers -> {
+                    if (known != null && known.etag() != null) {
+                        headers.setIfNoneMatch(known.etag());
+                    } else if (known != null && known.lastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, known.lastModified());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (known != null && response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        validators.put(id, known.checkedNow());
+                        return response.releaseBody().thenReturn(new PokemonRevision(id, null, 0));
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), MAX_PAYLOAD_BYTES)
+                            .map(payload -> {
+                                int size = payload.readableByteCount();
+                                PayloadValidator validator = new PayloadValidator(headers.getETag(),
+                                        headers.getFirst(HttpHeaders.LAST_MODIFIED), contentHash(payload), System.nanoTime());
+                                validators.put(id, validator);
+                                if (known != null && known.contentHash() == validator.contentHash()) {
+                                    DataBufferUtils.release(payload);
+                                    return new PokemonRevision(id, null, size);
+                                }
+                                return new PokemonRevision(id, decodePokemon(payload), size);
+                            });
+                }));
+    }
+
+    /** CRC-32C of the body in the high half, its length in the low half. */
+    private static long contentHash(DataBuffer payload) {
+        CRC32C crc = new CRC32C();
+        try (DataBuffer.ByteBufferIterator buffers = payload.readableByteBuffers()) {
+            while (buffers.hasNext()) {
+                crc.update(buffers.next());
+            }
+        }
+        return crc.getValue() << 32 | payload.readableByteCount();
+    }
 
-        return mapToPokemon(response);
+    /**
+     * Non-blocking counterpart of {@link #getPokemonByIds(Collection)}. Emits Pokémon as they
+     * arrive, not in request order.
+     */
+    public Flux<Pokemon> fetchPokemonByIds(Collection<Long> ids) {
+        return Flux.fromIterable(ids)
+                .flatMap(id -> fetchPokemonById(id)
+                        .timeout(batchRequestTimeout)
+                        .onErrorResume(e -> {
+                            log.warn("Failed to fetch Pokémon ID {}: {}", id, e.getMessage());
+                            return Mono.empty();
+                        }), batchConcurrency);
     }
 
-    public List<Pokemon> getAllPokemon() {
+    public Flux<Pokemon> fetchAllPokemon() {
         log.info("Fetching all Pokémon data from PokeAPI");
+        return fetchPokemonList()
+                .filter(listResponse -> listResponse.getResults() != null)
+                .flatMapMany(listResponse -> fetchPokemonByIds(listResponse.getResults().stream()
+                        .map(pokemonRef -> idFromUrl(pokemonRef.getUrl()))
+                        .toList()));
+    }
+
+    /** The IDs of every evolution chain PokeAPI lists; they have gaps, so they are read from the list. */
+    public Mono<List<Long>> fetchEvolutionChainIds() {
+        return upstreamPolicy.execute(() -> webClient.get()
+                        .uri("/evolution-chain?limit={limit}", maxEvolutionChains)
+                        .retrieve()
+                        .bodyToMono(PokemonListResponse.class))
+                .map(listResponse -> listResponse.getResults() == null ? List.<Long>of() : listResponse.getResults().stream()
+                        .map(chainRef -> idFromUrl(chainRef.getUrl()))
+                        .toList());
+    }
+
+    public Mono<EvolutionChainResponse> fetchEvolutionChain(Long id) {
+        return upstreamPolicy.execute(() -> webClient.get()
+                .uri("/evolution-chain/{id}", id)
+                .retrieve()
+                .bodyToMono(EvolutionChainResponse.class));
+    }
+
+    /**
+     * Evolution chains counterpart of {@link #fetchPokemonByIds}: same concurrency cap and
+     * per-chain timeout, chains that still fail are left out.
+     */
+    public Flux<EvolutionChainResponse> fetchEvolutionChainsByIds(Collection<Long> ids) {
+        return Flux.fromIterable(ids)
+                .flatMap(id -> fetchEvolutionChain(id)
+                        .timeout(batchRequestTimeout)
+                        .onErrorResume(e -> {
+                            log.warn("Failed to fetch evolution chain {}: {}", id, e.getMessage());
+                            return Mono.empty();
+                        }), batchConcurrency);
+    }
+
+    /** The species, which names the evolution chain it belongs to. */
+    public Mono<PokemonSpeciesResponse> fetchSpecies(Long id) {
+        return upstreamPolicy.execute(() -> webClient.get()
+                .uri("/pokemon-species/{id}", id)
+                .retrieve()
+                .bodyToMono(PokemonSpeciesResponse.class));
+    }
 
-        // First, get the list of all Pokémon with basic info
-        PokemonListResponse listResponse = webClient.get()
+    private Mono<PokemonListResponse> fetchPokemonList() {
+        return upstreamPolicy.execute(() -> webClient.get()
                 .uri("/pokemon?limit={limit}", maxPokemon)
                 .retrieve()
-                .bodyToMono(PokemonListResponse.class)
-                .block();
+                .bodyToMono(PokemonListResponse.class));
+    }
 
-        if (listResponse == null || listResponse.getResults() == null) {
-            return List.of();
+    /** Decodes a {@code /pokemon/{id}} payload and releases the buffer. */
+    private Pokemon decodePokemon(DataBuffer payload) {
+        try {
+            return decodePokemon(payload.asInputStream(true));
+        } catch (IOException e) {
+            throw new DecodingException("Invalid PokeAPI payload: " + e.getMessage(), e);
         }
+    }
 
-        // Fetch detailed information for each Pokémon in parallel
-        List<CompletableFuture<Pokemon>> futures = listResponse.getResults().stream()
-                .map(pokemonRef -> CompletableFuture.supplyAsync(() -> {
-                    try {
-                        String[] urlParts = pokemonRef.getUrl().split("/");
-                        Long pokemonId = Long.parseLong(urlParts[urlParts.length - 1]);
-                        return getPokemonById(pokemonId); // This will use cache if available
-                    } catch (Exception e) {
-                        log.warn("Failed to fetch Pokémon from URL {}: {}", pokemonRef.getUrl(), e.getMessage());
-                        return null;
-                    }
-                }, executorService))
-                .toList();
-
-        // Wait for all completions and collect results
-        return futures.stream()
-                .map(CompletableFuture::join)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
-    private Pokemon mapToPokemon(PokeApiResponse response) {
-        Pokemon pokemon = new Pokemon();
-        pokemon.setId(response.getId());
-        pokemon.setName(capitalizeName(response.getName()));
-        pokemon.setTypes(response.getTypes().stream()
-                .map(type -> type.getType().getName())
-                .toList());
-        pokemon.setHeight(response.getHeight());
-        pokemon.setWeight(response.getWeight());
-
-        // Map sprites
-        PokemonSprites sprites = new PokemonSprites();
-        sprites.setFrontDefault(response.getSprites().getFrontDefault());
-        sprites.setBackDefault(response.getSprites().getBackDefault());
-        sprites.setOfficialArtwork(response.getSprites().getOther().getOfficialArtwork().getFrontDefault());
-        pokemon.setSprites(sprites);
-
-        // Map stats
-        pokemon.setStats(response.getStats().stream()
-                .map(stat -> {
-                    PokemonStat pokemonStat = new PokemonStat();
-                    pokemonStat.setName(stat.getStat().getName());
-                    pokemonStat.setBaseStat(stat.getBaseStat());
-                    return pokemonStat;
-                })
-                .toList());
+    /** Decodes a {@code /pokemon/{id}} payload straight to our model and closes the stream. */
+    public Pokemon decodePokemon(InputStream payload) throws IOException {
+        try (JsonParser parser = JSON.createParser(payload)) {
+            Pokemon pokemon = PokemonPayloadDecoder.decode(parser);
+            pokemon.setName(Vocabulary.capitalize(pokemon.getName()));
+            return withDerivedFields(pokemon);
+        }
+    }
 
-        // Set region based on Pokémon ID ranges
-        pokemon.setRegion(determineRegion(response.getId()));
+    private Pokemon withDerivedFields(Pokemon pokemon) {
+        // Precomputed table, shared display name
+        pokemon.setRegion(Region.forPokemonId(pokemon.getId()).displayName());
 
-        // Calculate weaknesses (simplified for MVP)
-        pokemon.setWeaknesses(calculateWeaknesses(response.getTypes()));
+        // 2× and 4× types from the full chart, so a dual type's resistances and immunities count
+        pokemon.setWeaknesses(TypeChart.weaknesses(pokemon.getTypes()));
 
         return pokemon;
     }
 
-    private String capitalizeName(String name) {
-        return name.substring(0, 1).toUpperCase() + name.substring(1);
-    }
-
-    private String determineRegion(Long pokemonId) {
-        if (pokemonId <= 151) return "Kanto";
-        else if (pokemonId <= 251) return "Johto";
-        else if (pokemonId <= 386) return "Hoenn";
-        else if (pokemonId <= 493) return "Sinnoh";
-        else if (pokemonId <= 649) return "Unova";
-        else if (pokemonId <= 721) return "Kalos";
-        else if (pokemonId <= 809) return "Alola";
-        else if (pokemonId <= 905) return "Galar";
-        else return "Paldea";
-    }
-
-   private static final Map<String, List<String>> TYPE_WEAKNESSES = Map.ofEntries(
-            Map.entry("normal", List.of("Fighting")),
-            Map.entry("fire", List.of("Water", "Ground", "Rock")),
-            Map.entry("water", List.of("Electric", "Grass")),
-            Map.entry("electric", List.of("Ground")),
-            Map.entry("grass", List.of("Fire", "Ice", "Poison", "Flying", "Bug")),
-            Map.entry("ice", List.of("Fire", "Fighting", "Rock", "Steel")),
-            Map.entry("fighting", List.of("Flying", "Psychic", "Fairy")),
-            Map.entry("poison", List.of("Ground", "Psychic")),
-            Map.entry("ground", List.of("Water", "Grass", "Ice")),
-            Map.entry("flying", List.of("Electric", "Ice", "Rock")),
-            Map.entry("psychic", List.of("Bug", "Ghost", "Dark")),
-            Map.entry("bug", List.of("Fire", "Flying", "Rock")),
-            Map.entry("rock", List.of("Water", "Grass", "Fighting", "Ground", "Steel")),
-            Map.entry("ghost", List.of("Ghost", "Dark")),
-            Map.entry("dragon", List.of("Ice", "Dragon", "Fairy")),
-            Map.entry("dark", List.of("Fighting", "Bug", "Fairy")),
-            Map.entry("steel", List.of("Fire", "Fighting", "Ground")),
-            Map.entry("fairy", List.of("Poison", "Steel"))
-    );
-    private List<String> calculateWeaknesses(List<PokeApiResponse.PokemonType> types) {
-        return types.stream()
-                .flatMap(type -> TYPE_WEAKNESSES.getOrDefault(type.getType().getName().toLowerCase(), List.of()).stream())
-                .distinct()
-                .toList();
+    private Long idFromUrl(String url) {
+        String[] urlParts = url.split("/");
+        return Long.parseLong(urlParts[urlParts.length - 1]);
+    }
+
+    /**
+     * What identifies the payload last received for an ID. A byte-identical body whose ETag
+     * changed anyway (a CDN re-deploy, say) is still recognised as unchanged by the hash.
+     */
+    private record PayloadValidator(String etag, String lastModified, long contentHash, long checkedAtNanos) {
+
+        PayloadValidator checkedNow() {
+            return new PayloadValidator(etag, lastModified, contentHash, System.nanoTime());
+        }
     }
 
     @Data
@@ -1,32 +1,211 @@
 package com.pokemon.api.service;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.pokemon.api.cache.CacheRefreshStats;
 import com.pokemon.api.model.Pokemon;
-import lombok.RequiredArgsConstructor;
+import com.pokemon.api.response.EvolutionChainResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Async cache layer in front of {@link PokeApiService}. Lookups go through the Caffeine
+ * loading caches configured in {@link com.pokemon.api.config.CacheConfig}, so a miss never
+ * parks a thread while PokeAPI answers; the blocking {@code *WithCache} variants simply wait
+ * on the same pipeline.
+ * <p>
+ * Loads are single-flight per key: the cache holds the in-flight future, so any number of
+ * concurrent misses for one ID share a single upstream call and its result or error.
+ */
 @Log4j2
 @Service
-@RequiredArgsConstructor
 public class PokemonCacheManager {
 
-    private final PokeApiService pokeApiService;
+    private final CacheManager cacheManager;
+    private final CacheRefreshStats refreshStats;
+    private final Timer batchSuccess;
+    private final Timer batchError;
+    private final Timer batchCancelled;
+
+    public PokemonCacheManager(CacheManager cacheManager, CacheRefreshStats refreshStats, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.refreshStats = refreshStats;
+        // Registered once so the batch path only pays for recording, not for a meter lookup
+        this.batchSuccess = batchTimer(meterRegistry, "success");
+        this.batchError = batchTimer(meterRegistry, "error");
+        this.batchCancelled = batchTimer(meterRegistry, "cancelled");
+    }
 
-    @Cacheable(value = "pokemon", key = "#id")
     public Pokemon getPokemonByIdWithCache(Long id) {
-        log.info("Cache miss - Fetching from PokeAPI for ID: {}", id);
-        // This will properly use cache when called from other services
-        return pokeApiService.getPokemonById(id);
+        return getPokemonById(id).block();
     }
 
-    @Cacheable(value = "pokemonList")
     public List<Pokemon> getAllPokemonWithCache() {
-        log.info("Cache miss - Fetching all Pokémon from PokeAPI");
-        return pokeApiService.getAllPokemon();
+        return getAllPokemon().block();
+    }
+
+    public List<Pokemon> getPokemonBatchWithCache(List<Long> ids) {
+        return getPokemonBatch(ids).block();
+    }
+
+    /**
+     * Whether {@code id} has finished loading. A load still in flight does not count: it may
+     * yet fail, and callers that skip cached IDs would then never load it.
+     */
+    public boolean isCached(Long id) {
+        return peek(id) != null;
+    }
+
+    /**
+     * Snapshot of the entries in the "pokemon" cache that have finished loading. Reads the
+     * map directly, so it never triggers a load, a refresh or a stats update.
+     */
+    public List<Pokemon> cachedPokemon() {
+        return cachedValues("pokemon", Pokemon.class);
+    }
+
+    /** Loaded entries of the "evolutionChain" cache, read like {@link #cachedPokemon()}. */
+    public List<EvolutionChainResponse> cachedEvolutionChains() {
+        return cachedValues("evolutionChain", EvolutionChainResponse.class);
+    }
+
+    /** The cached Pokémon if it has finished loading, else {@code null}; never triggers a load. */
+    public Pokemon peek(Long id) {
+        CompletableFuture<Object> future = cache("pokemon").getIfPresent(id);
+        return future != null && future.isDone() && !future.isCompletedExceptionally()
+                && future.getNow(null) instanceof Pokemon pokemon ? pokemon : null;
+    }
+
+    /**
+     * Puts a newer version of a Pokémon in the "pokemon" cache, and in the cached full list if
+     * there is one, so the list is not reloaded from PokeAPI for a single change.
+     */
+    public void replace(Pokemon pokemon) {
+        cache("pokemon").put(pokemon.getId(), CompletableFuture.completedFuture(pokemon));
+        AsyncLoadingCache<Object, Object> lists = cache("pokemonList");
+        CompletableFuture<Object> list = lists.getIfPresent(SimpleKey.EMPTY);
+        if (list != null && list.isDone() && !list.isCompletedExceptionally() && list.getNow(null) instanceof List<?> all) {
+            List<Object> patched = new ArrayList<>(all);
+            patched.replaceAll(entry -> entry instanceof Pokemon cached && cached.getId().equals(pokemon.getId()) ? pokemon : entry);
+            lists.asMap().replace(SimpleKey.EMPTY, list, CompletableFuture.completedFuture(List.copyOf(patched)));
+        }
+    }
+
+    public Mono<Pokemon> getPokemonById(Long id) {
+        return read("pokemon", id).cast(Pokemon.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Mono<List<Pokemon>> getAllPokemon() {
+        return read("pokemonList", SimpleKey.EMPTY).map(list -> (List<Pokemon>) list);
     }
 
+    /**
+     * Looks up every ID in the "pokemon" cache and fetches all misses from PokeAPI in a single
+     * batch. Results keep the order of {@code ids}; IDs that could not be fetched are skipped.
+     *
+     * @see #getPokemonByIds(List)
+     */
+    public Mono<List<Pokemon>> getPokemonBatch(List<Long> ids) {
+        return getPokemonByIds(ids).map(found -> {
+            List<Pokemon> ordered = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Pokemon pokemon = found.get(id);
+                if (pokemon != null) {
+                    ordered.add(pokemon);
+                }
+            }
+            return ordered;
+        });
+    }
 
-}
\ No newline at end of file
+    /**
+     * One {@code getAll} pass over the "pokemon" cache for any set of IDs, contiguous or not;
+     * misses are fetched from PokeAPI together. Misses are registered in the cache before the
+     * fetch starts, so concurrent lookups of the same IDs (single or batch) wait for this load
+     * instead of starting their own. IDs that could not be fetched have no entry in the map.
+     * Timed as {@code pokemon.cache.batch}, by outcome.
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<Map<Long, Pokemon>> getPokemonByIds(Collection<Long> ids) {
+        AsyncLoadingCache<Object, Object> cache = cache("pokemon");
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.fromFuture(() -> {
+                        ids.forEach(id -> refreshStats.recordRead("pokemon", cache.synchronous(), id));
+                        return cache.getAll(ids);
+                    }, true)
+                    .map(found -> (Map<Long, Pokemon>) (Map<?, ?>) found)
+                    .doFinally(signal -> batchTimer(signal).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    public Mono<EvolutionChainResponse> getEvolutionChain(Long id) {
+        return read("evolutionChain", id).cast(EvolutionChainResponse.class);
+    }
+
+    /**
+     * Every chain in {@code ids} in one {@code getAll} pass over the "evolutionChain" cache,
+     * misses fetched from PokeAPI together like {@link #getPokemonByIds}. Chains that could not
+     * be fetched are left out.
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<Map<Long, EvolutionChainResponse>> getEvolutionChains(Collection<Long> ids) {
+        AsyncLoadingCache<Object, Object> cache = cache("evolutionChain");
+        return Mono.fromFuture(() -> cache.getAll(ids), true)
+                .map(found -> (Map<Long, EvolutionChainResponse>) (Map<?, ?>) found);
+    }
+
+    private <T> List<T> cachedValues(String cacheName, Class<T> type) {
+        List<T> cached = new ArrayList<>();
+        for (CompletableFuture<Object> future : cache(cacheName).asMap().values()) {
+            if (future.isDone() && !future.isCompletedExceptionally() && type.isInstance(future.getNow(null))) {
+                cached.add(type.cast(future.getNow(null)));
+            }
+        }
+        return cached;
+    }
+
+    private Mono<Object> read(String cacheName, Object key) {
+        AsyncLoadingCache<Object, Object> cache = cache(cacheName);
+        return Mono.fromFuture(() -> {
+            refreshStats.recordRead(cacheName, cache.synchronous(), key);
+            return cache.get(key);
+        }, true); // One caller cancelling must not cancel the load others share
+    }
+
+    private Timer batchTimer(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> batchError;
+            case CANCEL -> batchCancelled;
+            default -> batchSuccess;
+        };
+    }
+
+    private static Timer batchTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("pokemon.cache.batch")
+                .description("Batch lookups through the pokemon cache, including upstream loads of misses")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private AsyncLoadingCache<Object, Object> cache(String name) {
+        CaffeineCache cache = (CaffeineCache) Objects.requireNonNull(cacheManager.getCache(name),
+                () -> "Cache not configured: " + name);
+        return (AsyncLoadingCache<Object, Object>) cache.getAsyncCache();
+    }
+}
@@ -7,11 +7,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
 import java.util.stream.LongStream;
 
 @Slf4j
@@ -22,8 +24,23 @@ public class PokemonCacheService {
     @Value("${pokeapi.sync.enabled}")
     private boolean isSyncEnabled;
 
+    @Value("${pokeapi.sync.mode:delta}")
+    private String syncMode;
+
+    @Value("${pokeapi.max-pokemon:1025}")
+    private int maxPokemon;
+
+    @Value("${pokeapi.stream.chunk-size:50}")
+    private int streamChunkSize;
+
     private final PokemonCacheManager pokemonCacheManager;
+    private final PokemonPreloader pokemonPreloader;
+    private final PokemonDeltaSync pokemonDeltaSync;
 
+    /**
+     * Loads what is missing from the cache, then in {@code delta} mode revalidates what is
+     * already there with conditional requests ({@link PokemonDeltaSync}).
+     */
     @Scheduled(initialDelayString = "${pokeapi.sync.initial-delay:5000}",
             fixedDelayString = "${pokeapi.sync.fixed-delay:3600000}")
     public void preloadPokemonCache() {
@@ -31,37 +48,74 @@ public class PokemonCacheService {
             log.info("Cache preloading disabled");
             return;
         }
+        pokemonPreloader.run();
+        if ("delta".equals(syncMode)) {
+            pokemonDeltaSync.run();
+        }
+    }
 
-        log.info("Starting Pokémon cache preloading...");
-
+    public List<Pokemon> getPokemonBatch(int offset, int limit) {
         try {
-            for (long i = 1; i <= 100; i++) {
-                try {
-                    // Use the cache manager instead of direct service call
-                    Pokemon pokemon = pokemonCacheManager.getPokemonByIdWithCache(i);
-                    log.debug("Preloaded Pokémon: {} - {}", pokemon.getId(), pokemon.getName());
-                    Thread.sleep(50);
-                } catch (Exception e) {
-                    log.warn("Failed to preload Pokémon ID {}: {}", i, e.getMessage());
-                }
-            }
-            log.info("Pokémon cache preloading completed. Loaded 100 Pokémon into memory.");
+            return pokemonCacheManager.getPokemonBatchWithCache(idRange(offset, limit));
         } catch (Exception e) {
-            log.error("Error during cache preloading: {}", e.getMessage(), e);
+            log.warn("Failed to fetch Pokémon batch {}-{}: {}", offset + 1, offset + limit, e.getMessage());
+            return List.of();
         }
     }
 
-    public List<Pokemon> getPokemonBatch(int offset, int limit) {
+    /**
+     * Any set of IDs in one cache pass, keyed by ID; only IDs PokeAPI does not know are absent.
+     * The batch fetch skips IDs it could not load for any reason, so those are looked up once
+     * more on their own: a 404 leaves the ID out, any other failure is thrown, so callers can
+     * tell an outage from Pokémon that do not exist.
+     */
+    public Map<Long, Pokemon> getPokemonByIds(List<Long> ids) {
+        Map<Long, Pokemon> found = pokemonCacheManager.getPokemonByIds(ids).block();
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return found;
+        }
+        Map<Long, Pokemon> all = new HashMap<>(found);
+        all.putAll(Flux.fromIterable(missing)
+                .flatMap(id -> pokemonCacheManager.getPokemonById(id)
+                        .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()))
+                .collectMap(Pokemon::getId)
+                .block());
+        return all;
+    }
+
+    public Mono<List<Pokemon>> fetchPokemonBatch(int offset, int limit) {
+        return pokemonCacheManager.getPokemonBatch(idRange(offset, limit))
+                .onErrorResume(e -> {
+                    log.warn("Failed to fetch Pokémon batch {}-{}: {}", offset + 1, offset + limit, e.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
+
+    /**
+     * The whole dex in ID order, read through the cache one chunk of IDs at a time so misses
+     * still go upstream as a single batch. The next chunk is fetched while the current one
+     * drains, and no further until downstream asks for more, so memory stays at about two
+     * chunks however large the dex is. A chunk that fails is skipped like in
+     * {@link #fetchPokemonBatch}.
+     */
+    public Flux<Pokemon> streamAllPokemon() {
+        int chunks = (maxPokemon + streamChunkSize - 1) / streamChunkSize;
+        return Flux.range(0, chunks)
+                .concatMap(chunk -> {
+                    int offset = chunk * streamChunkSize;
+                    return fetchPokemonBatch(offset, Math.min(streamChunkSize, maxPokemon - offset));
+                }, 1)
+                .concatMapIterable(batch -> batch, 1);
+    }
+
+    public Mono<Pokemon> fetchPokemonById(Long id) {
+        return pokemonCacheManager.getPokemonById(id);
+    }
+
+    private static List<Long> idRange(int offset, int limit) {
         return LongStream.range(offset + 1, offset + limit + 1)
-                .mapToObj(i -> {
-                    try {
-                        return pokemonCacheManager.getPokemonByIdWithCache(i);
-                    } catch (Exception e) {
-                        log.warn("Failed to fetch Pokémon ID {}: {}", i, e.getMessage());
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+                .boxed()
+                .toList();
     }
 }
\ No newline at end of file
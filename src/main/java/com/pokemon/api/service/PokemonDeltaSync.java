@@ -0,0 +1,186 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.cache.SharedPokemonCache;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.SyncReport;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revalidates the cached Pokémon against PokeAPI without downloading what has not changed.
+ * Each cached entry gets a conditional request ({@link PokeApiService#fetchPokemonIfChanged});
+ * a 304 or an identical payload leaves the cached object as it is, so neither it nor its
+ * serialized response is rebuilt. Only entries whose content changed are decoded and replaced,
+ * locally and, with a shared tier, for the other nodes too.
+ * <p>
+ * Entries fetched or checked less than {@code pokeapi.sync.delta.min-age} ago are skipped, so a
+ * run right after the preloader does not revalidate what it just loaded. Only one run can be
+ * active at a time.
+ */
+@Slf4j
+@Service
+public class PokemonDeltaSync implements MeterBinder {
+
+    private final PokeApiService pokeApiService;
+    private final PokemonCacheManager pokemonCacheManager;
+    private final Optional<SharedPokemonCache> sharedCache;
+    private final int concurrency;
+    private final Duration minAge;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger checked = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicInteger updated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong bytesDownloaded = new AtomicLong();
+
+    private final LongAdder totalUnchanged = new LongAdder();
+    private final LongAdder totalUpdated = new LongAdder();
+    private final LongAdder totalFailed = new LongAdder();
+    private final LongAdder totalBytes = new LongAdder();
+
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public PokemonDeltaSync(PokeApiService pokeApiService,
+                            PokemonCacheManager pokemonCacheManager,
+                            Optional<SharedPokemonCache> sharedCache,
+                            @Value("${pokeapi.sync.delta.concurrency:8}") int concurrency,
+                            @Value("${pokeapi.sync.delta.min-age:30m}") Duration minAge) {
+        this.pokeApiService = pokeApiService;
+        this.pokemonCacheManager = pokemonCacheManager;
+        this.sharedCache = sharedCache;
+        this.concurrency = concurrency;
+        this.minAge = minAge;
+    }
+
+    /**
+     * Starts a run in the background.
+     *
+     * @return {@code false} if a run is already in progress
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofPlatform().name("pokemon-delta-sync").daemon().start(this::runClaimed);
+        return true;
+    }
+
+    /**
+     * Runs a sync on the calling thread; returns immediately if another run is active.
+     */
+    public SyncReport run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Pokémon delta sync already running, skipping");
+            return report();
+        }
+        runClaimed();
+        return report();
+    }
+
+    public SyncReport report() {
+        synchronized (this) {
+            return new SyncReport(running.get(), startedAt, finishedAt, checked.get(), unchanged.get(), updated.get(),
+                    failed.get(), bytesDownloaded.get());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "unchanged", totalUnchanged);
+        counter(registry, "updated", totalUpdated);
+        counter(registry, "failed", totalFailed);
+        FunctionCounter.builder("pokeapi.sync.bytes", totalBytes, LongAdder::sum)
+                .description("Response bytes downloaded by delta syncs")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void runClaimed() {
+        try {
+            begin();
+            List<Long> ids = pokemonCacheManager.cachedPokemon().stream()
+                    .map(Pokemon::getId)
+                    .filter(id -> !pokeApiService.checkedWithin(id, minAge))
+                    .sorted(Comparator.naturalOrder())
+                    .toList();
+            log.info("Starting Pokémon delta sync of {} cached entries", ids.size());
+            Flux.fromIterable(ids)
+                    .flatMap(this::revalidate, concurrency)
+                    .blockLast();
+        } catch (Exception e) {
+            log.error("Error during delta sync: {}", e.getMessage(), e);
+        } finally {
+            finish();
+            running.set(false);
+        }
+    }
+
+    private Mono<Void> revalidate(Long id) {
+        return pokeApiService.fetchPokemonIfChanged(id)
+                .flatMap(revision -> {
+                    checked.incrementAndGet();
+                    bytesDownloaded.addAndGet(revision.payloadBytes());
+                    totalBytes.add(revision.payloadBytes());
+                    Pokemon current = pokemonCacheManager.peek(id);
+                    if (!revision.changed() || revision.pokemon().equals(current)) {
+                        // Not re-cached: the same object keeps its serialized body and ETag
+                        unchanged.incrementAndGet();
+                        totalUnchanged.increment();
+                        return Mono.empty();
+                    }
+                    updated.incrementAndGet();
+                    totalUpdated.increment();
+                    log.info("Pokémon {} changed upstream, replacing cached entry", id);
+                    pokemonCacheManager.replace(revision.pokemon());
+                    return sharedCache.map(shared -> shared.update(revision.pokemon())).orElse(Mono.empty());
+                })
+                .onErrorResume(e -> {
+                    checked.incrementAndGet();
+                    failed.incrementAndGet();
+                    totalFailed.increment();
+                    log.warn("Failed to revalidate Pokémon ID {}: {}", id, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private synchronized void begin() {
+        checked.set(0);
+        unchanged.set(0);
+        updated.set(0);
+        failed.set(0);
+        bytesDownloaded.set(0);
+        startedAt = Instant.now();
+        finishedAt = null;
+    }
+
+    private synchronized void finish() {
+        finishedAt = Instant.now();
+        log.info("Pokémon delta sync finished: {} checked, {} unchanged, {} updated, {} failed, {} bytes downloaded",
+                checked.get(), unchanged.get(), updated.get(), failed.get(), bytesDownloaded.get());
+    }
+
+    private static void counter(MeterRegistry registry, String result, LongAdder count) {
+        FunctionCounter.builder("pokeapi.sync.entries", count, LongAdder::sum)
+                .tag("result", result)
+                .description("Cached Pokémon revalidated by delta syncs")
+                .register(registry);
+    }
+}
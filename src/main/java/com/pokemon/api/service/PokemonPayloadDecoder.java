@@ -0,0 +1,177 @@
+package com.pokemon.api.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSprites;
+import com.pokemon.api.model.PokemonStat;
+import com.pokemon.api.model.Vocabulary;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-level reader for a PokeAPI {@code /pokemon/{id}} payload.
+ * <p>
+ * Only id, name, types, height, weight, stats and the three sprite URLs we serve are read;
+ * everything else (moves, game indices, the other sprite variants, ...) is passed over with
+ * {@link JsonParser#skipChildren()}, which never materializes strings or objects for it. The
+ * result is the raw {@link Pokemon}: name as sent, no region or weaknesses; the caller derives
+ * those, see {@link PokeApiService#decodePokemon}.
+ */
+public final class PokemonPayloadDecoder {
+
+    private PokemonPayloadDecoder() {
+    }
+
+    public static Pokemon decode(JsonParser parser) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        Pokemon pokemon = new Pokemon();
+        readObject(parser, field -> {
+            switch (field) {
+                case "id" -> pokemon.setId(parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getLongValue());
+                case "name" -> pokemon.setName(parser.getValueAsString());
+                case "height" -> pokemon.setHeight(intOrNull(parser));
+                case "weight" -> pokemon.setWeight(intOrNull(parser));
+                case "types" -> pokemon.setTypes(readTypes(parser));
+                case "stats" -> pokemon.setStats(readStats(parser));
+                case "sprites" -> pokemon.setSprites(readSprites(parser));
+                default -> parser.skipChildren();
+            }
+        });
+        return pokemon;
+    }
+
+    /** {@code [{"slot": 1, "type": {"name": "grass", ...}}, ...]} to type names. */
+    private static List<String> readTypes(JsonParser parser) throws IOException {
+        List<String> types = new ArrayList<>(2);
+        readArray(parser, () -> readObject(parser, field -> {
+            if (field.equals("type")) {
+                readObject(parser, typeField -> {
+                    if (typeField.equals("name")) {
+                        types.add(vocabulary(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                });
+            } else {
+                parser.skipChildren();
+            }
+        }));
+        return List.copyOf(types); // One or two names: held without a backing array
+    }
+
+    /** {@code [{"base_stat": 45, "effort": 0, "stat": {"name": "hp", ...}}, ...]} */
+    private static List<PokemonStat> readStats(JsonParser parser) throws IOException {
+        List<PokemonStat> stats = new ArrayList<>(6);
+        readArray(parser, () -> {
+            PokemonStat stat = new PokemonStat();
+            readObject(parser, field -> {
+                if (field.equals("base_stat")) {
+                    stat.setBaseStat(intOrNull(parser));
+                } else if (field.equals("stat")) {
+                    readObject(parser, statField -> {
+                        if (statField.equals("name")) {
+                            stat.setName(vocabulary(parser));
+                        } else {
+                            parser.skipChildren();
+                        }
+                    });
+                } else {
+                    parser.skipChildren();
+                }
+            });
+            stats.add(stat);
+        });
+        return List.copyOf(stats);
+    }
+
+    /** {@code front_default}, {@code back_default} and {@code other."official-artwork".front_default}. */
+    private static PokemonSprites readSprites(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        PokemonSprites sprites = new PokemonSprites();
+        readObject(parser, field -> {
+            switch (field) {
+                case "front_default" -> sprites.setFrontDefault(parser.getValueAsString());
+                case "back_default" -> sprites.setBackDefault(parser.getValueAsString());
+                case "other" -> readObject(parser, otherField -> {
+                    if (otherField.equals("official-artwork")) {
+                        readObject(parser, artworkField -> {
+                            if (artworkField.equals("front_default")) {
+                                sprites.setOfficialArtwork(parser.getValueAsString());
+                            } else {
+                                parser.skipChildren();
+                            }
+                        });
+                    } else {
+                        parser.skipChildren();
+                    }
+                });
+                default -> parser.skipChildren();
+            }
+        });
+        return sprites;
+    }
+
+    /**
+     * Calls {@code reader} with the parser on each field's value token. A null object is
+     * treated as empty; the reader must consume the whole value (or skip it).
+     */
+    private static void readObject(JsonParser parser, FieldReader reader) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            reader.read(field);
+        }
+        expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+    }
+
+    private static void readArray(JsonParser parser, ElementReader reader) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == null) {
+                throw new JsonParseException(parser, "Unexpected end of PokeAPI payload");
+            }
+            reader.read();
+        }
+    }
+
+    /** A type or stat name, resolved from the parser's buffer to its {@link Vocabulary} instance. */
+    private static String vocabulary(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return parser.getValueAsString();
+        }
+        return Vocabulary.intern(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    private static Integer intOrNull(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getIntValue();
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " in PokeAPI payload but found " + actual);
+        }
+    }
+
+    @FunctionalInterface
+    private interface FieldReader {
+        void read(String field) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ElementReader {
+        void read() throws IOException;
+    }
+}
@@ -0,0 +1,192 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.model.PreloadProgress;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.function.ToDoubleFunction;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warms the "pokemon" cache for IDs 1..{@code pokeapi.max-pokemon}.
+ * <p>
+ * Parallel workers take IDs in ascending order. Only cache misses hit PokeAPI, and each miss
+ * first takes a token from a shared bucket, so the upstream sees at most
+ * {@code pokeapi.preload.requests-per-second}. Only one run can be active at a time. A run
+ * that ends with gaps (failures or shutdown) is resumed after its last contiguous success
+ * the next time round. After each run, {@link SpriteService#prefetch()} downloads the sprites
+ * configured for prefetching. The current or last run's progress is published as the
+ * {@code pokeapi.preload.entries} gauges.
+ */
+@Slf4j
+@Service
+public class PokemonPreloader implements MeterBinder {
+
+    private final PokemonCacheManager pokemonCacheManager;
+    private final SpriteService spriteService;
+    private final int maxPokemon;
+    private final int workers;
+    private final TokenBucket upstreamTokens;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger alreadyCached = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long firstId = 1;
+    private long lastGoodId;
+    private BitSet completed = new BitSet();
+    private long resumeFromId = 1;
+
+    public PokemonPreloader(PokemonCacheManager pokemonCacheManager,
+                            SpriteService spriteService,
+                            @Value("${pokeapi.max-pokemon:1025}") int maxPokemon,
+                            @Value("${pokeapi.preload.workers:8}") int workers,
+                            @Value("${pokeapi.preload.requests-per-second:20}") double requestsPerSecond,
+                            @Value("${pokeapi.preload.burst:10}") int burst) {
+        this.pokemonCacheManager = pokemonCacheManager;
+        this.spriteService = spriteService;
+        this.maxPokemon = maxPokemon;
+        this.workers = workers;
+        this.upstreamTokens = new TokenBucket(requestsPerSecond, burst);
+    }
+
+    /**
+     * Starts a run in the background.
+     *
+     * @return {@code false} if a run is already in progress
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofPlatform().name("pokemon-preload").daemon().start(this::runClaimed);
+        return true;
+    }
+
+    /**
+     * Runs a preload on the calling thread; returns immediately if another run is active.
+     */
+    public PreloadProgress run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Pokémon cache preload already running, skipping");
+            return progress();
+        }
+        runClaimed();
+        return progress();
+    }
+
+    public PreloadProgress progress() {
+        synchronized (this) {
+            return new PreloadProgress(running.get(), startedAt, finishedAt, firstId, maxPokemon,
+                    loaded.get(), alreadyCached.get(), failed.get(), lastGoodId);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "loaded", PreloadProgress::loaded);
+        gauge(registry, "already-cached", PreloadProgress::alreadyCached);
+        gauge(registry, "failed", PreloadProgress::failed);
+        gauge(registry, "remaining", progress -> progress.lastId() - progress.firstId() + 1
+                - progress.loaded() - progress.alreadyCached() - progress.failed());
+    }
+
+    private void gauge(MeterRegistry registry, String state, ToDoubleFunction<PreloadProgress> value) {
+        Gauge.builder("pokeapi.preload.entries", this, preloader -> value.applyAsDouble(preloader.progress()))
+                .tag("state", state)
+                .description("Pokémon IDs handled by the current or last cache preload")
+                .register(registry);
+    }
+
+    private void runClaimed() {
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            AtomicLong nextId = new AtomicLong(begin());
+            log.info("Starting Pokémon cache preload for IDs {}-{} with {} workers", firstId, maxPokemon, workers);
+
+            for (int i = 0; i < workers; i++) {
+                pool.execute(() -> {
+                    long id;
+                    while (!Thread.currentThread().isInterrupted() && (id = nextId.getAndIncrement()) <= maxPokemon) {
+                        preload(id);
+                    }
+                });
+            }
+            pool.shutdown();
+            if (!pool.awaitTermination(1, TimeUnit.HOURS)) {
+                log.warn("Pokémon cache preload did not finish within an hour, stopping");
+            }
+            spriteService.prefetch();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error during cache preloading: {}", e.getMessage(), e);
+        } finally {
+            pool.shutdownNow();
+            finish();
+            running.set(false);
+        }
+    }
+
+    private void preload(long id) {
+        try {
+            if (pokemonCacheManager.isCached(id)) {
+                alreadyCached.incrementAndGet();
+                markCompleted(id);
+                return;
+            }
+            upstreamTokens.acquire();
+            if (pokemonCacheManager.getPokemonByIdWithCache(id) != null) {
+                loaded.incrementAndGet();
+                markCompleted(id);
+            } else {
+                failed.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("Failed to preload Pokémon ID {}: {}", id, e.getMessage());
+        }
+    }
+
+    private synchronized long begin() {
+        firstId = resumeFromId > maxPokemon ? 1 : resumeFromId;
+        lastGoodId = firstId - 1;
+        completed = new BitSet();
+        loaded.set(0);
+        alreadyCached.set(0);
+        failed.set(0);
+        startedAt = Instant.now();
+        finishedAt = null;
+        return firstId;
+    }
+
+    private synchronized void markCompleted(long id) {
+        completed.set((int) (id - firstId));
+        while (completed.get((int) (lastGoodId + 1 - firstId))) {
+            lastGoodId++;
+        }
+    }
+
+    private synchronized void finish() {
+        finishedAt = Instant.now();
+        resumeFromId = lastGoodId >= maxPokemon ? 1 : lastGoodId + 1;
+        log.info("Pokémon cache preload finished: {} loaded, {} already cached, {} failed; next run starts at ID {}",
+                loaded.get(), alreadyCached.get(), failed.get(), resumeFromId);
+    }
+}
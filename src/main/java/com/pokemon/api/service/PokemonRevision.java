@@ -0,0 +1,16 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.model.Pokemon;
+
+/**
+ * Answer to a conditional {@code /pokemon/{id}} request: the decoded Pokémon, or {@code null}
+ * when PokeAPI answered 304 Not Modified or sent back byte-for-byte what it sent last time.
+ *
+ * @param payloadBytes size of the body received, 0 for a 304
+ */
+public record PokemonRevision(Long id, Pokemon pokemon, int payloadBytes) {
+
+    public boolean changed() {
+        return pokemon != null;
+    }
+}
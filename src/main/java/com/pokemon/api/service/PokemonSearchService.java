@@ -0,0 +1,75 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSearchPage;
+import com.pokemon.api.store.ColumnarPokedex;
+import com.pokemon.api.store.PokedexIndex;
+import com.pokemon.api.store.PokedexQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Answers {@link PokedexQuery searches} from a {@link PokedexIndex} over whatever is in the
+ * "pokemon" cache. The index is an immutable snapshot: it is built on first use and rebuilt in
+ * the background whenever the cached entries have changed (loads, refreshes, evictions), so a
+ * search never waits on a rebuild once the first one exists.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PokemonSearchService {
+
+    private final PokemonCacheManager pokemonCacheManager;
+
+    private volatile Snapshot snapshot;
+
+    public PokemonSearchPage search(PokedexQuery query) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = rebuildIfChanged();
+        }
+        return current.index().search(query);
+    }
+
+    /**
+     * Rebuilds the index if the set of cached entries changed since the last build. Refreshed
+     * entries are new objects, so identity is enough to notice them.
+     */
+    @Scheduled(initialDelayString = "${pokeapi.search.index-refresh-interval:30000}",
+            fixedDelayString = "${pokeapi.search.index-refresh-interval:30000}")
+    public void refreshIndex() {
+        rebuildIfChanged();
+    }
+
+    private synchronized Snapshot rebuildIfChanged() {
+        List<Pokemon> cached = pokemonCacheManager.cachedPokemon();
+        long fingerprint = fingerprint(cached);
+        Snapshot current = snapshot;
+        if (current != null && current.fingerprint() == fingerprint) {
+            return current;
+        }
+
+        long start = System.nanoTime();
+        PokedexIndex index = PokedexIndex.build(ColumnarPokedex.of(cached));
+        current = new Snapshot(index, fingerprint);
+        snapshot = current;
+        log.debug("Rebuilt search index over {} Pokémon in {} µs", index.size(), (System.nanoTime() - start) / 1_000);
+        return current;
+    }
+
+    private static long fingerprint(List<Pokemon> pokemon) {
+        long hash = pokemon.size();
+        for (Pokemon entry : pokemon) {
+            // Order-independent: the cache map iterates in no particular order
+            hash += System.identityHashCode(entry) * 0x9E3779B97F4A7C15L;
+        }
+        return hash;
+    }
+
+    private record Snapshot(PokedexIndex index, long fingerprint) {
+    }
+}
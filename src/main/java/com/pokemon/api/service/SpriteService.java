@@ -0,0 +1,196 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.cache.SpriteStore;
+import com.pokemon.api.cache.SpriteStore.Sprite;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.SpriteKind;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sprite and artwork images for {@code /api/v1/pokemon/{id}/sprites/{kind}}. Each image is
+ * downloaded from the URL in the Pokémon's {@link com.pokemon.api.model.PokemonSprites} once,
+ * straight to a file, and kept in the {@link SpriteStore}; concurrent requests for an image
+ * that is not stored yet share one download.
+ * <p>
+ * With {@code pokeapi.sprites.prefetch} set, the listed kinds are also downloaded for every
+ * cached Pokémon after each preload run, so browsers never wait on the image host.
+ */
+@Slf4j
+@Service
+public class SpriteService {
+
+    private final PokemonCacheManager pokemonCacheManager;
+    private final SpriteStore spriteStore;
+    private final WebClient webClient;
+    private final List<SpriteKind> prefetchKinds;
+    private final int prefetchConcurrency;
+    private final Duration fetchTimeout;
+    private final long maxImageBytes;
+
+    private final Map<String, CompletableFuture<Sprite>> downloads = new ConcurrentHashMap<>();
+
+    public SpriteService(PokemonCacheManager pokemonCacheManager,
+                         SpriteStore spriteStore,
+                         WebClient pokeApiWebClient,
+                         @Value("${pokeapi.sprites.prefetch:}") String prefetchKinds,
+                         @Value("${pokeapi.sprites.prefetch-concurrency:4}") int prefetchConcurrency,
+                         @Value("${pokeapi.sprites.fetch-timeout:10s}") Duration fetchTimeout,
+                         @Value("${pokeapi.sprites.max-image-size:5MB}") DataSize maxImageSize) {
+        this.pokemonCacheManager = pokemonCacheManager;
+        this.spriteStore = spriteStore;
+        this.webClient = pokeApiWebClient;
+        this.prefetchKinds = Arrays.stream(prefetchKinds.split(","))
+                .map(String::trim)
+                .filter(kind -> !kind.isEmpty() && !kind.equals("none"))
+                .map(SpriteKind::fromName)
+                .toList();
+        this.prefetchConcurrency = prefetchConcurrency;
+        this.fetchTimeout = fetchTimeout;
+        this.maxImageBytes = maxImageSize.toBytes();
+    }
+
+    /**
+     * @return the stored image, empty if PokeAPI has no such Pokémon or it has no image of
+     * this kind
+     * @throws UpstreamUnavailableException or a {@link WebClientResponseException} if the image
+     *                                      is not stored and could not be downloaded
+     */
+    public Optional<Sprite> findSprite(Long id, SpriteKind kind) {
+        String key = kind.key(id);
+        Optional<Sprite> stored = spriteStore.get(key);
+        if (stored.isPresent()) {
+            return stored;
+        }
+        Pokemon pokemon;
+        try {
+            pokemon = pokemonCacheManager.getPokemonByIdWithCache(id);
+        } catch (WebClientResponseException.NotFound e) {
+            return Optional.empty();
+        }
+        String url = pokemon == null ? null : kind.url(pokemon.getSprites());
+        if (url == null) {
+            return Optional.empty();
+        }
+        return Optional.of(download(key, url).block());
+    }
+
+    /**
+     * Downloads the {@code pokeapi.sprites.prefetch} kinds of every cached Pokémon that are not
+     * stored yet, {@code pokeapi.sprites.prefetch-concurrency} at a time.
+     *
+     * @return the number of images downloaded
+     */
+    public int prefetch() {
+        if (prefetchKinds.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Long downloaded = Flux.fromIterable(pokemonCacheManager.cachedPokemon())
+                .flatMapIterable(pokemon -> prefetchKinds.stream()
+                        .filter(kind -> kind.url(pokemon.getSprites()) != null)
+                        .filter(kind -> !spriteStore.contains(kind.key(pokemon.getId())))
+                        .map(kind -> Map.entry(kind.key(pokemon.getId()), kind.url(pokemon.getSprites())))
+                        .toList())
+                .flatMap(image -> download(image.getKey(), image.getValue())
+                        .onErrorResume(e -> {
+                            log.warn("Failed to prefetch sprite {}: {}", image.getKey(), e.getMessage());
+                            return Mono.empty();
+                        }), prefetchConcurrency)
+                .count()
+                .block();
+        log.info("Prefetched {} sprites in {} ms", downloaded, (System.nanoTime() - start) / 1_000_000);
+        return downloaded.intValue();
+    }
+
+    private Mono<Sprite> download(String key, String url) {
+        CompletableFuture<Sprite> started = new CompletableFuture<>();
+        CompletableFuture<Sprite> running = downloads.putIfAbsent(key, started);
+        if (running == null) {
+            started.whenComplete((sprite, e) -> downloads.remove(key, started));
+            fetch(key, url).subscribe(started::complete, started::completeExceptionally);
+            running = started;
+        }
+        // A caller giving up does not cancel the download the others are waiting on
+        return Mono.fromFuture(running, true);
+    }
+
+    private Mono<Sprite> fetch(String key, String url) {
+        return Mono.defer(() -> {
+            Optional<Sprite> stored = spriteStore.get(key); // Finished by a download that just ended
+            if (stored.isPresent()) {
+                return Mono.just(stored.get());
+            }
+            Path file = createTempFile();
+            return webClient.get()
+                    .uri(URI.create(url))
+                    .accept(MediaType.ALL)
+                    .exchangeToMono(response -> {
+                        if (!response.statusCode().is2xxSuccessful()) {
+                            return response.createError();
+                        }
+                        MediaType contentType = response.headers().contentType().orElse(MediaType.IMAGE_PNG);
+                        // Served back from our own origin, so nothing but an image may be stored
+                        if (!contentType.getType().equals("image") || contentType.isWildcardSubtype()) {
+                            return response.releaseBody().then(Mono.error(new IllegalStateException(
+                                    "Sprite " + key + " is " + contentType + ", not an image")));
+                        }
+                        // One byte past the limit is enough to tell the image is too large
+                        Flux<DataBuffer> body = DataBufferUtils.takeUntilByteCount(
+                                response.bodyToFlux(DataBuffer.class), maxImageBytes + 1);
+                        return DataBufferUtils.write(body, file)
+                                .then(Mono.fromCallable(() -> store(key, file, contentType.toString()))
+                                        .subscribeOn(Schedulers.boundedElastic()));
+                    })
+                    .timeout(fetchTimeout)
+                    .doOnSuccess(sprite -> log.debug("Stored sprite {} ({} bytes) from {}", key, sprite.size(), url))
+                    .doFinally(signal -> deleteQuietly(file));
+        });
+    }
+
+    private Sprite store(String key, Path file, String contentType) throws IOException {
+        if (Files.size(file) > maxImageBytes) {
+            throw new IllegalStateException("Sprite " + key + " is larger than " + maxImageBytes + " bytes");
+        }
+        return spriteStore.put(key, file, contentType);
+    }
+
+    private Path createTempFile() {
+        try {
+            return spriteStore.createTempFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file); // Already moved into the store on success
+        } catch (IOException e) {
+            log.warn("Could not delete sprite download {}: {}", file, e.getMessage());
+        }
+    }
+}
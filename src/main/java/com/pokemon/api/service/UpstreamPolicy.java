@@ -0,0 +1,220 @@
+package com.pokemon.api.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * What every PokeAPI call goes through, outermost first:
+ * <ol>
+ *   <li>retry of transient failures (connection errors, timeouts, 5xx, 429) with exponential
+ *       backoff and jitter, up to {@code max-attempts} attempts;</li>
+ *   <li>optionally a hedge: if an attempt has not answered after {@code hedge.delay}, a second
+ *       identical request is sent and whichever answers first wins; the other is cancelled;</li>
+ *   <li>the {@link CircuitBreaker}, which rejects calls outright while PokeAPI keeps failing so
+ *       loads fail fast and the caches keep serving what they hold;</li>
+ *   <li>the {@link Bulkhead}, which caps upstream calls in flight across all callers;</li>
+ *   <li>a per-attempt timeout, on top of the HTTP client's connect and read timeouts
+ *       ({@code pokeapi.http.*}).</li>
+ * </ol>
+ * Only transient failures count against the breaker; a 404 or an undecodable payload means
+ * PokeAPI answered. Calls rejected by the breaker or the bulkhead fail with
+ * {@link UpstreamUnavailableException} and are not retried.
+ */
+@Slf4j
+@Component
+public class UpstreamPolicy implements MeterBinder {
+
+    private static final double JITTER = 0.5;
+    private static final int HALF_OPEN_CALLS = 3;
+
+    private final Duration attemptTimeout;
+    private final Duration hedgeDelay;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder rejectedOpen = new LongAdder();
+    private final LongAdder rejectedFull = new LongAdder();
+
+    @Autowired
+    public UpstreamPolicy(@Value("${pokeapi.resilience.attempt-timeout:4s}") Duration attemptTimeout,
+                          @Value("${pokeapi.resilience.retry.max-attempts:3}") int maxAttempts,
+                          @Value("${pokeapi.resilience.retry.initial-backoff:200ms}") Duration initialBackoff,
+                          @Value("${pokeapi.resilience.retry.max-backoff:2s}") Duration maxBackoff,
+                          @Value("${pokeapi.resilience.circuit-breaker.window-size:20}") int windowSize,
+                          @Value("${pokeapi.resilience.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                          @Value("${pokeapi.resilience.circuit-breaker.open-duration:30s}") Duration openDuration,
+                          @Value("${pokeapi.execution.max-concurrent-requests:16}") int maxConcurrent,
+                          @Value("${pokeapi.resilience.bulkhead.max-wait:10s}") Duration maxWait,
+                          @Value("${pokeapi.resilience.hedge.delay:0ms}") Duration hedgeDelay) {
+        this(Settings.builder()
+                .attemptTimeout(attemptTimeout)
+                .maxAttempts(maxAttempts)
+                .initialBackoff(initialBackoff)
+                .maxBackoff(maxBackoff)
+                .windowSize(windowSize)
+                .minimumCalls(Math.max(1, windowSize / 2))
+                .failureRateThreshold(failureRateThreshold)
+                .openDuration(openDuration)
+                .halfOpenCalls(HALF_OPEN_CALLS)
+                .maxConcurrent(maxConcurrent)
+                .maxWait(maxWait)
+                .hedgeDelay(hedgeDelay)
+                .build());
+    }
+
+    public UpstreamPolicy(Settings settings) {
+        this.attemptTimeout = settings.attemptTimeout();
+        this.hedgeDelay = settings.hedgeDelay() == null || settings.hedgeDelay().isZero() ? null : settings.hedgeDelay();
+        this.circuitBreaker = new CircuitBreaker(settings.windowSize(), settings.minimumCalls(), settings.failureRateThreshold(),
+                settings.openDuration(), settings.halfOpenCalls(), System::nanoTime);
+        this.bulkhead = new Bulkhead(settings.maxConcurrent(), settings.maxWait());
+        this.retry = Retry.backoff(settings.maxAttempts() - 1, settings.initialBackoff())
+                .maxBackoff(settings.maxBackoff())
+                .jitter(JITTER)
+                .filter(UpstreamPolicy::isTransient)
+                .doBeforeRetry(signal -> {
+                    retries.increment();
+                    log.debug("Retrying PokeAPI call after: {}", signal.failure().toString());
+                })
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        log.info("PokeAPI calls: {} attempts, breaker at {}% of {} calls, {} permits{}",
+                settings.maxAttempts(), settings.failureRateThreshold(), settings.windowSize(), settings.maxConcurrent(),
+                hedgeDelay == null ? "" : ", hedged after " + hedgeDelay);
+    }
+
+    /** Runs {@code call} (subscribed once per attempt) under the policy. */
+    public <T> Mono<T> execute(Supplier<? extends Mono<T>> call) {
+        Mono<T> attempt = hedgeDelay == null ? attempt(call, false) : hedged(call);
+        return attempt.retryWhen(retry);
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pokeapi.upstream.in.flight", bulkhead, Bulkhead::inFlight)
+                .description("Upstream calls holding a bulkhead permit")
+                .register(registry);
+        Gauge.builder("pokeapi.upstream.waiting", bulkhead, Bulkhead::waiting)
+                .description("Upstream calls waiting for a bulkhead permit")
+                .register(registry);
+        Gauge.builder("pokeapi.upstream.circuit.open", circuitBreaker, breaker -> breaker.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("1 while the PokeAPI circuit breaker is open or half-open")
+                .register(registry);
+        FunctionCounter.builder("pokeapi.upstream.retries", retries, LongAdder::sum)
+                .description("Upstream attempts retried after a transient failure")
+                .register(registry);
+        FunctionCounter.builder("pokeapi.upstream.hedges", hedges, LongAdder::sum)
+                .description("Hedge requests sent because the first attempt was slow")
+                .register(registry);
+        FunctionCounter.builder("pokeapi.upstream.rejected", rejectedOpen, LongAdder::sum)
+                .tag("reason", "circuit_open")
+                .description("Upstream calls not attempted")
+                .register(registry);
+        FunctionCounter.builder("pokeapi.upstream.rejected", rejectedFull, LongAdder::sum)
+                .tag("reason", "bulkhead_full")
+                .description("Upstream calls not attempted")
+                .register(registry);
+    }
+
+    /** Connection failures, timeouts, 5xx and 429: worth retrying, and signs of an unhealthy upstream. */
+    static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    /**
+     * The hedge is only sent while the breaker is closed and a permit is free right away, so it
+     * never queues behind other calls. An error from the first attempt ends the attempt (and
+     * goes to the retry) even if the hedge is still running.
+     */
+    private <T> Mono<T> hedged(Supplier<? extends Mono<T>> call) {
+        Mono<Signal<T>> hedge = Mono.delay(hedgeDelay)
+                .filter(ignored -> circuitBreaker.state() == CircuitBreaker.State.CLOSED)
+                .flatMap(ignored -> attempt(call, true).doOnSubscribe(s -> hedges.increment()).materialize())
+                .filter(Signal::hasValue);
+        // The first signal of the first attempt, or the hedge's value, whichever comes first; next() cancels the other
+        return Flux.merge(attempt(call, false).materialize(), hedge)
+                .next()
+                .dematerialize();
+    }
+
+    private <T> Mono<T> attempt(Supplier<? extends Mono<T>> call, boolean hedge) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                rejectedOpen.increment();
+                return Mono.error(new UpstreamUnavailableException("PokeAPI circuit breaker is open"));
+            }
+            Supplier<Mono<T>> timed = () -> call.get().timeout(attemptTimeout);
+            AtomicBoolean settled = new AtomicBoolean();
+            return (hedge ? bulkhead.tryCall(timed) : bulkhead.call(timed))
+                    .doOnSuccess(value -> {
+                        if (settled.compareAndSet(false, true)) {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (!settled.compareAndSet(false, true)) {
+                            return;
+                        }
+                        if (error instanceof UpstreamUnavailableException) {
+                            circuitBreaker.onIgnored();
+                            if (!hedge) {
+                                rejectedFull.increment();
+                            }
+                        } else if (isTransient(error)) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            circuitBreaker.onIgnored();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * @param failureRateThreshold percentage of failed calls in the breaker window that opens it
+     * @param hedgeDelay           {@code null} or zero to never hedge
+     */
+    @Builder(toBuilder = true)
+    public record Settings(Duration attemptTimeout, int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+                           int windowSize, int minimumCalls, int failureRateThreshold, Duration openDuration,
+                           int halfOpenCalls, int maxConcurrent, Duration maxWait, Duration hedgeDelay) {
+
+        /** The values application.yml ships with, hedging off. */
+        public static Settings defaults() {
+            return new Settings(Duration.ofSeconds(4), 3, Duration.ofMillis(200), Duration.ofSeconds(2),
+                    20, 10, 50, Duration.ofSeconds(30), HALF_OPEN_CALLS, 16, Duration.ofSeconds(10), null);
+        }
+    }
+}
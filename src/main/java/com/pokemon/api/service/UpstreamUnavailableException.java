@@ -0,0 +1,14 @@
+package com.pokemon.api.service;
+
+/**
+ * A PokeAPI call that was not attempted: the circuit breaker is open or no upstream permit
+ * freed up in time. Never retried; callers fall back to whatever the cache still holds.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UpstreamUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+}
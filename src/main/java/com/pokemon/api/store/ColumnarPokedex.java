@@ -0,0 +1,396 @@
+package com.pokemon.api.store;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSprites;
+import com.pokemon.api.model.PokemonStat;
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.model.StatName;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Immutable, column-oriented copy of the Pokédex.
+ * <p>
+ * Every attribute lives in its own primitive array indexed by dex position (entries are
+ * sorted by ID): types and regions are enum ordinals in {@code byte[]}s, the six base stats
+ * are packed into one {@code short[]}, and weaknesses are kept both as an ordered byte list
+ * and as an 18-bit mask for filtering. Names and sprite URLs are dictionary-encoded into a
+ * single UTF-8 heap held in a direct buffer, so the bulk of the bytes sit off-heap and the
+ * heap only holds a handful of arrays regardless of dex size.
+ * <p>
+ * Scans should use the per-column accessors; {@link #materialize(int)} builds a regular
+ * {@link Pokemon} on demand for callers that need the object form.
+ */
+@Slf4j
+public final class ColumnarPokedex {
+
+    /** Sentinel for an absent enum ordinal, numeric value or string reference. */
+    public static final int ABSENT = -1;
+
+    private static final StatName[] STATS = StatName.values();
+    private static final int STAT_COUNT = STATS.length;
+
+    private final int size;
+    private final int[] ids;
+    private final byte[] primaryTypes;
+    private final byte[] secondaryTypes;
+    private final byte[] regions;
+    private final int[] weaknessMasks;
+    private final int[] weaknessOffsets;
+    private final byte[] weaknesses;
+    private final short[] heights;
+    private final short[] weights;
+    private final short[] stats;
+    private final int[] nameRefs;
+    private final int[] frontSpriteRefs;
+    private final int[] backSpriteRefs;
+    private final int[] artworkRefs;
+    private final StringDictionary strings;
+
+    private ColumnarPokedex(Builder builder) {
+        this.size = builder.count;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.primaryTypes = Arrays.copyOf(builder.primaryTypes, size);
+        this.secondaryTypes = Arrays.copyOf(builder.secondaryTypes, size);
+        this.regions = Arrays.copyOf(builder.regions, size);
+        this.weaknessMasks = Arrays.copyOf(builder.weaknessMasks, size);
+        this.weaknessOffsets = Arrays.copyOf(builder.weaknessOffsets, size + 1);
+        this.weaknesses = Arrays.copyOf(builder.weaknesses, builder.weaknessOffsets[size]);
+        this.heights = Arrays.copyOf(builder.heights, size);
+        this.weights = Arrays.copyOf(builder.weights, size);
+        this.stats = Arrays.copyOf(builder.stats, size * STAT_COUNT);
+        this.nameRefs = Arrays.copyOf(builder.nameRefs, size);
+        this.frontSpriteRefs = Arrays.copyOf(builder.frontSpriteRefs, size);
+        this.backSpriteRefs = Arrays.copyOf(builder.backSpriteRefs, size);
+        this.artworkRefs = Arrays.copyOf(builder.artworkRefs, size);
+        this.strings = builder.strings.build();
+    }
+
+    /**
+     * Builds a store from the given entries. Entries are ordered by ID and de-duplicated
+     * (last one wins); entries that cannot be encoded (no ID, unknown type or region, more
+     * than two types) are skipped with a warning.
+     */
+    public static ColumnarPokedex of(Collection<Pokemon> pokemon) {
+        TreeMap<Long, Pokemon> byId = new TreeMap<>();
+        for (Pokemon entry : pokemon) {
+            if (entry != null && entry.getId() != null) {
+                byId.put(entry.getId(), entry);
+            }
+        }
+
+        Builder builder = new Builder(byId.size());
+        for (Pokemon entry : byId.values()) {
+            try {
+                builder.add(entry);
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping Pokémon {} in columnar store: {}", entry.getId(), e.getMessage());
+            }
+        }
+        return new ColumnarPokedex(builder);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the dex position of {@code id}, or a negative value when it is not stored
+     */
+    public int indexOf(long id) {
+        if (id < Integer.MIN_VALUE || id > Integer.MAX_VALUE) {
+            return ABSENT;
+        }
+        return Arrays.binarySearch(ids, (int) id);
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    public PokemonType primaryType(int index) {
+        return typeOf(primaryTypes[index]);
+    }
+
+    public PokemonType secondaryType(int index) {
+        return typeOf(secondaryTypes[index]);
+    }
+
+    public boolean hasType(int index, PokemonType type) {
+        int ordinal = type.ordinal();
+        return primaryTypes[index] == ordinal || secondaryTypes[index] == ordinal;
+    }
+
+    public Region region(int index) {
+        byte ordinal = regions[index];
+        return ordinal == ABSENT ? null : Region.ofOrdinal(ordinal);
+    }
+
+    /**
+     * @return the weaknesses as a bit set over {@link PokemonType#ordinal()}
+     */
+    public int weaknessMask(int index) {
+        return weaknessMasks[index];
+    }
+
+    /**
+     * @return the base stat, or {@link #ABSENT} when the entry did not carry it
+     */
+    public int baseStat(int index, StatName stat) {
+        return stats[index * STAT_COUNT + stat.ordinal()];
+    }
+
+    public int height(int index) {
+        return heights[index];
+    }
+
+    public int weight(int index) {
+        return weights[index];
+    }
+
+    public String name(int index) {
+        return strings.get(nameRefs[index]);
+    }
+
+    public Optional<Pokemon> findById(long id) {
+        int index = indexOf(id);
+        return index < 0 ? Optional.empty() : Optional.of(materialize(index));
+    }
+
+    /**
+     * Builds a fresh {@link Pokemon} for the given dex position. Type, region and weakness
+     * strings are the shared enum constants, so only the container objects are allocated.
+     */
+    public Pokemon materialize(int index) {
+        List<String> types = new ArrayList<>(2);
+        addType(types, primaryTypes[index]);
+        addType(types, secondaryTypes[index]);
+
+        List<String> weaknessNames = new ArrayList<>(weaknessOffsets[index + 1] - weaknessOffsets[index]);
+        for (int i = weaknessOffsets[index]; i < weaknessOffsets[index + 1]; i++) {
+            weaknessNames.add(PokemonType.ofOrdinal(weaknesses[i]).displayName());
+        }
+
+        List<PokemonStat> statList = new ArrayList<>(STAT_COUNT);
+        for (StatName stat : STATS) {
+            int value = baseStat(index, stat);
+            if (value != ABSENT) {
+                PokemonStat pokemonStat = new PokemonStat();
+                pokemonStat.setName(stat.apiName());
+                pokemonStat.setBaseStat(value);
+                statList.add(pokemonStat);
+            }
+        }
+
+        PokemonSprites sprites = null;
+        if (frontSpriteRefs[index] != ABSENT || backSpriteRefs[index] != ABSENT || artworkRefs[index] != ABSENT) {
+            sprites = new PokemonSprites();
+            sprites.setFrontDefault(strings.get(frontSpriteRefs[index]));
+            sprites.setBackDefault(strings.get(backSpriteRefs[index]));
+            sprites.setOfficialArtwork(strings.get(artworkRefs[index]));
+        }
+
+        Region region = region(index);
+        return new Pokemon(
+                (long) ids[index],
+                name(index),
+                types,
+                region == null ? null : region.displayName(),
+                weaknessNames,
+                sprites,
+                boxed(heights[index]),
+                boxed(weights[index]),
+                statList
+        );
+    }
+
+    /**
+     * @return bytes held outside the Java heap (the string dictionary)
+     */
+    public long offHeapBytes() {
+        return strings.capacity();
+    }
+
+    private static PokemonType typeOf(byte ordinal) {
+        return ordinal == ABSENT ? null : PokemonType.ofOrdinal(ordinal);
+    }
+
+    private static void addType(List<String> types, byte ordinal) {
+        if (ordinal != ABSENT) {
+            types.add(PokemonType.ofOrdinal(ordinal).apiName());
+        }
+    }
+
+    private static Integer boxed(short value) {
+        return value == ABSENT ? null : (int) value;
+    }
+
+    private static final class Builder {
+        private final int[] ids;
+        private final byte[] primaryTypes;
+        private final byte[] secondaryTypes;
+        private final byte[] regions;
+        private final int[] weaknessMasks;
+        private final int[] weaknessOffsets;
+        private byte[] weaknesses;
+        private final short[] heights;
+        private final short[] weights;
+        private final short[] stats;
+        private final int[] nameRefs;
+        private final int[] frontSpriteRefs;
+        private final int[] backSpriteRefs;
+        private final int[] artworkRefs;
+        private final StringDictionary.Builder strings = new StringDictionary.Builder();
+        private int count;
+
+        Builder(int capacity) {
+            ids = new int[capacity];
+            primaryTypes = new byte[capacity];
+            secondaryTypes = new byte[capacity];
+            regions = new byte[capacity];
+            weaknessMasks = new int[capacity];
+            weaknessOffsets = new int[capacity + 1];
+            weaknesses = new byte[capacity * 4];
+            heights = new short[capacity];
+            weights = new short[capacity];
+            stats = new short[capacity * STAT_COUNT];
+            nameRefs = new int[capacity];
+            frontSpriteRefs = new int[capacity];
+            backSpriteRefs = new int[capacity];
+            artworkRefs = new int[capacity];
+        }
+
+        /**
+         * Validates the whole entry before writing anything, so a rejected entry leaves no
+         * partial row behind.
+         */
+        void add(Pokemon pokemon) {
+            long id = pokemon.getId();
+            if (id < 0 || id > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("ID out of range");
+            }
+            List<String> types = pokemon.getTypes() == null ? List.of() : pokemon.getTypes();
+            if (types.size() > 2) {
+                throw new IllegalArgumentException("more than two types " + types);
+            }
+            byte primary = types.isEmpty() ? ABSENT : (byte) PokemonType.fromName(types.get(0)).ordinal();
+            byte secondary = types.size() < 2 ? ABSENT : (byte) PokemonType.fromName(types.get(1)).ordinal();
+            byte region = pokemon.getRegion() == null ? ABSENT : (byte) Region.fromName(pokemon.getRegion()).ordinal();
+
+            List<String> weaknessNames = pokemon.getWeaknesses() == null ? List.of() : pokemon.getWeaknesses();
+            byte[] weaknessOrdinals = new byte[weaknessNames.size()];
+            int mask = 0;
+            for (int i = 0; i < weaknessOrdinals.length; i++) {
+                PokemonType type = PokemonType.fromName(weaknessNames.get(i));
+                weaknessOrdinals[i] = (byte) type.ordinal();
+                mask |= 1 << type.ordinal();
+            }
+
+            short[] statRow = new short[STAT_COUNT];
+            Arrays.fill(statRow, (short) ABSENT);
+            if (pokemon.getStats() != null) {
+                for (PokemonStat stat : pokemon.getStats()) {
+                    if (stat != null && stat.getBaseStat() != null) {
+                        statRow[StatName.fromName(stat.getName()).ordinal()] = toShort(stat.getBaseStat(), "base stat");
+                    }
+                }
+            }
+            short height = pokemon.getHeight() == null ? ABSENT : toShort(pokemon.getHeight(), "height");
+            short weight = pokemon.getWeight() == null ? ABSENT : toShort(pokemon.getWeight(), "weight");
+
+            int slot = count++;
+            ids[slot] = (int) id;
+            primaryTypes[slot] = primary;
+            secondaryTypes[slot] = secondary;
+            regions[slot] = region;
+            weaknessMasks[slot] = mask;
+            int start = weaknessOffsets[slot];
+            if (start + weaknessOrdinals.length > weaknesses.length) {
+                weaknesses = Arrays.copyOf(weaknesses, Math.max(weaknesses.length * 2, start + weaknessOrdinals.length));
+            }
+            System.arraycopy(weaknessOrdinals, 0, weaknesses, start, weaknessOrdinals.length);
+            weaknessOffsets[slot + 1] = start + weaknessOrdinals.length;
+            heights[slot] = height;
+            weights[slot] = weight;
+            System.arraycopy(statRow, 0, stats, slot * STAT_COUNT, STAT_COUNT);
+            nameRefs[slot] = strings.add(pokemon.getName());
+            PokemonSprites sprites = pokemon.getSprites();
+            frontSpriteRefs[slot] = strings.add(sprites == null ? null : sprites.getFrontDefault());
+            backSpriteRefs[slot] = strings.add(sprites == null ? null : sprites.getBackDefault());
+            artworkRefs[slot] = strings.add(sprites == null ? null : sprites.getOfficialArtwork());
+        }
+
+        private static short toShort(int value, String field) {
+            if (value < 0 || value > Short.MAX_VALUE) {
+                throw new IllegalArgumentException(field + " out of range: " + value);
+            }
+            return (short) value;
+        }
+    }
+
+    /**
+     * Distinct strings stored once as UTF-8 in a direct buffer; columns hold dictionary
+     * references ({@link #ABSENT} for null).
+     */
+    private static final class StringDictionary {
+        private final ByteBuffer bytes;
+        private final int[] offsets;
+
+        private StringDictionary(ByteBuffer bytes, int[] offsets) {
+            this.bytes = bytes;
+            this.offsets = offsets;
+        }
+
+        String get(int ref) {
+            if (ref == ABSENT) {
+                return null;
+            }
+            byte[] utf8 = new byte[offsets[ref + 1] - offsets[ref]];
+            bytes.get(offsets[ref], utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        long capacity() {
+            return bytes.capacity();
+        }
+
+        private static final class Builder {
+            private final Map<String, Integer> refs = new HashMap<>();
+            private final List<byte[]> values = new ArrayList<>();
+            private int totalBytes;
+
+            int add(String value) {
+                if (value == null) {
+                    return ABSENT;
+                }
+                return refs.computeIfAbsent(value, v -> {
+                    byte[] utf8 = v.getBytes(StandardCharsets.UTF_8);
+                    values.add(utf8);
+                    totalBytes += utf8.length;
+                    return values.size() - 1;
+                });
+            }
+
+            StringDictionary build() {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(totalBytes, 1));
+                int[] offsets = new int[values.size() + 1];
+                for (int i = 0; i < values.size(); i++) {
+                    buffer.put(values.get(i));
+                    offsets[i + 1] = buffer.position();
+                }
+                return new StringDictionary(buffer.asReadOnlyBuffer(), offsets);
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.pokemon.api.store;
+
+import com.pokemon.api.model.EvolutionLine;
+import com.pokemon.api.model.EvolutionStep;
+import com.pokemon.api.model.Vocabulary;
+import com.pokemon.api.response.EvolutionChainResponse;
+import com.pokemon.api.response.EvolutionChainResponse.ChainLink;
+import com.pokemon.api.response.EvolutionChainResponse.EvolutionDetail;
+import com.pokemon.api.response.NamedResource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Every evolution chain as one immutable adjacency structure indexed by species ID, which is
+ * also the ID of the species' default Pokémon. {@code parent} and {@code chainIds} are plain
+ * {@code int} columns; the edges to later stages are stored in compressed-sparse-row form, the
+ * children of {@code id} being {@code children[childOffsets[id] .. childOffsets[id + 1])}.
+ * Names and evolution conditions are the only per-species objects.
+ * <p>
+ * Walking a chain is array indexing only; the tree handed out by {@link #line} is built per
+ * call and is a handful of small objects.
+ */
+public final class EvolutionGraph {
+
+    public static final EvolutionGraph EMPTY = of(List.of());
+
+    private final int[] parent;
+    private final int[] chainIds;
+    private final int[] childOffsets;
+    private final int[] children;
+    private final String[] names;
+    private final EvolutionStep[] steps;
+    private final int size;
+    private final int chains;
+
+    private EvolutionGraph(int[] parent, int[] chainIds, int[] childOffsets, int[] children, String[] names,
+                           EvolutionStep[] steps, int size, int chains) {
+        this.parent = parent;
+        this.chainIds = chainIds;
+        this.childOffsets = childOffsets;
+        this.children = children;
+        this.names = names;
+        this.steps = steps;
+        this.size = size;
+        this.chains = chains;
+    }
+
+    public static EvolutionGraph of(Collection<EvolutionChainResponse> chainResponses) {
+        List<Species> species = new ArrayList<>();
+        int chains = 0;
+        for (EvolutionChainResponse chain : chainResponses) {
+            if (chain == null || chain.getChain() == null) {
+                continue;
+            }
+            chains++;
+            Deque<Species> pending = new ArrayDeque<>();
+            pending.add(new Species(chain.getChain(), 0, chain.getId().intValue()));
+            while (!pending.isEmpty()) {
+                Species next = pending.poll();
+                species.add(next);
+                if (next.link().getEvolvesTo() != null) {
+                    for (ChainLink child : next.link().getEvolvesTo()) {
+                        pending.add(new Species(child, next.id(), next.chainId()));
+                    }
+                }
+            }
+        }
+
+        int maxId = species.stream().mapToInt(Species::id).max().orElse(0);
+        int[] parent = new int[maxId + 1];
+        int[] chainIds = new int[maxId + 1];
+        int[] childOffsets = new int[maxId + 2];
+        String[] names = new String[maxId + 1];
+        EvolutionStep[] steps = new EvolutionStep[maxId + 1];
+        for (Species entry : species) {
+            parent[entry.id()] = entry.parentId();
+            chainIds[entry.id()] = entry.chainId();
+            names[entry.id()] = Vocabulary.capitalize(entry.link().getSpecies().getName());
+            steps[entry.id()] = step(entry.link().getEvolutionDetails());
+            if (entry.parentId() != 0) {
+                childOffsets[entry.parentId() + 1]++;
+            }
+        }
+        // Counts to offsets; species are visited breadth-first, so children keep the chain's order
+        for (int id = 1; id < childOffsets.length; id++) {
+            childOffsets[id] += childOffsets[id - 1];
+        }
+        int[] children = new int[childOffsets[maxId + 1]];
+        int[] cursor = Arrays.copyOf(childOffsets, maxId + 1);
+        for (Species entry : species) {
+            if (entry.parentId() != 0) {
+                children[cursor[entry.parentId()]++] = entry.id();
+            }
+        }
+        return new EvolutionGraph(parent, chainIds, childOffsets, children, names, steps, species.size(), chains);
+    }
+
+    /** Number of species in the graph. */
+    public int size() {
+        return size;
+    }
+
+    public int chains() {
+        return chains;
+    }
+
+    public boolean contains(long id) {
+        return id > 0 && id < chainIds.length && chainIds[(int) id] != 0;
+    }
+
+    /** The species {@code id} evolves from, or 0 for a base species or an unknown ID. */
+    public long parentOf(long id) {
+        return contains(id) ? parent[(int) id] : 0;
+    }
+
+    /** {@code id}'s neighbours and its whole chain, or {@code null} if the graph does not have it. */
+    public EvolutionLine line(long id) {
+        if (!contains(id)) {
+            return null;
+        }
+        int species = (int) id;
+        int root = species;
+        while (parent[root] != 0) {
+            root = parent[root];
+        }
+        List<Long> evolvesTo = new ArrayList<>(childOffsets[species + 1] - childOffsets[species]);
+        for (int i = childOffsets[species]; i < childOffsets[species + 1]; i++) {
+            evolvesTo.add((long) children[i]);
+        }
+        return new EvolutionLine(id, (long) chainIds[species], parent[species] == 0 ? null : (long) parent[species],
+                List.copyOf(evolvesTo), node(root));
+    }
+
+    private EvolutionLine.Node node(int id) {
+        List<EvolutionLine.Node> next = new ArrayList<>(childOffsets[id + 1] - childOffsets[id]);
+        for (int i = childOffsets[id]; i < childOffsets[id + 1]; i++) {
+            next.add(node(children[i]));
+        }
+        return new EvolutionLine.Node((long) id, names[id], steps[id], List.copyOf(next));
+    }
+
+    private static EvolutionStep step(List<EvolutionDetail> details) {
+        if (details == null || details.isEmpty()) {
+            return null;
+        }
+        EvolutionDetail detail = details.get(0);
+        return new EvolutionStep(name(detail.getTrigger()), detail.getMinLevel(), name(detail.getItem()),
+                name(detail.getHeldItem()), detail.getMinHappiness(),
+                detail.getTimeOfDay() == null || detail.getTimeOfDay().isEmpty() ? null : detail.getTimeOfDay(),
+                name(detail.getKnownMove()));
+    }
+
+    private static String name(NamedResource resource) {
+        return resource == null ? null : resource.getName();
+    }
+
+    private record Species(ChainLink link, int parentId, int chainId) {
+
+        int id() {
+            return link.getSpecies().id().intValue();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.pokemon.api.store;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSearchPage;
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.model.StatName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Secondary indexes over a {@link ColumnarPokedex}: one bitset of dex positions per type,
+ * region and weakness, and per stat the positions sorted by {@code (value, id)}. A query
+ * ANDs/ORs bitsets, turns stat ranges into bitsets with two binary searches, then walks the
+ * requested order picking set bits until the page is full, so only the returned page is
+ * materialized.
+ * <p>
+ * Cursors encode the sort and the {@code (value, id)} key of the last returned entry, so they
+ * stay valid (and never repeat or skip an unchanged entry) across index rebuilds.
+ */
+public final class PokedexIndex {
+
+    private static final PokemonType[] TYPES = PokemonType.values();
+    private static final Region[] REGIONS = Region.values();
+    private static final StatName[] STATS = StatName.values();
+    private static final String CURSOR_VERSION = "v1";
+
+    private final ColumnarPokedex dex;
+    private final BitSet all;
+    private final BitSet[] byType;
+    private final BitSet[] byRegion;
+    private final BitSet[] byWeakness;
+    private final Order byId;
+    private final Order[] byStat;
+
+    private PokedexIndex(ColumnarPokedex dex) {
+        int size = dex.size();
+        this.dex = dex;
+        this.all = new BitSet(size);
+        all.set(0, size);
+        this.byType = bitsets(TYPES.length, size);
+        this.byRegion = bitsets(REGIONS.length, size);
+        this.byWeakness = bitsets(TYPES.length, size);
+
+        long[] idKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            for (PokemonType type : TYPES) {
+                if (dex.hasType(i, type)) {
+                    byType[type.ordinal()].set(i);
+                }
+            }
+            Region region = dex.region(i);
+            if (region != null) {
+                byRegion[region.ordinal()].set(i);
+            }
+            int weaknesses = dex.weaknessMask(i);
+            for (int t = 0; t < TYPES.length; t++) {
+                if ((weaknesses & 1 << t) != 0) {
+                    byWeakness[t].set(i);
+                }
+            }
+            idKeys[i] = key(dex.id(i), dex.id(i));
+        }
+        this.byId = Order.sorted(idKeys, dex);
+
+        this.byStat = new Order[STATS.length];
+        for (StatName stat : STATS) {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = key(dex.baseStat(i, stat), dex.id(i));
+            }
+            byStat[stat.ordinal()] = Order.sorted(keys, dex);
+        }
+    }
+
+    public static PokedexIndex build(ColumnarPokedex dex) {
+        return new PokedexIndex(dex);
+    }
+
+    public int size() {
+        return dex.size();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    public PokemonSearchPage search(PokedexQuery query) {
+        BitSet matches = matching(query);
+        int total = matches.cardinality();
+
+        PokedexQuery.Sort sort = query.sort();
+        Order order = sort.stat() == null ? byId : byStat[sort.stat().ordinal()];
+        int step = sort.descending() ? -1 : 1;
+        int start = sort.descending() ? order.size() - 1 : 0;
+        if (query.cursor() != null) {
+            start = order.after(decodeCursor(query.cursor(), sort), sort.descending());
+        }
+
+        List<Pokemon> page = new ArrayList<>(Math.min(query.limit(), total));
+        int k = start;
+        for (; k >= 0 && k < order.size() && page.size() < query.limit(); k += step) {
+            int position = order.positions[k];
+            if (matches.get(position)) {
+                page.add(dex.materialize(position));
+            }
+        }
+
+        String nextCursor = null;
+        if (page.size() == query.limit()) {
+            for (int rest = k; rest >= 0 && rest < order.size(); rest += step) {
+                if (matches.get(order.positions[rest])) {
+                    nextCursor = encodeCursor(sort, order.keys[k - step]);
+                    break;
+                }
+            }
+        }
+        return new PokemonSearchPage(page, total, nextCursor);
+    }
+
+    private BitSet matching(PokedexQuery query) {
+        BitSet matches = (BitSet) all.clone();
+        if (!query.types().isEmpty()) {
+            matches.and(combine(byType, query.types(), query.typeMatch()));
+        }
+        if (!query.regions().isEmpty()) {
+            BitSet regions = new BitSet(dex.size());
+            for (Region region : query.regions()) {
+                regions.or(byRegion[region.ordinal()]);
+            }
+            matches.and(regions);
+        }
+        if (!query.weaknesses().isEmpty()) {
+            matches.and(combine(byWeakness, query.weaknesses(), query.weaknessMatch()));
+        }
+        for (PokedexQuery.StatRange range : query.statRanges()) {
+            matches.and(byStat[range.stat().ordinal()].range(range.min(), range.max(), dex.size()));
+        }
+        return matches;
+    }
+
+    private BitSet combine(BitSet[] index, Set<PokemonType> types, PokedexQuery.Match match) {
+        BitSet combined = match == PokedexQuery.Match.ALL ? (BitSet) all.clone() : new BitSet(dex.size());
+        for (PokemonType type : types) {
+            if (match == PokedexQuery.Match.ALL) {
+                combined.and(index[type.ordinal()]);
+            } else {
+                combined.or(index[type.ordinal()]);
+            }
+        }
+        return combined;
+    }
+
+    /** Packs {@code (value, id)} so that signed long order is value order, then ID order. */
+    private static long key(int value, int id) {
+        return (long) value << 32 | (id & 0xFFFFFFFFL);
+    }
+
+    private static String encodeCursor(PokedexQuery.Sort sort, long key) {
+        String raw = CURSOR_VERSION + ":" + sort + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor, PokedexQuery.Sort sort) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        String[] parts = raw.split(":");
+        if (parts.length != 3 || !parts[0].equals(CURSOR_VERSION)) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (!parts[1].equals(sort.toString())) {
+            throw new IllegalArgumentException("Cursor was issued for sort '" + parts[1] + "'");
+        }
+        try {
+            return Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+
+    private static BitSet[] bitsets(int count, int size) {
+        BitSet[] bitsets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitsets[i] = new BitSet(size);
+        }
+        return bitsets;
+    }
+
+    /** Dex positions sorted ascending by their packed key. */
+    private static final class Order {
+        final long[] keys;
+        final int[] positions;
+
+        private Order(long[] keys, int[] positions) {
+            this.keys = keys;
+            this.positions = positions;
+        }
+
+        /** Keys are unique because IDs are, so each key maps back to exactly one position. */
+        static Order sorted(long[] keysByPosition, ColumnarPokedex dex) {
+            long[] keys = keysByPosition.clone();
+            Arrays.sort(keys);
+            int[] positions = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                positions[i] = dex.indexOf((int) keys[i]);
+            }
+            return new Order(keys, positions);
+        }
+
+        int size() {
+            return positions.length;
+        }
+
+        /** The first index strictly after {@code key} in walking direction. */
+        int after(long key, boolean descending) {
+            int found = Arrays.binarySearch(keys, key);
+            int insertion = found >= 0 ? found : -found - 1;
+            if (descending) {
+                return insertion - 1;
+            }
+            return found >= 0 ? found + 1 : insertion;
+        }
+
+        /** Positions whose value lies in {@code [min, max]}; IDs are never negative. */
+        BitSet range(int min, int max, int size) {
+            int from = lowerBound(key(min, 0));
+            // max + 1 would wrap to Integer.MIN_VALUE and select nothing
+            int to = max == Integer.MAX_VALUE ? keys.length : lowerBound(key(max + 1, 0));
+            BitSet result = new BitSet(size);
+            for (int k = from; k < to; k++) {
+                result.set(positions[k]);
+            }
+            return result;
+        }
+
+        private int lowerBound(long key) {
+            int found = Arrays.binarySearch(keys, key);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pokemon.api.store;
+
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.model.StatName;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A search over the {@link PokedexIndex}. Filters on different attributes are ANDed;
+ * within types and weaknesses, {@link Match} picks AND or OR, and regions are always ORed.
+ * Paging is keyset-based: {@code cursor} is the opaque {@code nextCursor} of the previous page.
+ */
+@Builder
+public record PokedexQuery(
+        Set<PokemonType> types,
+        Match typeMatch,
+        Set<Region> regions,
+        Set<PokemonType> weaknesses,
+        Match weaknessMatch,
+        List<StatRange> statRanges,
+        Sort sort,
+        int limit,
+        String cursor
+) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 200;
+
+    public PokedexQuery {
+        types = types == null ? Set.of() : Set.copyOf(types);
+        typeMatch = typeMatch == null ? Match.ANY : typeMatch;
+        regions = regions == null ? Set.of() : Set.copyOf(regions);
+        weaknesses = weaknesses == null ? Set.of() : Set.copyOf(weaknesses);
+        weaknessMatch = weaknessMatch == null ? Match.ANY : weaknessMatch;
+        statRanges = statRanges == null ? List.of() : List.copyOf(statRanges);
+        sort = sort == null ? Sort.BY_ID : sort;
+        if (limit == 0) {
+            limit = DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    public enum Match {
+        ANY, ALL;
+
+        public static Match parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Match must be 'any' or 'all': " + value);
+            }
+        }
+    }
+
+    /**
+     * Inclusive base-stat range, written {@code attack:100..150}; either bound may be
+     * left out ({@code speed:100..}, {@code hp:..50}).
+     */
+    public record StatRange(StatName stat, int min, int max) {
+
+        public StatRange {
+            if (min > max) {
+                throw new IllegalArgumentException("Empty range for " + stat.apiName() + ": " + min + ".." + max);
+            }
+        }
+
+        public static StatRange parse(String value) {
+            int colon = value.indexOf(':');
+            int dots = value.indexOf("..", colon + 1);
+            if (colon < 0 || dots < 0) {
+                throw new IllegalArgumentException("Stat range must look like 'attack:100..150': " + value);
+            }
+            StatName stat = StatName.fromName(value.substring(0, colon).trim());
+            String min = value.substring(colon + 1, dots).trim();
+            String max = value.substring(dots + 2).trim();
+            try {
+                return new StatRange(stat,
+                        min.isEmpty() ? 0 : Integer.parseInt(min),
+                        max.isEmpty() ? Short.MAX_VALUE : Integer.parseInt(max));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid stat range bound: " + value);
+            }
+        }
+    }
+
+    /**
+     * Sort order, written {@code id}, {@code speed} or {@code speed,desc}. Ties on a stat are
+     * broken by ID in the same direction. {@code stat} is null when sorting by ID.
+     */
+    public record Sort(StatName stat, boolean descending) {
+
+        public static final Sort BY_ID = new Sort(null, false);
+
+        public static Sort parse(String value) {
+            String[] parts = value.split(",");
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Sort must look like 'speed' or 'speed,desc': " + value);
+            }
+            boolean descending = false;
+            if (parts.length == 2) {
+                String direction = parts[1].trim().toLowerCase(Locale.ROOT);
+                if (!direction.equals("asc") && !direction.equals("desc")) {
+                    throw new IllegalArgumentException("Sort direction must be 'asc' or 'desc': " + value);
+                }
+                descending = direction.equals("desc");
+            }
+            String field = parts[0].trim();
+            return new Sort(field.equalsIgnoreCase("id") ? null : StatName.fromName(field), descending);
+        }
+
+        @Override
+        public String toString() {
+            return (stat == null ? "id" : stat.apiName()) + (descending ? ",desc" : ",asc");
+        }
+    }
+}
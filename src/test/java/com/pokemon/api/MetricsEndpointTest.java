@@ -0,0 +1,42 @@
+package com.pokemon.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"pokeapi.sync.enabled=false", "pokeapi.snapshot.enabled=false"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpointExposesCacheUpstreamEndpointAndExecutorMetrics() throws Exception {
+        mockMvc.perform(get("/api/v1/pokemon/search")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"pokemon\"")))
+                .andExpect(content().string(containsString("cache_evictions_total{cache=\"pokemonList\"")))
+                .andExpect(content().string(containsString("cache_refresh_stale_hits_total{cache=\"pokemon\"")))
+                .andExpect(content().string(containsString("pokemon_cache_batch_seconds_bucket")))
+                .andExpect(content().string(containsString("pokeapi_upstream_in_flight")))
+                .andExpect(content().string(containsString("pokeapi_upstream_waiting")))
+                .andExpect(content().string(containsString("tomcat_threads_busy_threads")))
+                .andExpect(content().string(containsString("tomcat_threads_queued{name=\"http-nio-")))
+                .andExpect(content().string(containsString("executor_queued_tasks{name=\"taskScheduler\"")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("http_server_requests_active_seconds")));
+    }
+}
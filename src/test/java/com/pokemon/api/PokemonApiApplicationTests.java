@@ -1,13 +1,30 @@
 package com.pokemon.api;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
-@SpringBootTest
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"pokeapi.sync.enabled=false", "pokeapi.snapshot.enabled=false"})
 class PokemonApiApplicationTests {
 
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    private ScheduledAnnotationBeanPostProcessor scheduledTasks;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void scheduledJobs_ShouldNotWaitForEachOther() {
+        // The preload and evolution jobs block for minutes; a shared thread would stall the others
+        assertThat(taskScheduler.getPoolSize()).isGreaterThanOrEqualTo(scheduledTasks.getScheduledTasks().size());
+    }
+
 }
@@ -0,0 +1,87 @@
+package com.pokemon.api.benchmark;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonStat;
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.model.StatName;
+import com.pokemon.api.store.ColumnarPokedex;
+import com.pokemon.api.support.PokemonFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@code pokemonList} cache entry (a {@code List<Pokemon>} of the full dex)
+ * with {@link ColumnarPokedex}: a filtered scan over both layouts, plus the cost of
+ * materializing one entry. Heap footprint of both is printed once per fork.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=ColumnarPokedexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarPokedexBenchmark {
+
+    private List<Pokemon> pokemonList;
+    private ColumnarPokedex columnar;
+
+    @Setup
+    public void setUp() {
+        pokemonList = PokemonFixtures.dex();
+        columnar = ColumnarPokedex.of(pokemonList);
+
+        System.out.printf("%nHeap footprint for %d Pokémon: List<Pokemon> %,d B, ColumnarPokedex %,d B (+%,d B off-heap)%n",
+                pokemonList.size(),
+                GraphLayout.parseInstance(pokemonList).totalSize(),
+                GraphLayout.parseInstance(columnar).totalSize(),
+                columnar.offHeapBytes());
+    }
+
+    /** Total attack of Kanto fire types, the way it has to be done against the object graph. */
+    @Benchmark
+    public long scanObjectList() {
+        long total = 0;
+        for (Pokemon pokemon : pokemonList) {
+            if (Region.KANTO.displayName().equals(pokemon.getRegion()) && pokemon.getTypes().contains(PokemonType.FIRE.apiName())) {
+                for (PokemonStat stat : pokemon.getStats()) {
+                    if (StatName.ATTACK.apiName().equals(stat.getName())) {
+                        total += stat.getBaseStat();
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long scanColumns() {
+        long total = 0;
+        for (int i = 0; i < columnar.size(); i++) {
+            if (columnar.region(i) == Region.KANTO && columnar.hasType(i, PokemonType.FIRE)) {
+                total += columnar.baseStat(i, StatName.ATTACK);
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Pokemon materializeOne() {
+        return columnar.materialize(columnar.indexOf(493));
+    }
+}
@@ -0,0 +1,91 @@
+package com.pokemon.api.benchmark;
+
+import com.pokemon.api.config.WebClientConfig;
+import com.pokemon.api.config.WebClientConfig.HttpClientSettings;
+import com.pokemon.api.support.MockPokeApiServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code /pokemon/{id}} call, and a page of 16 concurrent ones, against a local
+ * {@link MockPokeApiServer}: through the pooled client from {@link WebClientConfig}, and with
+ * a fresh connection per request. The difference is the TCP setup that keep-alive saves;
+ * against pokeapi.co a TLS handshake and a round trip or two come on top.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=HttpConnectionReuseBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpConnectionReuseBenchmark {
+
+    private static final int PAGE = 16;
+
+    @Param({"pooled", "new-connection"})
+    public String connections;
+
+    @Param({"true", "false"})
+    public boolean compression;
+
+    private MockPokeApiServer upstream;
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @Setup
+    public void setUp() {
+        upstream = new MockPokeApiServer();
+        HttpClientSettings settings = HttpClientSettings.defaults().toBuilder()
+                .http2(false)
+                .compression(compression)
+                .build();
+        connectionProvider = connections.equals("pooled")
+                ? WebClientConfig.connectionProvider("benchmark", settings)
+                : ConnectionProvider.newConnection();
+        webClient = WebClient.builder()
+                .baseUrl(upstream.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(WebClientConfig.httpClient(connectionProvider, settings)))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionProvider.dispose();
+        upstream.close();
+    }
+
+    @Benchmark
+    public byte[] single() {
+        return fetch(25);
+    }
+
+    @Benchmark
+    public int page() {
+        return Flux.range(1, PAGE)
+                .flatMap(id -> webClient.get().uri("/pokemon/{id}", id).retrieve().bodyToMono(byte[].class))
+                .reduce(0, (total, body) -> total + body.length)
+                .block();
+    }
+
+    private byte[] fetch(int id) {
+        return webClient.get().uri("/pokemon/{id}", id).retrieve().bodyToMono(byte[].class).block();
+    }
+}
@@ -0,0 +1,97 @@
+package com.pokemon.api.benchmark;
+
+import com.pokemon.api.cache.CacheRefreshStats;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.service.PokeApiService;
+import com.pokemon.api.service.PokemonCacheManager;
+import com.pokemon.api.service.UpstreamPolicy;
+import com.pokemon.api.support.PokemonFixtures;
+import com.pokemon.api.support.TestCacheManagers;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Cost of the metrics on the cache hot paths: the same warm lookups with a no-op registry
+ * and with a Prometheus registry configured like the application (percentile histograms on,
+ * Caffeine stats and refresh counters bound). The difference between the two is the
+ * instrumentation overhead.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=MetricsOverheadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    @Param({"noop", "prometheus"})
+    public String registry;
+
+    private PokeApiService pokeApiService;
+    private PokemonCacheManager cacheManager;
+    private List<Long> pageIds;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry meterRegistry = registry.equals("prometheus") ? prometheus() : new CompositeMeterRegistry();
+        pokeApiService = new PokeApiService(WebClient.create("http://localhost"),
+                new UpstreamPolicy(UpstreamPolicy.Settings.defaults())) {
+            @Override
+            public Flux<Pokemon> fetchPokemonByIds(Collection<Long> ids) {
+                return Flux.fromIterable(ids).map(PokemonFixtures::pokemon);
+            }
+        };
+        CacheRefreshStats refreshStats = new CacheRefreshStats();
+        refreshStats.bindTo(meterRegistry);
+        cacheManager = new PokemonCacheManager(TestCacheManagers.caffeine(pokeApiService, refreshStats),
+                refreshStats, meterRegistry);
+        pageIds = LongStream.rangeClosed(1, 100).boxed().toList();
+        cacheManager.getPokemonBatchWithCache(pageIds);
+    }
+
+    @Benchmark
+    public Pokemon hit() {
+        return cacheManager.getPokemonByIdWithCache(25L);
+    }
+
+    @Benchmark
+    public List<Pokemon> batch() {
+        return cacheManager.getPokemonBatchWithCache(pageIds);
+    }
+
+    private static MeterRegistry prometheus() {
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        prometheus.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        return prometheus;
+    }
+}
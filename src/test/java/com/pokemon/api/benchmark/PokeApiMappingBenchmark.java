@@ -0,0 +1,69 @@
+package com.pokemon.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.response.PokeApiResponse;
+import com.pokemon.api.service.PokeApiService;
+import com.pokemon.api.service.UpstreamPolicy;
+import com.pokemon.api.support.PokemonFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-Pokémon work on the upstream path: decoding a recorded PokeAPI payload (~177 KB,
+ * mostly move and game data we never use) with the token-streaming
+ * {@link PokeApiService#decodePokemon}, against binding it to {@link PokeApiResponse} and
+ * mapping that as the service used to ({@link PokemonFixtures#fromResponse}). Add
+ * {@code -prof gc} to the JMH arguments to see allocation per operation.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=PokeApiMappingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PokeApiMappingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PokeApiService pokeApiService;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = PokemonFixtures.objectMapper();
+        pokeApiService = new PokeApiService(WebClient.create("http://localhost"),
+                new UpstreamPolicy(UpstreamPolicy.Settings.defaults()));
+        payload = PokemonFixtures.pokeApiJson();
+    }
+
+    @Benchmark
+    public PokeApiResponse deserialize() throws IOException {
+        return objectMapper.readValue(payload, PokeApiResponse.class);
+    }
+
+    @Benchmark
+    public Pokemon deserializeAndMap() throws IOException {
+        return PokemonFixtures.fromResponse(objectMapper.readValue(payload, PokeApiResponse.class));
+    }
+
+    /** What {@link PokeApiService#fetchPokemonById} does now: token streaming straight to the model. */
+    @Benchmark
+    public Pokemon streamingDecode() throws IOException {
+        return pokeApiService.decodePokemon(new ByteArrayInputStream(payload));
+    }
+}
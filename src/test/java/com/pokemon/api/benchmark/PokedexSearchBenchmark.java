@@ -0,0 +1,72 @@
+package com.pokemon.api.benchmark;
+
+import com.pokemon.api.model.PokemonSearchPage;
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.store.ColumnarPokedex;
+import com.pokemon.api.store.PokedexIndex;
+import com.pokemon.api.store.PokedexQuery;
+import com.pokemon.api.support.PokemonFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over the full 1025-entry dex, including materializing the returned page.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=PokedexSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PokedexSearchBenchmark {
+
+    private PokedexIndex index;
+    private PokedexQuery fireInKanto;
+    private PokedexQuery fastestWithWeaknesses;
+
+    @Setup
+    public void setUp() {
+        index = PokedexIndex.build(ColumnarPokedex.of(PokemonFixtures.dex()));
+        fireInKanto = PokedexQuery.builder()
+                .types(Set.of(PokemonType.FIRE))
+                .regions(Set.of(Region.KANTO))
+                .build();
+        fastestWithWeaknesses = PokedexQuery.builder()
+                .weaknesses(Set.of(PokemonType.ROCK, PokemonType.ICE))
+                .statRanges(List.of(PokedexQuery.StatRange.parse("attack:80..")))
+                .sort(PokedexQuery.Sort.parse("speed,desc"))
+                .limit(50)
+                .build();
+    }
+
+    @Benchmark
+    public PokemonSearchPage typeAndRegion() {
+        return index.search(fireInKanto);
+    }
+
+    @Benchmark
+    public PokemonSearchPage weaknessRangeAndSort() {
+        return index.search(fastestWithWeaknesses);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PokedexIndex rebuild() {
+        return PokedexIndex.build(ColumnarPokedex.of(PokemonFixtures.dex()));
+    }
+}
@@ -0,0 +1,107 @@
+package com.pokemon.api.benchmark;
+
+import com.pokemon.api.cache.CacheRefreshStats;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.service.PokeApiService;
+import com.pokemon.api.service.PokemonCacheManager;
+import com.pokemon.api.service.PokemonCacheService;
+import com.pokemon.api.service.UpstreamPolicy;
+import com.pokemon.api.support.PokemonFixtures;
+import com.pokemon.api.support.TestCacheManagers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * The cache layer with the upstream replaced by an in-memory stub, so only Caffeine,
+ * Reactor and our own bookkeeping are measured:
+ * <ul>
+ *     <li>{@code hit}: a warm single lookup through {@link PokemonCacheManager}</li>
+ *     <li>{@code miss}: a lookup of an ID never seen before (load, insert and, once the cache
+ *     is full, eviction)</li>
+ *     <li>{@code batch*}: assembling a warm 100-entry page, at the manager and at the
+ *     {@link PokemonCacheService#getPokemonBatch} level the controller calls</li>
+ * </ul>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=PokemonCacheBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PokemonCacheBenchmark {
+
+    private static final int PAGE = 100;
+
+    private StubPokeApiService pokeApiService;
+    private PokemonCacheManager cacheManager;
+    private PokemonCacheService cacheService;
+    private List<Long> pageIds;
+    private long nextMissId;
+
+    @Setup
+    public void setUp() {
+        pokeApiService = new StubPokeApiService();
+        cacheManager = new PokemonCacheManager(TestCacheManagers.caffeine(pokeApiService), new CacheRefreshStats(), new SimpleMeterRegistry());
+        cacheService = new PokemonCacheService(cacheManager, null, null);
+        pageIds = LongStream.rangeClosed(1, PAGE).boxed().toList();
+        cacheManager.getPokemonBatchWithCache(pageIds);
+        nextMissId = 1_000_000;
+    }
+
+    @Benchmark
+    public Pokemon hit() {
+        return cacheManager.getPokemonByIdWithCache(25L);
+    }
+
+    @Benchmark
+    public Pokemon miss() {
+        return cacheManager.getPokemonByIdWithCache(nextMissId++);
+    }
+
+    @Benchmark
+    public List<Pokemon> batchFromManager() {
+        return cacheManager.getPokemonBatchWithCache(pageIds);
+    }
+
+    @Benchmark
+    public List<Pokemon> batchFromService() {
+        return cacheService.getPokemonBatch(0, PAGE);
+    }
+
+    /** Answers every ID with the same prebuilt Pokémon, synchronously. */
+    private static final class StubPokeApiService extends PokeApiService {
+        private final Pokemon pokemon = PokemonFixtures.pokemon(25);
+
+        StubPokeApiService() {
+            super(WebClient.create("http://localhost"), new UpstreamPolicy(UpstreamPolicy.Settings.defaults()));
+        }
+
+        @Override
+        public Mono<Pokemon> fetchPokemonById(Long id) {
+            return Mono.just(pokemon);
+        }
+
+        @Override
+        public Flux<Pokemon> fetchPokemonByIds(Collection<Long> ids) {
+            return Flux.fromIterable(ids).map(id -> PokemonFixtures.pokemon(id));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.pokemon.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pokemon.api.cache.SerializedResponseCache;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.support.PokemonFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies for one Pokémon and for a 100-entry page: plain Jackson, as a controller
+ * returning the objects would do, against the pre-serialized {@link SerializedResponseCache}.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -Djmh.args=ResponseSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private SerializedResponseCache responseCache;
+    private Pokemon pokemon;
+    private List<Pokemon> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = PokemonFixtures.objectMapper();
+        responseCache = new SerializedResponseCache(objectMapper, true, DataSize.ofMegabytes(8));
+        pokemon = PokemonFixtures.pokemon(25);
+        page = PokemonFixtures.dex(100);
+    }
+
+    @Benchmark
+    public byte[] jacksonSingle() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pokemon);
+    }
+
+    @Benchmark
+    public byte[] jacksonPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cachedSingle() {
+        return responseCache.single(pokemon).json();
+    }
+
+    @Benchmark
+    public byte[] cachedPage() {
+        return responseCache.page(page).json();
+    }
+}
@@ -0,0 +1,46 @@
+package com.pokemon.api.cache;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.response.EvolutionChainResponse;
+import com.pokemon.api.support.PokemonFixtures;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EntryWeigherTest {
+
+    @Test
+    void estimate_ShouldStayCloseToMeasuredFootprint() {
+        // given: the type, stat and region names in the fixtures are shared constants, as in
+        // production, so over a whole dex they add next to nothing per entry
+        List<Pokemon> dex = PokemonFixtures.dex(500);
+        EvolutionChainResponse eevee = PokemonFixtures.evolutionChain(67);
+
+        // when
+        long dexEstimate = EntryWeigher.estimate(dex);
+        long eeveeEstimate = EntryWeigher.estimate(eevee);
+
+        // then
+        assertThat((double) dexEstimate).isCloseTo(GraphLayout.parseInstance(dex).totalSize(), within(0.1 * dexEstimate));
+        assertThat((double) eeveeEstimate).isCloseTo(GraphLayout.parseInstance(eevee).totalSize(), within(0.1 * eeveeEstimate));
+    }
+
+    @Test
+    void weigh_ShouldWeighAListAsEverythingInIt() {
+        // given
+        List<Pokemon> dex = PokemonFixtures.dex(100);
+        long single = EntryWeigher.estimate(dex.get(0));
+
+        // when
+        int list = EntryWeigher.INSTANCE.weigh("all", dex);
+
+        // then
+        assertThat(list).isGreaterThan(90 * (int) single);
+        assertThat(EntryWeigher.INSTANCE.weigh(1L, Map.of())).isEqualTo(EntryWeigher.UNKNOWN_BYTES);
+    }
+}
@@ -0,0 +1,166 @@
+package com.pokemon.api.cache;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSprites;
+import com.pokemon.api.model.PokemonStat;
+import com.pokemon.api.service.PokeApiService;
+import com.pokemon.api.support.TestCacheManagers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PokemonSnapshotStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private final PokeApiService pokeApiService = mock(PokeApiService.class);
+    private Path snapshot;
+    private CacheManager sourceCacheManager;
+
+    @BeforeEach
+    void setup() {
+        snapshot = tempDir.resolve("pokemon-cache.snapshot");
+        sourceCacheManager = TestCacheManagers.caffeine(pokeApiService);
+        sourceCacheManager.getCache("pokemon").put(1L, bulbasaur());
+        sourceCacheManager.getCache("pokemon").put(25L, new Pokemon(25L, "Pikachu"));
+    }
+
+    @Test
+    void restore_ShouldLoadEverySnapshottedPokemon() {
+        // given
+        store(sourceCacheManager, NOW).write();
+        CacheManager restartedCacheManager = TestCacheManagers.caffeine(pokeApiService);
+
+        // when
+        int restored = store(restartedCacheManager, NOW.plus(Duration.ofHours(1))).restore();
+
+        // then
+        assertThat(restored).isEqualTo(2);
+        assertThat(TestCacheManagers.cachedValue(restartedCacheManager, "pokemon", 1L)).isEqualTo(bulbasaur());
+        assertThat(TestCacheManagers.cachedValue(restartedCacheManager, "pokemon", 25L)).isEqualTo(new Pokemon(25L, "Pikachu"));
+    }
+
+    @Test
+    void restore_ShouldStartCold_WhenSnapshotIsCorrupt() throws Exception {
+        // given
+        store(sourceCacheManager, NOW).write();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 3] ^= 0x5A;
+        Files.write(snapshot, bytes);
+        CacheManager restartedCacheManager = TestCacheManagers.caffeine(pokeApiService);
+
+        // when
+        int restored = store(restartedCacheManager, NOW).restore();
+
+        // then
+        assertThat(restored).isZero();
+        assertThat(TestCacheManagers.cachedValue(restartedCacheManager, "pokemon", 1L)).isNull();
+    }
+
+    @Test
+    void restore_ShouldStartCold_WhenSnapshotIsTruncated() throws Exception {
+        // given
+        store(sourceCacheManager, NOW).write();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+
+        // when
+        int restored = store(TestCacheManagers.caffeine(pokeApiService), NOW).restore();
+
+        // then
+        assertThat(restored).isZero();
+    }
+
+    @Test
+    void restore_ShouldStartCold_WhenSnapshotIsStale() {
+        // given
+        store(sourceCacheManager, NOW).write();
+
+        // when
+        int restored = store(TestCacheManagers.caffeine(pokeApiService), NOW.plus(Duration.ofHours(13))).restore();
+
+        // then
+        assertThat(restored).isZero();
+    }
+
+    @Test
+    void restore_ShouldStartCold_WhenFormatVersionDiffers() throws Exception {
+        // given
+        store(sourceCacheManager, NOW).write();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[5] = (byte) (PokemonSnapshotStore.FORMAT_VERSION + 1);
+        Files.write(snapshot, bytes);
+
+        // when
+        int restored = store(TestCacheManagers.caffeine(pokeApiService), NOW).restore();
+
+        // then
+        assertThat(restored).isZero();
+    }
+
+    @Test
+    void write_ShouldKeepPreviousSnapshot_WhenCacheIsEmpty() throws Exception {
+        // given
+        store(sourceCacheManager, NOW).write();
+        byte[] before = Files.readAllBytes(snapshot);
+
+        // when
+        store(TestCacheManagers.caffeine(pokeApiService), NOW).write();
+
+        // then
+        assertThat(Files.readAllBytes(snapshot)).isEqualTo(before);
+    }
+
+    @Test
+    void write_ShouldKeepPreviousSnapshot_WhenAnEntryCannotBeEncoded() throws Exception {
+        // given
+        store(sourceCacheManager, NOW).write();
+        byte[] before = Files.readAllBytes(snapshot);
+        sourceCacheManager.getCache("pokemon").put(2L, new Pokemon(2L, "x".repeat(Short.MAX_VALUE + 1)));
+
+        // when
+        store(sourceCacheManager, NOW).write();
+
+        // then
+        assertThat(Files.readAllBytes(snapshot)).isEqualTo(before);
+    }
+
+    private PokemonSnapshotStore store(CacheManager cacheManager, Instant now) {
+        PokemonSnapshotStore store = new PokemonSnapshotStore(cacheManager);
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "path", snapshot);
+        ReflectionTestUtils.setField(store, "maxAge", Duration.ofHours(12));
+        ReflectionTestUtils.setField(store, "clock", Clock.fixed(now, ZoneOffset.UTC));
+        return store;
+    }
+
+    private static Pokemon bulbasaur() {
+        PokemonSprites sprites = new PokemonSprites();
+        sprites.setFrontDefault("https://example.test/1.png");
+        sprites.setOfficialArtwork("https://example.test/artwork/1.png");
+
+        PokemonStat hp = new PokemonStat();
+        hp.setName("hp");
+        hp.setBaseStat(45);
+
+        return new Pokemon(1L, "Bulbasaur", List.of("grass", "poison"), "Kanto",
+                List.of("Fire", "Ice", "Flying", "Psychic"), sprites, 7, 69, List.of(hp));
+    }
+}
@@ -0,0 +1,81 @@
+package com.pokemon.api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.support.PokemonFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedResponseCacheTest {
+
+    private ObjectMapper objectMapper;
+    private SerializedResponseCache responseCache;
+
+    @BeforeEach
+    void setup() {
+        objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        responseCache = new SerializedResponseCache(objectMapper, true, DataSize.ofMegabytes(1));
+    }
+
+    @Test
+    void serializesEachCachedObjectOnce() throws IOException {
+        Pokemon pokemon = PokemonFixtures.pokemon(25);
+
+        SerializedResponseCache.Body first = responseCache.single(pokemon);
+        SerializedResponseCache.Body second = responseCache.single(pokemon);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.json()).isEqualTo(objectMapper.writeValueAsBytes(pokemon));
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(first.gzip())).readAllBytes()).isEqualTo(first.json());
+    }
+
+    @Test
+    void etagFollowsContentNotIdentity() {
+        Pokemon cached = PokemonFixtures.pokemon(25);
+        Pokemon reloadedUnchanged = PokemonFixtures.pokemon(25);
+        Pokemon reloadedChanged = PokemonFixtures.pokemon(25);
+        reloadedChanged.setWeight(61);
+
+        String etag = responseCache.single(cached).etag();
+
+        assertThat(responseCache.single(reloadedUnchanged).etag()).isEqualTo(etag);
+        assertThat(responseCache.single(reloadedChanged).etag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void pagesConcatenateEntryBodies() throws IOException {
+        List<Pokemon> page = PokemonFixtures.dex(3);
+        List<Pokemon> changed = PokemonFixtures.dex(3);
+        changed.get(2).setName("Venusaur");
+
+        SerializedResponseCache.Body body = responseCache.page(page);
+
+        assertThat(body.json()).isEqualTo(objectMapper.writeValueAsBytes(page));
+        assertThat(responseCache.page(List.of()).json()).isEqualTo("[]".getBytes());
+        assertThat(responseCache.page(PokemonFixtures.dex(3)).etag()).isEqualTo(body.etag());
+        assertThat(responseCache.page(changed).etag()).isNotEqualTo(body.etag());
+    }
+
+    @Test
+    void lookupsKeepRequestOrderAndMarkMissingIds() throws IOException {
+        List<Pokemon> dex = PokemonFixtures.dex(2);
+
+        SerializedResponseCache.Body body = responseCache.lookup(List.of(2L, 404L, 1L),
+                Map.of(1L, dex.get(0), 2L, dex.get(1)));
+
+        assertThat(objectMapper.readTree(body.json()).get(0).get("id").asLong()).isEqualTo(2L);
+        assertThat(objectMapper.readTree(body.json()).get(1).toString()).isEqualTo("{\"id\":404,\"missing\":true}");
+        assertThat(objectMapper.readTree(body.json()).get(2).get("id").asLong()).isEqualTo(1L);
+        assertThat(responseCache.lookup(List.of(2L, 404L, 1L), Map.of(1L, dex.get(0))).etag()).isNotEqualTo(body.etag());
+    }
+}
@@ -0,0 +1,149 @@
+package com.pokemon.api.cache;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.service.PokeApiService;
+import com.pokemon.api.service.PokemonCacheManager;
+import com.pokemon.api.support.TestCacheManagers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Two nodes, each with its own Caffeine tier, sharing one {@link InMemorySharedCacheStore}. */
+class SharedPokemonCacheTest {
+
+    private static final Duration TTL = Duration.ofHours(12);
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+
+    private final PokeApiService pokeApiService = mock(PokeApiService.class);
+    private final InMemorySharedCacheStore store = new InMemorySharedCacheStore();
+    private final SimpleMeterRegistry nodeARegistry = new SimpleMeterRegistry();
+
+    private SharedPokemonCache sharedA;
+    private SharedPokemonCache sharedB;
+    private CacheManager cachesA;
+    private CacheManager cachesB;
+    private CacheInvalidationListener listenerB;
+
+    @BeforeEach
+    void setup() {
+        when(pokeApiService.fetchPokemonById(any())).thenAnswer(invocation -> Mono.just(pokemon(invocation.getArgument(0))));
+        when(pokeApiService.fetchPokemonByIds(anyCollection())).thenAnswer(invocation ->
+                Flux.fromIterable(invocation.<Collection<Long>>getArgument(0)).map(SharedPokemonCacheTest::pokemon));
+
+        sharedA = new SharedPokemonCache(store, TTL, TIMEOUT, nodeARegistry);
+        sharedB = new SharedPokemonCache(store, TTL, TIMEOUT, new SimpleMeterRegistry());
+        cachesA = TestCacheManagers.tiered(pokeApiService, sharedA);
+        cachesB = TestCacheManagers.tiered(pokeApiService, sharedB);
+        listenerB = new CacheInvalidationListener(sharedB, cachesB);
+        listenerB.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        listenerB.stop();
+    }
+
+    @Test
+    void missOnOneNode_ShouldBeServedFromAnotherNodesFetch() {
+        // when
+        Pokemon onA = node(cachesA).getPokemonById(25L).block();
+        Pokemon onB = node(cachesB).getPokemonById(25L).block();
+
+        // then
+        assertThat(onB).isEqualTo(onA).isNotSameAs(onA);
+        verify(pokeApiService, times(1)).fetchPokemonById(25L);
+        assertThat(nodeARegistry.counter("cache.l2.writes", "result", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void batchMiss_ShouldOnlyFetchWhatNoNodeHasStored() {
+        // given
+        node(cachesA).getPokemonBatch(List.of(1L, 2L)).block();
+
+        // when
+        List<Pokemon> onB = node(cachesB).getPokemonBatch(List.of(1L, 2L, 3L, 4L)).block();
+
+        // then
+        assertThat(onB).extracting(Pokemon::getId).containsExactly(1L, 2L, 3L, 4L);
+        verify(pokeApiService).fetchPokemonByIds(List.of(1L, 2L));
+        verify(pokeApiService).fetchPokemonByIds(List.of(3L, 4L));
+    }
+
+    @Test
+    void changedRefresh_ShouldEvictOtherNodesCopy_WhichThenReadsTheSharedValue() {
+        // given
+        Pokemon original = node(cachesA).getPokemonById(25L).block();
+        node(cachesB).getPokemonById(25L).block();
+        Pokemon updated = pokemon(25L);
+        updated.setWeight(61);
+
+        // when
+        sharedA.reload(25L, original, id -> Mono.just(updated)).block();
+
+        // then
+        assertThat(TestCacheManagers.cachedValue(cachesB, "pokemon", 25L)).isNull();
+        assertThat(node(cachesB).getPokemonById(25L).block()).isEqualTo(updated);
+        verify(pokeApiService, times(1)).fetchPokemonById(25L);
+        assertThat(nodeARegistry.counter("cache.l2.invalidations", "direction", "sent").count()).isEqualTo(1);
+    }
+
+    @Test
+    void unchangedRefresh_ShouldNotBroadcast() {
+        // given
+        Pokemon original = node(cachesA).getPokemonById(25L).block();
+        node(cachesB).getPokemonById(25L).block();
+
+        // when
+        sharedA.reload(25L, original, id -> Mono.just(pokemon(25L))).block();
+
+        // then
+        assertThat(TestCacheManagers.cachedValue(cachesB, "pokemon", 25L)).isNotNull();
+        assertThat(nodeARegistry.counter("cache.l2.invalidations", "direction", "sent").count()).isZero();
+    }
+
+    @Test
+    void failingStore_ShouldFallBackToUpstream() {
+        // given
+        SharedCacheStore down = mock(SharedCacheStore.class);
+        when(down.get(anyString())).thenReturn(Mono.error(new IllegalStateException("connection refused")));
+        when(down.put(anyString(), any(), any())).thenReturn(Mono.error(new IllegalStateException("connection refused")));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CacheManager caches = TestCacheManagers.tiered(pokeApiService, new SharedPokemonCache(down, TTL, TIMEOUT, registry));
+
+        // when
+        Pokemon pokemon = node(caches).getPokemonById(25L).block();
+
+        // then
+        assertThat(pokemon).isEqualTo(pokemon(25L));
+        assertThat(registry.counter("cache.l2.reads", "result", "error").count()).isEqualTo(1);
+        assertThat(registry.counter("cache.l2.writes", "result", "error").count()).isEqualTo(1);
+    }
+
+    private static PokemonCacheManager node(CacheManager caches) {
+        return new PokemonCacheManager(caches, new CacheRefreshStats(), new SimpleMeterRegistry());
+    }
+
+    private static Pokemon pokemon(long id) {
+        Pokemon pokemon = new Pokemon(id, "Pokemon " + id);
+        pokemon.setTypes(List.of("electric"));
+        pokemon.setWeight(60);
+        return pokemon;
+    }
+}
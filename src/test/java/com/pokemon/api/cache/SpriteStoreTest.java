@@ -0,0 +1,144 @@
+package com.pokemon.api.cache;
+
+import com.pokemon.api.cache.SpriteStore.Sprite;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpriteStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void put_ShouldKeepIdenticalImagesOnce() throws IOException {
+        // given
+        SpriteStore store = store(DataSize.ofKilobytes(64));
+
+        // when
+        Sprite front = put(store, "25-front", image(1, 1000));
+        Sprite back = put(store, "25-back", image(1, 1000));
+
+        // then
+        assertThat(back.hash()).isEqualTo(front.hash());
+        assertThat(back.path()).isEqualTo(front.path());
+        assertThat(Files.readAllBytes(front.path())).isEqualTo(image(1, 1000));
+        assertThat(store.images()).isEqualTo(1);
+        assertThat(store.sizeBytes()).isEqualTo(1000);
+        assertThat(store.get("25-back")).contains(front);
+        assertThat(Files.list(root.resolve("tmp"))).isEmpty();
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyServed_WhenOverMaxSize() throws IOException {
+        // given
+        SpriteStore store = store(DataSize.ofBytes(3000));
+        Sprite first = put(store, "1-front", image(1, 1000));
+        Sprite second = put(store, "2-front", image(2, 1000));
+        put(store, "3-front", image(3, 1000));
+        store.get("1-front");
+
+        // when
+        put(store, "4-front", image(4, 1000));
+
+        // then
+        assertThat(store.get("1-front")).contains(first);
+        assertThat(store.get("2-front")).isEmpty();
+        assertThat(second.path()).doesNotExist();
+        assertThat(root.resolve("refs/2-front")).doesNotExist();
+        assertThat(store.images()).isEqualTo(3);
+        assertThat(store.sizeBytes()).isEqualTo(3000);
+    }
+
+    @Test
+    void load_ShouldReindexStoredImages_AndDropWhatNothingPointsAt() throws IOException {
+        // given
+        SpriteStore store = store(DataSize.ofKilobytes(64));
+        Sprite pikachu = put(store, "25-front", image(25, 2000));
+        Sprite raichu = put(store, "26-front", image(26, 2000));
+        Files.delete(root.resolve("refs/26-front"));
+        Files.delete(pikachu.path());
+        put(store, "1-front", image(1, 500));
+        Files.writeString(root.resolve("tmp/download-123.tmp"), "partial");
+
+        // when
+        SpriteStore restarted = store(DataSize.ofKilobytes(64));
+
+        // then
+        assertThat(restarted.get("1-front")).get().satisfies(sprite -> assertThat(sprite.size()).isEqualTo(500));
+        assertThat(restarted.get("25-front")).isEmpty();
+        assertThat(restarted.get("26-front")).isEmpty();
+        assertThat(raichu.path()).doesNotExist();
+        assertThat(root.resolve("refs/25-front")).doesNotExist();
+        assertThat(root.resolve("tmp/download-123.tmp")).doesNotExist();
+        assertThat(restarted.sizeBytes()).isEqualTo(500);
+    }
+
+    @Test
+    void put_ShouldDeleteEvictedFile_OnlyOnceTheDeleteDelayIsUp() throws Exception {
+        // given
+        SpriteStore store = new SpriteStore(root, DataSize.ofBytes(1000), Duration.ofMillis(200));
+        store.load();
+        Sprite first = put(store, "1-front", image(1, 1000));
+
+        // when: evicted while a response may still be about to send it
+        put(store, "2-front", image(2, 1000));
+
+        // then
+        assertThat(store.get("1-front")).isEmpty();
+        assertThat(store.sizeBytes()).isEqualTo(1000);
+        assertThat(Files.readAllBytes(first.path())).isEqualTo(image(1, 1000));
+        assertThat(root.resolve("refs/1-front")).doesNotExist();
+
+        // when: a later put after the delay
+        Thread.sleep(250);
+        put(store, "3-front", image(3, 1000));
+
+        // then
+        assertThat(first.path()).doesNotExist();
+    }
+
+    @Test
+    void put_ShouldKeepAPendingDeleteFile_WhenTheSameImageComesBack() throws Exception {
+        // given
+        SpriteStore store = new SpriteStore(root, DataSize.ofBytes(1000), Duration.ofMillis(100));
+        store.load();
+        Sprite first = put(store, "1-front", image(1, 1000));
+        put(store, "2-front", image(2, 1000));
+
+        // when
+        put(store, "1-front", image(1, 1000));
+        Thread.sleep(150);
+        put(store, "1-back", image(1, 1000));
+
+        // then
+        assertThat(store.get("1-front")).contains(first);
+        assertThat(Files.readAllBytes(first.path())).isEqualTo(image(1, 1000));
+    }
+
+    private SpriteStore store(DataSize maxSize) {
+        SpriteStore store = new SpriteStore(root, maxSize, Duration.ZERO);
+        store.load();
+        return store;
+    }
+
+    private static Sprite put(SpriteStore store, String key, byte[] image) throws IOException {
+        Path download = store.createTempFile();
+        Files.write(download, image);
+        return store.put(key, download, "image/png");
+    }
+
+    private static byte[] image(int seed, int size) {
+        byte[] image = new byte[size];
+        Arrays.fill(image, (byte) seed);
+        return image;
+    }
+}
@@ -0,0 +1,136 @@
+package com.pokemon.api.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pokemon.api.model.Pokemon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StaleWhileRevalidateLoaderTest {
+
+    private static final Duration REFRESH_AFTER_WRITE = Duration.ofHours(12);
+    private static final Duration STALE_GRACE = Duration.ofHours(6);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicReference<Mono<Pokemon>> upstream = new AtomicReference<>();
+    private final CacheRefreshStats stats = new CacheRefreshStats();
+
+    private AsyncLoadingCache<Object, Object> cache;
+
+    @BeforeEach
+    void setup() {
+        cache = Caffeine.newBuilder()
+                .ticker(nanos::get)
+                .executor(Runnable::run)
+                .refreshAfterWrite(REFRESH_AFTER_WRITE)
+                .expireAfterWrite(REFRESH_AFTER_WRITE.plus(STALE_GRACE))
+                .buildAsync(new StaleWhileRevalidateLoader("pokemon", stats, key -> upstream.get()));
+    }
+
+    @Test
+    void staleRead_ShouldServeOldValue_AndReloadInBackground() {
+        // given
+        upstream.set(Mono.just(new Pokemon(1L, "Bulbasaur")));
+        read(1L);
+        CompletableFuture<Pokemon> reload = new CompletableFuture<>();
+        upstream.set(Mono.fromFuture(reload));
+        advance(REFRESH_AFTER_WRITE.plusMinutes(1));
+
+        // when
+        Pokemon stale = read(1L);
+        Pokemon whileRefreshing = read(1L);
+        reload.complete(new Pokemon(1L, "Bulbasaur v2"));
+        Pokemon refreshed = read(1L);
+
+        // then
+        assertThat(stale.getName()).isEqualTo("Bulbasaur");
+        assertThat(whileRefreshing.getName()).isEqualTo("Bulbasaur");
+        assertThat(refreshed.getName()).isEqualTo("Bulbasaur v2");
+        assertThat(stats.counters("pokemon").snapshot())
+                .isEqualTo(new CacheRefreshStats.Snapshot(1, 1, 0, 2));
+    }
+
+    @Test
+    void failedRefresh_ShouldKeepServingStaleValue_UntilGraceRunsOut() {
+        // given
+        upstream.set(Mono.just(new Pokemon(1L, "Bulbasaur")));
+        read(1L);
+        upstream.set(Mono.error(new IllegalStateException("PokeAPI down")));
+
+        // when
+        advance(REFRESH_AFTER_WRITE.plusMinutes(1));
+        Pokemon firstStale = read(1L);
+        advance(STALE_GRACE.minusMinutes(2));
+        Pokemon lastStale = read(1L);
+        advance(Duration.ofMinutes(2));
+
+        // then
+        assertThat(firstStale.getName()).isEqualTo("Bulbasaur");
+        assertThat(lastStale.getName()).isEqualTo("Bulbasaur");
+        assertThatThrownBy(() -> read(1L)).isInstanceOf(CompletionException.class).hasMessageContaining("PokeAPI down");
+        CacheRefreshStats.Snapshot snapshot = stats.counters("pokemon").snapshot();
+        assertThat(snapshot.refreshFailures()).isEqualTo(2);
+        assertThat(snapshot.reloads()).isZero();
+        assertThat(snapshot.staleHits()).isEqualTo(2);
+    }
+
+    @Test
+    void emptyRefresh_ShouldKeepOldValue() {
+        // given
+        upstream.set(Mono.just(new Pokemon(1L, "Bulbasaur")));
+        read(1L);
+        upstream.set(Mono.empty());
+        advance(REFRESH_AFTER_WRITE.plusMinutes(1));
+
+        // when
+        read(1L);
+        Pokemon afterRefresh = read(1L);
+
+        // then
+        assertThat(afterRefresh.getName()).isEqualTo("Bulbasaur");
+        assertThat(stats.counters("pokemon").snapshot().reloads()).isZero();
+    }
+
+    @Test
+    void unchangedRefresh_ShouldNotCountAsReload() {
+        // given
+        Pokemon current = new Pokemon(1L, "Bulbasaur");
+        cache = Caffeine.newBuilder()
+                .ticker(nanos::get)
+                .executor(Runnable::run)
+                .refreshAfterWrite(REFRESH_AFTER_WRITE)
+                .buildAsync(new StaleWhileRevalidateLoader("pokemon", stats, key -> Mono.just(current), null,
+                        (key, oldValue) -> Mono.just(oldValue)));
+        read(1L);
+        advance(REFRESH_AFTER_WRITE.plusMinutes(1));
+
+        // when
+        read(1L);
+        Pokemon afterRefresh = read(1L);
+
+        // then
+        assertThat(afterRefresh).isSameAs(current);
+        CacheRefreshStats.Snapshot snapshot = stats.counters("pokemon").snapshot();
+        assertThat(snapshot.refreshes()).isEqualTo(1);
+        assertThat(snapshot.reloads()).isZero();
+    }
+
+    private Pokemon read(long id) {
+        stats.recordRead("pokemon", cache.synchronous(), id);
+        return (Pokemon) cache.get(id).join();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,98 @@
+package com.pokemon.api.config;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.pokemon.api.cache.CacheRefreshStats;
+import com.pokemon.api.service.PokeApiService;
+import com.pokemon.api.support.PokemonFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class CacheConfigTest {
+
+    private final CacheConfig config = new CacheConfig();
+    private final PokeApiService pokeApiService = mock(PokeApiService.class);
+
+    @Test
+    void policy_ShouldTakeCacheSection_ThenGlobalSettings_ThenDefaults() {
+        // given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("pokeapi.cache.refresh-after-write", "6h")
+                .withProperty("pokeapi.cache.caches.pokemon-list.maximum-weight", "2MB")
+                .withProperty("pokeapi.cache.caches.evolution-chain.stale-grace", "2d");
+        Binder binder = Binder.get(environment);
+
+        // when
+        CachePolicy pokemon = CacheConfig.policy(binder, "pokemon");
+        CachePolicy pokemonList = CacheConfig.policy(binder, "pokemonList");
+        CachePolicy evolutionChain = CacheConfig.policy(binder, "evolutionChain");
+
+        // then
+        assertThat(pokemon).isEqualTo(new CachePolicy(DataSize.ofMegabytes(16), Duration.ofHours(6), Duration.ofHours(12)));
+        assertThat(pokemonList.maximumWeight()).isEqualTo(DataSize.ofMegabytes(2));
+        assertThat(evolutionChain.maximumWeight()).isEqualTo(DataSize.ofMegabytes(4));
+        assertThat(evolutionChain.expireAfterWrite()).isEqualTo(Duration.ofHours(6).plus(Duration.ofDays(2)));
+    }
+
+    @Test
+    void cacheManager_ShouldBoundEachCacheByEstimatedBytes() {
+        // given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("pokeapi.cache.caches.pokemon.maximum-weight", "20KB");
+        CacheManager cacheManager = config.cacheManager(pokeApiService, new CacheRefreshStats(), environment, Optional.empty());
+        CaffeineCache pokemon = (CaffeineCache) cacheManager.getCache("pokemon");
+
+        // when
+        for (long id = 1; id <= 100; id++) {
+            pokemon.put(id, PokemonFixtures.pokemon(id));
+        }
+        pokemon.getNativeCache().cleanUp();
+
+        // then
+        Policy.Eviction<Object, Object> eviction = pokemon.getNativeCache().policy().eviction().orElseThrow();
+        assertThat(eviction.getMaximum()).isEqualTo(20 * 1024);
+        assertThat(eviction.weightedSize().orElseThrow()).isLessThanOrEqualTo(20 * 1024);
+        assertThat(pokemon.getNativeCache().estimatedSize()).isBetween(10L, 30L);
+        assertThat(((CaffeineCache) cacheManager.getCache("pokemonList")).getNativeCache().policy().eviction()
+                .orElseThrow().getMaximum()).isEqualTo(DataSize.ofMegabytes(8).toBytes());
+    }
+
+    @Test
+    void caffeineCacheCheck_ShouldPassForTheCaffeineCaches() {
+        // given
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.cache.type", "caffeine");
+        CacheManager cacheManager = config.cacheManager(pokeApiService, new CacheRefreshStats(), environment, Optional.empty());
+
+        // when / then
+        assertThatCode(() -> config.caffeineCacheCheck(cacheManager, environment).afterSingletonsInstantiated())
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void caffeineCacheCheck_ShouldFailStartup_ForAnyOtherProvider() {
+        // given
+        MockEnvironment simpleType = new MockEnvironment().withProperty("spring.cache.type", "simple");
+        CacheManager caffeine = config.cacheManager(pokeApiService, new CacheRefreshStats(), simpleType, Optional.empty());
+        CacheManager concurrentMap = new ConcurrentMapCacheManager(CacheConfig.CACHE_NAMES.toArray(String[]::new));
+
+        // when / then
+        assertThatThrownBy(() -> config.caffeineCacheCheck(caffeine, simpleType).afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("spring.cache.type is simple");
+        assertThatThrownBy(() -> config.caffeineCacheCheck(concurrentMap, new MockEnvironment()).afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ConcurrentMapCacheManager");
+    }
+}
@@ -0,0 +1,109 @@
+package com.pokemon.api.config;
+
+import com.pokemon.api.config.WebClientConfig.HttpClientSettings;
+import com.pokemon.api.support.MockPokeApiServer;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebClientConfigTest {
+
+    private static final HttpClientSettings PLAIN_HTTP = HttpClientSettings.defaults().toBuilder().http2(false).build();
+
+    private final MockPokeApiServer upstream = new MockPokeApiServer();
+    private ConnectionProvider connectionProvider;
+
+    @AfterEach
+    void tearDown() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        upstream.close();
+    }
+
+    @Test
+    void sequentialCalls_ShouldReuseKeptAliveConnections_AndAcceptGzip() {
+        // given
+        WebClient webClient = webClient(PLAIN_HTTP);
+
+        // when
+        List<String> bodies = Flux.range(1, 20)
+                .concatMap(id -> webClient.get().uri("/pokemon/{id}", id).retrieve().bodyToMono(String.class))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // then
+        assertThat(bodies).hasSize(20).allSatisfy(body -> assertThat(body).startsWith("{"));
+        // A call can start before the previous one has handed its connection back, so up to two
+        assertThat(upstream.connections()).isLessThanOrEqualTo(2);
+        assertThat(upstream.gzippedResponses()).isEqualTo(20);
+    }
+
+    @Test
+    void pool_ShouldCapConnections_AndFailFastPastPendingAcquireLimit() {
+        // given
+        upstream.latency(Duration.ofMillis(300));
+        WebClient webClient = webClient(PLAIN_HTTP.toBuilder().maxConnections(2).pendingAcquireMaxCount(1).build());
+
+        // when
+        List<String> outcomes = Flux.range(1, 4)
+                .flatMap(id -> webClient.get().uri("/pokemon/{id}", id).retrieve().bodyToMono(String.class)
+                        .map(body -> "ok")
+                        .onErrorReturn("rejected"))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // then
+        assertThat(outcomes).containsExactlyInAnyOrder("ok", "ok", "ok", "rejected");
+        assertThat(upstream.connections()).isEqualTo(2);
+    }
+
+    @Test
+    void pool_ShouldPublishItsGauges() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            WebClient webClient = webClient(PLAIN_HTTP);
+
+            // when
+            webClient.get().uri("/pokemon/1").retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5));
+
+            // then
+            assertThat(registry.find("reactor.netty.connection.provider.max.connections").tag("name", "pokeapi-test").gauge())
+                    .isNotNull()
+                    .satisfies(gauge -> assertThat(gauge.value()).isEqualTo(PLAIN_HTTP.maxConnections()));
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    void settings_ShouldOnlyOfferHttp2OverTls() {
+        WebClientConfig config = new WebClientConfig();
+        Duration d = Duration.ofSeconds(1);
+
+        assertThat(config.pokeApiHttpClientSettings("https://pokeapi.co/api/v2", 16, 256, d, d, d, d, d, d, true, true, d).http2())
+                .isTrue();
+        assertThat(config.pokeApiHttpClientSettings("http://localhost:8081", 16, 256, d, d, d, d, d, d, true, true, d).http2())
+                .isFalse();
+    }
+
+    private WebClient webClient(HttpClientSettings settings) {
+        connectionProvider = WebClientConfig.connectionProvider("pokeapi-test", settings);
+        return WebClient.builder()
+                .baseUrl(upstream.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(WebClientConfig.httpClient(connectionProvider, settings)))
+                .build();
+    }
+}
@@ -0,0 +1,281 @@
+package com.pokemon.api.controller;
+
+import com.pokemon.api.cache.CacheRefreshStats;
+import com.pokemon.api.cache.SerializedResponseCache;
+import com.pokemon.api.cache.SpriteStore;
+import com.pokemon.api.model.EvolutionLine;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.SpriteKind;
+import com.pokemon.api.service.EvolutionService;
+import com.pokemon.api.service.PokemonCacheService;
+import com.pokemon.api.service.PokemonDeltaSync;
+import com.pokemon.api.service.PokemonPreloader;
+import com.pokemon.api.service.PokemonSearchService;
+import com.pokemon.api.service.SpriteService;
+import com.pokemon.api.support.PokemonFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PokemonController.class)
+@Import(SerializedResponseCache.class)
+class PokemonControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PokemonCacheService cacheService;
+    @MockitoBean
+    private PokemonPreloader pokemonPreloader;
+    @MockitoBean
+    private PokemonDeltaSync pokemonDeltaSync;
+    @MockitoBean
+    private EvolutionService evolutionService;
+    @MockitoBean
+    private CacheRefreshStats cacheRefreshStats;
+    @MockitoBean
+    private PokemonSearchService searchService;
+    @MockitoBean
+    private SpriteService spriteService;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void getPokemonById_ShouldAnswerMatchingEtagWithNotModified() throws Exception {
+        // given
+        Pokemon pikachu = PokemonFixtures.pokemon(25);
+        when(cacheService.getPokemonBatch(24, 1)).thenReturn(List.of(pikachu));
+
+        // when
+        MvcResult first = mockMvc.perform(get("/api/v1/pokemon/25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Pokemon-25"))
+                .andExpect(jsonPath("$.sprites.front_default").exists())
+                .andExpect(jsonPath("$.matchups['2x']").isArray())
+                .andExpect(jsonPath("$.matchups.multipliers").doesNotExist())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // then
+        mockMvc.perform(get("/api/v1/pokemon/25").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getPokemonById_ShouldServePreGzippedBodyWithItsOwnEtag() throws Exception {
+        // given
+        when(cacheService.getPokemonBatch(0, 1)).thenReturn(List.of(PokemonFixtures.pokemon(1)));
+
+        // when
+        MvcResult plain = mockMvc.perform(get("/api/v1/pokemon/1")).andReturn();
+        MvcResult gzip = mockMvc.perform(get("/api/v1/pokemon/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+
+        // then
+        assertThat(gzip.getResponse().getHeader(HttpHeaders.ETAG))
+                .isNotEqualTo(plain.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getPokemonById_ShouldServePlainBody_WhenGzipIsRefused() throws Exception {
+        // given
+        when(cacheService.getPokemonBatch(0, 1)).thenReturn(List.of(PokemonFixtures.pokemon(1)));
+
+        // when / then
+        for (String acceptEncoding : List.of("gzip;q=0, br", "x-gzip-foo", "*;q=0", "br, *;q=0.5, gzip; q=0")) {
+            mockMvc.perform(get("/api/v1/pokemon/1").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(jsonPath("$.id").value(1));
+        }
+        mockMvc.perform(get("/api/v1/pokemon/1").header(HttpHeaders.ACCEPT_ENCODING, "br, *;q=0.1"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void getAllPokemon_ShouldTagPagesAndRevalidateThem() throws Exception {
+        // given
+        when(cacheService.getPokemonBatch(0, 3)).thenReturn(PokemonFixtures.dex(3));
+
+        // when
+        String etag = mockMvc.perform(get("/api/v1/pokemon").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // then
+        mockMvc.perform(get("/api/v1/pokemon").param("limit", "3").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getPokemonByIds_ShouldKeepRequestOrder_AndMarkMissingIds() throws Exception {
+        // given
+        when(cacheService.getPokemonByIds(List.of(7L, 9999L, 1L)))
+                .thenReturn(Map.of(1L, PokemonFixtures.pokemon(1), 7L, PokemonFixtures.pokemon(7)));
+
+        // when / then
+        mockMvc.perform(get("/api/v1/pokemon").param("ids", "7,9999,1,7"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].name").value("Pokemon-7"))
+                .andExpect(jsonPath("$[1].id").value(9999))
+                .andExpect(jsonPath("$[1].missing").value(true))
+                .andExpect(jsonPath("$[2].name").value("Pokemon-1"))
+                .andExpect(jsonPath("$[3].name").value("Pokemon-7"));
+    }
+
+    @Test
+    void getPokemonByIds_ShouldAnswer503_WhenPokeApiFails() throws Exception {
+        // given
+        when(cacheService.getPokemonByIds(List.of(1L, 2L))).thenThrow(new IllegalStateException("PokeAPI down"));
+
+        // when / then
+        mockMvc.perform(get("/api/v1/pokemon").param("ids", "1,2"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getPokemonByIds_ShouldRejectOversizedAndInvalidLookups() throws Exception {
+        String tooMany = LongStream.rangeClosed(1, 51).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/v1/pokemon").param("ids", tooMany)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/pokemon").param("ids", "1,0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/pokemon").param("ids", "1,pikachu")).andExpect(status().isBadRequest());
+        verifyNoInteractions(cacheService);
+    }
+
+    @Test
+    void getEvolutions_ShouldServeTheLine_Or404() throws Exception {
+        // given
+        EvolutionLine.Node venusaur = new EvolutionLine.Node(3L, "Venusaur", null, List.of());
+        EvolutionLine.Node ivysaur = new EvolutionLine.Node(2L, "Ivysaur", null, List.of(venusaur));
+        EvolutionLine.Node bulbasaur = new EvolutionLine.Node(1L, "Bulbasaur", null, List.of(ivysaur));
+        when(evolutionService.findLine(2L)).thenReturn(Optional.of(new EvolutionLine(2L, 1L, 1L, List.of(3L), bulbasaur)));
+        when(evolutionService.findLine(5000L)).thenReturn(Optional.empty());
+
+        // when / then
+        mockMvc.perform(get("/api/v1/pokemon/2/evolutions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.evolves_from").value(1))
+                .andExpect(jsonPath("$.chain.evolves_to[0].evolves_to[0].name").value("Venusaur"));
+        mockMvc.perform(get("/api/v1/pokemon/5000/evolutions"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamAllPokemon_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // given
+        when(cacheService.streamAllPokemon()).thenReturn(Flux.fromIterable(PokemonFixtures.dex(3)));
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/v1/pokemon/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.lines().toList()).hasSize(3)
+                .allSatisfy(line -> assertThat(line).startsWith("{\"id\":"));
+    }
+
+    @Test
+    void getSprite_ShouldServeStoredImage_WithLongLivedCacheHeaders() throws Exception {
+        // given
+        SpriteStore.Sprite sprite = sprite(new byte[]{(byte) 0x89, 'P', 'N', 'G', 1, 2, 3});
+        when(spriteService.findSprite(25L, SpriteKind.ARTWORK)).thenReturn(Optional.of(sprite));
+
+        // when / then
+        mockMvc.perform(get("/api/v1/pokemon/25/sprites/artwork"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(content().bytes(Files.readAllBytes(sprite.path())))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=2592000, public"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(header().string(HttpHeaders.ETAG, sprite.etag()));
+        mockMvc.perform(get("/api/v1/pokemon/25/sprites/artwork").header(HttpHeaders.IF_NONE_MATCH, sprite.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(head("/api/v1/pokemon/25/sprites/artwork"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 7))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getSprite_ShouldHandTheFileToSendfile_WhenTheConnectorSupportsIt() throws Exception {
+        // given
+        SpriteStore.Sprite sprite = sprite(new byte[]{1, 2, 3, 4});
+        when(spriteService.findSprite(25L, SpriteKind.FRONT)).thenReturn(Optional.of(sprite));
+
+        // when / then
+        mockMvc.perform(get("/api/v1/pokemon/25/sprites/front").requestAttr(PokemonController.SENDFILE_SUPPORT, true))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(request().attribute(PokemonController.SENDFILE_FILENAME, sprite.path().toAbsolutePath().toString()))
+                .andExpect(request().attribute(PokemonController.SENDFILE_END, 4L))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void getSprite_ShouldAnswer400_404_And503() throws Exception {
+        // given
+        when(spriteService.findSprite(25L, SpriteKind.BACK)).thenReturn(Optional.empty());
+        when(spriteService.findSprite(26L, SpriteKind.BACK)).thenThrow(new IllegalStateException("image host down"));
+
+        // when / then
+        mockMvc.perform(get("/api/v1/pokemon/25/sprites/shiny"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/pokemon/25/sprites/back"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/pokemon/26/sprites/back"))
+                .andExpect(status().isServiceUnavailable());
+        verifyNoInteractions(cacheService);
+    }
+
+    private SpriteStore.Sprite sprite(byte[] image) throws Exception {
+        Path file = Files.write(tempDir.resolve("image.png"), image);
+        return new SpriteStore.Sprite("ab".repeat(32), file, image.length, MediaType.IMAGE_PNG_VALUE);
+    }
+}
@@ -0,0 +1,90 @@
+package com.pokemon.api.controller;
+
+import com.pokemon.api.support.MockPokeApiServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time to first byte of the NDJSON stream against the one-shot JSON page for the same cold
+ * dex. The page can only start once every entry is loaded; the stream starts after the first
+ * chunk, independent of how many entries follow.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"pokeapi.sync.enabled=false", "pokeapi.snapshot.enabled=false",
+                "pokeapi.max-pokemon=" + PokemonStreamLoadTest.DEX_SIZE, "pokeapi.stream.chunk-size=50"})
+class PokemonStreamLoadTest {
+
+    static final int DEX_SIZE = 400;
+
+    private static final MockPokeApiServer upstream = new MockPokeApiServer().latency(Duration.ofMillis(100));
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("pokeapi.base-url", upstream::baseUrl);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+    }
+
+    @Test
+    void stream_ShouldStartLongBeforeTheFullPageIsReady() throws Exception {
+        Timing page = timeToFirstByte("/api/v1/pokemon?limit=" + DEX_SIZE);
+        Objects.requireNonNull(cacheManager.getCache("pokemon")).clear();
+        Timing stream = timeToFirstByte("/api/v1/pokemon/stream");
+
+        log.info("Page:   first byte after {} ms, done after {} ms, {} bytes", page.firstByteMillis(), page.totalMillis(), page.bytes());
+        log.info("Stream: first byte after {} ms, done after {} ms, {} bytes", stream.firstByteMillis(), stream.totalMillis(), stream.bytes());
+
+        assertThat(stream.firstByteMillis()).isLessThan(page.firstByteMillis() / 3);
+        assertThat(stream.bytes()).isGreaterThan(page.bytes() * 9 / 10);
+    }
+
+    private Timing timeToFirstByte(String path) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        try (InputStream body = response.body()) {
+            long bytes = body.read() < 0 ? 0 : 1;
+            long firstByte = System.nanoTime() - start;
+            bytes += body.transferTo(OutputStream.nullOutputStream());
+            return new Timing(firstByte / 1_000_000, (System.nanoTime() - start) / 1_000_000, bytes);
+        }
+    }
+
+    private record Timing(long firstByteMillis, long totalMillis, long bytes) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.pokemon.api.controller;
+
+import com.pokemon.api.support.MockPokeApiServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the blocking and the reactive endpoints with the same cold-cache burst while Tomcat
+ * only has four worker threads. The blocking path is capped at four upstream calls at a time;
+ * the reactive path is only capped by the WebClient connection pool.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.threads.max=4", "pokeapi.sync.enabled=false",
+                "pokeapi.snapshot.enabled=false"})
+class ReactivePokemonControllerLoadTest {
+
+    private static final int REQUESTS = 48;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(250);
+
+    private static final MockPokeApiServer upstream = new MockPokeApiServer().latency(UPSTREAM_LATENCY);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("pokeapi.base-url", upstream::baseUrl);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+    }
+
+    @Test
+    void reactiveEndpoint_ShouldOutperformBlockingEndpoint_WithFewWorkerThreads() {
+        long blockingNanos = burst("/api/v1/pokemon/", 1);
+        long reactiveNanos = burst("/api/v1/reactive/pokemon/", 1 + REQUESTS);
+
+        log.info("Blocking: {} requests in {} ms ({} req/s)", REQUESTS, blockingNanos / 1_000_000, throughput(blockingNanos));
+        log.info("Reactive: {} requests in {} ms ({} req/s)", REQUESTS, reactiveNanos / 1_000_000, throughput(reactiveNanos));
+
+        assertThat(upstream.totalRequests()).isEqualTo(2 * REQUESTS);
+        assertThat(reactiveNanos).isLessThan(blockingNanos / 2);
+    }
+
+    private long burst(String path, long firstId) {
+        long start = System.nanoTime();
+        CompletableFuture<?>[] responses = LongStream.range(firstId, firstId + REQUESTS)
+                .mapToObj(id -> client.sendAsync(
+                                HttpRequest.newBuilder(URI.create("http://localhost:" + port + path + id)).build(),
+                                HttpResponse.BodyHandlers.discarding())
+                        .thenAccept(response -> assertThat(response.statusCode()).isEqualTo(200)))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(responses).join();
+        return System.nanoTime() - start;
+    }
+
+    private static long throughput(long nanos) {
+        return REQUESTS * 1_000_000_000L / nanos;
+    }
+}
@@ -0,0 +1,37 @@
+package com.pokemon.api.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TypeController.class)
+class TypeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getMatchups_ShouldServeDualTypeMultipliers() throws Exception {
+        mockMvc.perform(get("/api/v1/types/Water/ground/matchups"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+                .andExpect(jsonPath("$.types", contains("water", "ground")))
+                .andExpect(jsonPath("$.multipliers.grass").value(4.0))
+                .andExpect(jsonPath("$['4x']", contains("Grass")))
+                .andExpect(jsonPath("$['0x']", contains("Electric")));
+    }
+
+    @Test
+    void getMatchups_ShouldRejectUnknownTypes() throws Exception {
+        mockMvc.perform(get("/api/v1/types/fire/stellar/matchups"))
+                .andExpect(status().isBadRequest());
+    }
+}
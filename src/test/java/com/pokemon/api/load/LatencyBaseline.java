@@ -0,0 +1,124 @@
+package com.pokemon.api.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stored results that later runs are compared against, one {@link LoadReport} per scenario in
+ * {@code src/test/resources/load/baseline.json}.
+ * <p>
+ * A run regresses when it has more errors than its baseline, when p50 or p99 exceed the
+ * baseline by more than {@code load.tolerance} (a fraction, default 0.25) plus
+ * {@code load.slack-ms} (default 10, about one young GC or scheduler quantum, which moves
+ * single-digit percentiles by more than any fraction of them), or when it makes over 10% more
+ * upstream calls. A run of
+ * fewer than {@value #MIN_REQUESTS_P99} requests fails outright: its p99 would be one of the
+ * last few samples. Throughput is reported but not compared; the load is open, so it follows
+ * the offered rate, and a server that falls behind shows up in the latencies instead. With
+ * {@code -Dload.record=true} each scenario's result replaces its baseline.
+ */
+public final class LatencyBaseline {
+
+    public static final Path FILE = Path.of("src/test/resources/load/baseline.json");
+    public static final Path REPORTS = Path.of("target/load-reports");
+
+    /** A p99 over this many requests rests on at least ten samples. */
+    public static final int MIN_REQUESTS_P99 = 1000;
+
+    private static final double UPSTREAM_ALLOWANCE = 0.1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Path file;
+    private final double tolerance;
+    private final double slackMs;
+
+    public LatencyBaseline(Path file, double tolerance, double slackMs) {
+        this.file = file;
+        this.tolerance = tolerance;
+        this.slackMs = slackMs;
+    }
+
+    public static LatencyBaseline fromSystemProperties() {
+        return new LatencyBaseline(FILE,
+                Double.parseDouble(System.getProperty("load.tolerance", "0.25")),
+                Double.parseDouble(System.getProperty("load.slack-ms", "10")));
+    }
+
+    public static boolean recording() {
+        return Boolean.getBoolean("load.record");
+    }
+
+    /** Every way {@code run} is worse than the stored baseline for its scenario; none if there is none. */
+    public List<String> regressions(LoadReport run) {
+        LoadReport baseline = load().get(run.scenario());
+        if (baseline == null) {
+            return List.of();
+        }
+        List<String> regressions = new ArrayList<>();
+        if (run.requests() < MIN_REQUESTS_P99) {
+            regressions.add("only " + run.requests() + " requests, too few for a p99 (" + MIN_REQUESTS_P99 + ")");
+        }
+        if (run.errors() > baseline.errors()) {
+            regressions.add("errors " + run.errors() + " > " + baseline.errors());
+        }
+        latency(regressions, "p50", run.p50Ms(), baseline.p50Ms());
+        latency(regressions, "p99", run.p99Ms(), baseline.p99Ms());
+        long maxUpstreamCalls = baseline.upstreamCalls()
+                + (long) Math.ceil(baseline.upstreamCalls() * UPSTREAM_ALLOWANCE);
+        if (run.upstreamCalls() > maxUpstreamCalls) {
+            regressions.add("upstream calls " + run.upstreamCalls() + " > " + maxUpstreamCalls);
+        }
+        return regressions;
+    }
+
+    public Map<String, LoadReport> load() {
+        if (!Files.exists(file)) {
+            return new TreeMap<>();
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), new TypeReference<TreeMap<String, LoadReport>>() {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable load-test baseline " + file, e);
+        }
+    }
+
+    /** Replaces the baseline of {@code run}'s scenario, keeping the others. */
+    public void record(LoadReport run) {
+        Map<String, LoadReport> baselines = load();
+        baselines.put(run.scenario(), run);
+        write(file, baselines);
+    }
+
+    /** Writes {@code run} to {@code target/load-reports/<scenario>.json} for CI to keep. */
+    public void report(LoadReport run) {
+        write(REPORTS.resolve(run.scenario() + ".json"), run);
+    }
+
+    private void latency(List<String> regressions, String name, double runMs, double baselineMs) {
+        double maxMs = baselineMs * (1 + tolerance) + slackMs;
+        if (runMs > maxMs) {
+            regressions.add(String.format(Locale.ROOT, "%s %.2f ms > %.2f ms", name, runMs, maxMs));
+        }
+    }
+
+    private void write(Path path, Object value) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            objectMapper.writeValue(path.toFile(), value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.pokemon.api.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyBaselineTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void regressions_ShouldFlagP99AboveTolerance() {
+        // given
+        LatencyBaseline baseline = new LatencyBaseline(dir.resolve("baseline.json"), 0.25, 10);
+        baseline.record(report(1000, 10, 1167, 100));
+
+        // when / then
+        assertThat(baseline.regressions(report(1000, 10, 1400, 100))).isEmpty();
+        assertThat(baseline.regressions(report(1000, 10, 1537, 100))).containsExactly("p99 1537.00 ms > 1468.75 ms");
+    }
+
+    @Test
+    void regressions_ShouldRejectRunsTooShortForAP99() {
+        // given
+        LatencyBaseline baseline = new LatencyBaseline(dir.resolve("baseline.json"), 0.25, 10);
+        baseline.record(report(1000, 10, 100, 100));
+
+        // when / then
+        assertThat(baseline.regressions(report(500, 10, 100, 100)))
+                .containsExactly("only 500 requests, too few for a p99 (1000)");
+    }
+
+    @Test
+    void regressions_ShouldIgnoreThroughput_AndFlagExtraUpstreamCalls() {
+        // given
+        LatencyBaseline baseline = new LatencyBaseline(dir.resolve("baseline.json"), 0.25, 10);
+        baseline.record(report(1000, 10, 100, 100));
+        LoadReport slowerToDrain = new LoadReport("scenario", 100, 1000, 0, 50.0, 10, 100, null, 100, 100);
+
+        // when / then
+        assertThat(baseline.regressions(slowerToDrain)).isEmpty();
+        assertThat(baseline.regressions(report(1000, 10, 100, 111))).containsExactly("upstream calls 111 > 110");
+    }
+
+    private static LoadReport report(int requests, double p50Ms, double p99Ms, long upstreamCalls) {
+        return new LoadReport("scenario", 100, requests, 0, 100.0, p50Ms, p99Ms, null, p99Ms, upstreamCalls);
+    }
+}
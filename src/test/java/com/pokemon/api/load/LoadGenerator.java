@@ -0,0 +1,102 @@
+package com.pokemon.api.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Open-model load: sends requests at a fixed rate whether or not earlier ones have answered,
+ * as independent clients would. Each latency is measured from the moment its request was due,
+ * not from when it actually went out, so a stalled server shows up in the percentiles instead
+ * of quietly lowering the offered rate (coordinated omission).
+ */
+public final class LoadGenerator implements AutoCloseable {
+
+    /** Fewest requests for which p999 is more than the maximum; shorter runs report none. */
+    public static final int MIN_REQUESTS_P999 = 10_000;
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    public LoadGenerator(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    public HttpRequest post(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    /**
+     * Sends {@code requestsPerSecond} for {@code duration}, the {@code i}-th request built by
+     * {@code request}, and waits for every answer. A status outside {@code expectedStatuses}
+     * or a failed exchange counts as an error.
+     */
+    public LoadReport run(String scenario, int requestsPerSecond, Duration duration,
+                          IntFunction<HttpRequest> request, Set<Integer> expectedStatuses) {
+        int total = (int) (requestsPerSecond * duration.toMillis() / 1000);
+        long interval = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long[] latencies = new long[total];
+        AtomicInteger errors = new AtomicInteger();
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[total];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long due = start + i * interval;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int n = i;
+            responses[i] = client.sendAsync(request.apply(i), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        latencies[n] = System.nanoTime() - due;
+                        if (failure != null || !expectedStatuses.contains(response.statusCode())) {
+                            errors.incrementAndGet();
+                        }
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(responses).orTimeout(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).join();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new LoadReport(scenario, requestsPerSecond, total, errors.get(),
+                total * (double) TimeUnit.SECONDS.toNanos(1) / elapsed,
+                millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                total >= MIN_REQUESTS_P999 ? millis(percentile(latencies, 0.999)) : null,
+                millis(latencies[total - 1]), 0);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    /** Nearest-rank percentile of sorted values. */
+    static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.pokemon.api.load;
+
+import java.util.Locale;
+
+/**
+ * Outcome of one {@link LoadGenerator} run. Latencies are in milliseconds, measured from when
+ * each request was due to be sent; {@code p999Ms} is {@code null} for runs of fewer than
+ * {@link LoadGenerator#MIN_REQUESTS_P999} requests. {@code throughput} is completed requests per
+ * second and {@code upstreamCalls} what the PokeAPI stand-in saw during the scenario.
+ */
+public record LoadReport(
+        String scenario,
+        int requestsPerSecond,
+        int requests,
+        int errors,
+        double throughput,
+        double p50Ms,
+        double p99Ms,
+        Double p999Ms,
+        double maxMs,
+        long upstreamCalls) {
+
+    public LoadReport withUpstreamCalls(long upstreamCalls) {
+        return new LoadReport(scenario, requestsPerSecond, requests, errors, throughput, p50Ms, p99Ms, p999Ms, maxMs,
+                upstreamCalls);
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "%-28s %4d req/s offered, %5d requests, %3d errors, %7.1f req/s, p50 %6.2f ms, p99 %7.2f ms,"
+                        + " p999 %s, max %7.2f ms, %4d upstream calls",
+                scenario, requestsPerSecond, requests, errors, throughput, p50Ms, p99Ms,
+                p999Ms == null ? "n/a" : String.format(Locale.ROOT, "%7.2f ms", p999Ms), maxMs, upstreamCalls);
+    }
+}
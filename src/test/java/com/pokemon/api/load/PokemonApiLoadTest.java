@@ -0,0 +1,214 @@
+package com.pokemon.api.load;
+
+import com.pokemon.api.model.PreloadProgress;
+import com.pokemon.api.service.PokemonPreloader;
+import com.pokemon.api.support.MockPokeApiServer;
+import com.pokemon.api.support.MockPokeApiServer.Fault;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency-regression suite: each scenario drives one endpoint at a fixed request rate against
+ * a PokeAPI stand-in with {@value #UPSTREAM_LATENCY_MS} ms of latency and fails when its p50,
+ * p99 or upstream call count regresses against {@link LatencyBaseline}. Results are logged and
+ * written to {@code target/load-reports}.
+ * <p>
+ * Every scenario first runs unrecorded for {@code WARM_UP} so the JIT has compiled its path;
+ * with less, hits still ran interpreted and p50 and p99 drifted by half between JVMs. It then
+ * starts again from empty caches, primes what it expects to be cached and measures
+ * {@value #REQUESTS} requests in steady state. Cache misses are spread evenly over the run
+ * instead of all landing at its start, so p99 measures a miss and not the backlog behind a
+ * cold cache.
+ * <p>
+ * Run with {@code mvn test -Pload-test -Dtest=PokemonApiLoadTest}; add {@code -Dload.record=true}
+ * to store the results as the new baseline (on the machine that will run the comparisons).
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"pokeapi.sync.enabled=false", "pokeapi.snapshot.enabled=false",
+                "pokeapi.evolutions.preload=false", "pokeapi.max-pokemon=" + PokemonApiLoadTest.DEX_SIZE,
+                "pokeapi.preload.requests-per-second=" + PokemonApiLoadTest.PRELOAD_RATE, "pokeapi.preload.burst=1",
+                "logging.level.com.pokemon.api=INFO"})
+class PokemonApiLoadTest {
+
+    static final int UPSTREAM_LATENCY_MS = 20;
+    static final int REQUESTS = LatencyBaseline.MIN_REQUESTS_P99;
+
+    private static final int REQUESTS_PER_SECOND = 100;
+    private static final Duration DURATION = Duration.ofSeconds(REQUESTS / REQUESTS_PER_SECOND);
+    private static final Duration WARM_UP = Duration.ofSeconds(40);
+
+    /** Every fifth request of the by-ID scenarios asks for a Pokémon not requested before. */
+    private static final int MISS_EVERY = 5;
+    private static final int HOT_IDS = 50;
+    static final int DEX_SIZE = HOT_IDS + REQUESTS / MISS_EVERY;
+
+    /** Spreads a preload over the measured run, as its rate limit does in production. */
+    static final int PRELOAD_RATE = DEX_SIZE / (REQUESTS / REQUESTS_PER_SECOND);
+
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = DEX_SIZE / PAGE_SIZE;
+
+    private static final Set<Integer> OK = Set.of(200);
+
+    private static final MockPokeApiServer upstream = new MockPokeApiServer()
+            .latency(Duration.ofMillis(UPSTREAM_LATENCY_MS));
+    private static final LatencyBaseline baseline = LatencyBaseline.fromSystemProperties();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PokemonPreloader pokemonPreloader;
+
+    private LoadGenerator load;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("pokeapi.base-url", upstream::baseUrl);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+    }
+
+    @BeforeEach
+    void setup() {
+        load = new LoadGenerator("http://localhost:" + port);
+        upstream.recover();
+    }
+
+    @AfterEach
+    void tearDown() {
+        load.close();
+    }
+
+    @Test
+    void pokemonById() throws InterruptedException {
+        // p50 measures hits and p99 the misses; each missed ID costs one upstream call
+        LoadReport report = measure("pokemon-by-id", this::pokemonRequest, OK, HOT_IDS, this::hotRequest);
+
+        check(report);
+        assertThat(upstream.totalRequests()).isEqualTo(REQUESTS / MISS_EVERY);
+    }
+
+    @Test
+    void pokemonById_WithFlakyUpstream() throws InterruptedException {
+        // Three upstream calls in a hundred fail; retries should keep every answer a 200 and p99
+        // at the cost of a miss. Fewer than one request in a hundred waits for a retry, so
+        // p99 does not flip between a miss and the retry backoff, and all three attempts
+        // failing is rare enough that an error is a regression. The measured run restarts the
+        // mock's fault sequence, so it meets the same faults every time
+        upstream.faultRate(0.03, Fault.status(503));
+
+        LoadReport report = measure("pokemon-by-id-flaky-upstream", this::pokemonRequest, OK, HOT_IDS,
+                this::hotRequest);
+
+        check(report);
+        assertThat(report.errors()).isZero();
+    }
+
+    @Test
+    void pokemonPage() throws InterruptedException {
+        // Every page is loaded once while priming; the measured run must not go upstream at all
+        LoadReport report = measure("pokemon-page", this::pageRequest, OK, PAGES, this::pageRequest);
+
+        check(report);
+        assertThat(upstream.totalRequests()).isZero();
+    }
+
+    @Test
+    void cachePreload() throws InterruptedException {
+        // Repeated triggers while a run is active are turned away, and answered quickly while
+        // the preload decodes in the background; later runs find everything cached
+        LoadReport report = measure("cache-preload", i -> load.post("/api/v1/pokemon/cache/preload"),
+                Set.of(202, 409), 0, null);
+        PreloadProgress progress = pokemonPreloader.progress();
+
+        check(report);
+        assertThat(progress.failed()).isZero();
+        assertThat(upstream.totalRequests()).isEqualTo(DEX_SIZE);
+    }
+
+    /**
+     * Runs the scenario unrecorded for {@link #WARM_UP}, clears the caches, sends the first
+     * {@code primed} requests built by {@code prime}, then measures the scenario with the
+     * upstream call count reset, counting upstream calls until any preload it set off ends.
+     */
+    private LoadReport measure(String scenario, IntFunction<HttpRequest> request, Set<Integer> expectedStatuses,
+                               int primed, IntFunction<HttpRequest> prime) throws InterruptedException {
+        load.run(scenario + "-warm-up", REQUESTS_PER_SECOND, WARM_UP, request, expectedStatuses);
+        awaitPreload();
+        clearCaches();
+        if (primed > 0) {
+            load.run(scenario + "-prime", primed, Duration.ofSeconds(1), prime, OK);
+        }
+        upstream.resetCounts();
+
+        LoadReport report = load.run(scenario, REQUESTS_PER_SECOND, DURATION, request, expectedStatuses);
+        awaitPreload();
+        return report.withUpstreamCalls(upstream.totalRequests());
+    }
+
+    /** A hot ID, or for every {@link #MISS_EVERY}th request the next ID past them, so it misses. */
+    private HttpRequest pokemonRequest(int i) {
+        return load.get("/api/v1/pokemon/" + (i % MISS_EVERY == 0 ? HOT_IDS + 1 + i / MISS_EVERY : i % HOT_IDS + 1));
+    }
+
+    private HttpRequest hotRequest(int i) {
+        return load.get("/api/v1/pokemon/" + (i % HOT_IDS + 1));
+    }
+
+    private HttpRequest pageRequest(int i) {
+        return load.get("/api/v1/pokemon?offset=" + (i % PAGES) * PAGE_SIZE + "&limit=" + PAGE_SIZE);
+    }
+
+    private void clearCaches() {
+        Objects.requireNonNull(cacheManager.getCache("pokemon")).clear();
+        Objects.requireNonNull(cacheManager.getCache("pokemonList")).clear();
+    }
+
+    private void check(LoadReport report) {
+        log.info("{}", report.summary());
+        baseline.report(report);
+        if (LatencyBaseline.recording()) {
+            baseline.record(report);
+            log.info("Recorded {} as the baseline in {}", report.scenario(), LatencyBaseline.FILE);
+            return;
+        }
+        assertThat(baseline.regressions(report)).as(report.summary()).isEmpty();
+    }
+
+    private PreloadProgress awaitPreload() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        PreloadProgress progress;
+        while ((progress = pokemonPreloader.progress()).running() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(progress.running()).as("preload still running").isFalse();
+        return progress;
+    }
+}
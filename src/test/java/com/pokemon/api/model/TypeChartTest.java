@@ -0,0 +1,55 @@
+package com.pokemon.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeChartTest {
+
+    @Test
+    void dualTypes_ShouldLetResistancesAndImmunitiesCancelWeaknesses() {
+        TypeMatchups waterGround = TypeChart.matchups(List.of("water", "ground"));
+
+        assertThat(waterGround.quadruple()).containsExactly("Grass");
+        assertThat(waterGround.twice()).isEmpty();
+        assertThat(waterGround.immune()).containsExactly("Electric");
+        assertThat(waterGround.half()).containsExactly("Fire", "Poison", "Rock", "Steel");
+        assertThat(TypeChart.weaknesses(List.of("water", "ground"))).containsExactly("Grass");
+    }
+
+    @Test
+    void weaknesses_ShouldListFourTimesBeforeTwoTimes() {
+        assertThat(TypeChart.weaknesses(List.of("grass", "poison"))).containsExactly("Fire", "Ice", "Flying", "Psychic");
+        assertThat(TypeChart.weaknesses(List.of("bug", "flying"))).containsExactly("Rock", "Fire", "Electric", "Ice", "Flying");
+        assertThat(TypeChart.weaknesses(List.of("electric"))).containsExactly("Ground");
+    }
+
+    @Test
+    void multiplier_ShouldBeTheProductOfBothDefendingTypes() {
+        assertThat(TypeChart.multiplier(PokemonType.ICE, PokemonType.DRAGON, PokemonType.FLYING)).isEqualTo(4.0);
+        assertThat(TypeChart.multiplier(PokemonType.FIGHTING, PokemonType.BUG, PokemonType.POISON)).isEqualTo(0.25);
+        assertThat(TypeChart.multiplier(PokemonType.GROUND, PokemonType.STEEL, PokemonType.FLYING)).isZero();
+        assertThat(TypeChart.multiplier(PokemonType.FIRE, PokemonType.GRASS, PokemonType.GRASS))
+                .isEqualTo(TypeChart.effectiveness(PokemonType.FIRE, PokemonType.GRASS))
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void matchups_ShouldBeSharedAndIndependentOfTypeOrder() {
+        TypeMatchups matchups = TypeChart.matchups(PokemonType.WATER, PokemonType.GROUND);
+
+        assertThat(TypeChart.matchups(PokemonType.GROUND, PokemonType.WATER)).isSameAs(matchups);
+        assertThat(TypeChart.matchups(List.of("ground", "water"))).isSameAs(matchups);
+        assertThat(TypeChart.matchups(List.of("fire"))).isSameAs(TypeChart.matchups(PokemonType.FIRE, null));
+        assertThat(matchups.multipliers()).hasSize(18).containsEntry("grass", 4.0).containsEntry("electric", 0.0);
+    }
+
+    @Test
+    void unknownTypes_ShouldBeIgnored() {
+        assertThat(TypeChart.matchups(List.of("stellar", "fire"))).isSameAs(TypeChart.matchups(PokemonType.FIRE, null));
+        assertThat(TypeChart.matchups(List.of("stellar"))).isNull();
+        assertThat(TypeChart.weaknesses(null)).isEmpty();
+    }
+}
@@ -0,0 +1,38 @@
+package com.pokemon.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VocabularyTest {
+
+    @Test
+    void intern_ShouldReturnCanonicalInstances_ForTypeAndStatNames() {
+        char[] buffer = "{\"name\":\"special-attack\"}".toCharArray();
+
+        assertThat(Vocabulary.intern(new String("fairy"))).isSameAs(PokemonType.FAIRY.apiName());
+        assertThat(Vocabulary.intern(buffer, 9, 14)).isSameAs(StatName.SPECIAL_ATTACK.apiName());
+        assertThat(Vocabulary.intern(buffer, 9, 7)).isEqualTo("special");
+        assertThat(Vocabulary.intern("stellar")).isEqualTo("stellar");
+        assertThat(Vocabulary.intern(null)).isNull();
+    }
+
+    @Test
+    void capitalize_ShouldOnlyTouchTheFirstLetter() {
+        String capitalized = "Mr-mime";
+
+        assertThat(Vocabulary.capitalize("mr-mime")).isEqualTo(capitalized);
+        assertThat(Vocabulary.capitalize(capitalized)).isSameAs(capitalized);
+        assertThat(Vocabulary.capitalize("")).isEmpty();
+    }
+
+    @Test
+    void regionTable_ShouldMatchRegionBoundaries() {
+        assertThat(Region.forPokemonId(0)).isEqualTo(Region.KANTO);
+        assertThat(Region.forPokemonId(151)).isEqualTo(Region.KANTO);
+        assertThat(Region.forPokemonId(152)).isEqualTo(Region.JOHTO);
+        assertThat(Region.forPokemonId(905)).isEqualTo(Region.GALAR);
+        assertThat(Region.forPokemonId(906)).isEqualTo(Region.PALDEA);
+        assertThat(Region.forPokemonId(10_001)).isEqualTo(Region.PALDEA);
+    }
+}
@@ -0,0 +1,135 @@
+package com.pokemon.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 5, 50, OPEN_DURATION, 2, nanos::get);
+
+    @Test
+    void shouldStayClosed_BelowMinimumCalls() {
+        // when
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldOpen_AtFailureRateThreshold_AndRejectUntilOpenDurationPassed() {
+        // given
+        call(true);
+        call(true);
+        call(true);
+        call(false);
+        call(false);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // when
+        call(false);
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        nanos.addAndGet(OPEN_DURATION.minusSeconds(1).toNanos());
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void shouldForgetOutcomesThatLeftTheWindow() {
+        // given: four failures, then ten successes push them out of the window
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+        for (int i = 0; i < 10; i++) {
+            call(true);
+        }
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+
+        // then: 4 of the last 10 failed, not 8 of 18
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpen_ShouldAdmitLimitedTrials_AndCloseWhenAllSucceed() {
+        // given
+        open();
+        nanos.addAndGet(OPEN_DURATION.toNanos());
+
+        // when
+        boolean first = breaker.tryAcquire();
+        boolean second = breaker.tryAcquire();
+        boolean third = breaker.tryAcquire();
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpen_ShouldReopenOnFailedTrial() {
+        // given
+        open();
+        nanos.addAndGet(OPEN_DURATION.toNanos());
+        breaker.tryAcquire();
+
+        // when
+        breaker.onFailure();
+
+        // then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void halfOpen_ShouldHandBackTrialPermit_WhenTrialIsIgnored() {
+        // given
+        open();
+        nanos.addAndGet(OPEN_DURATION.toNanos());
+        breaker.tryAcquire();
+        breaker.tryAcquire();
+
+        // when
+        breaker.onIgnored();
+
+        // then
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private void call(boolean success) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        if (success) {
+            breaker.onSuccess();
+        } else {
+            breaker.onFailure();
+        }
+    }
+
+    private void open() {
+        for (int i = 0; i < 5; i++) {
+            if (breaker.state() == CircuitBreaker.State.CLOSED) {
+                call(false);
+            }
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,141 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.cache.CacheRefreshStats;
+import com.pokemon.api.model.EvolutionLine;
+import com.pokemon.api.response.NamedResource;
+import com.pokemon.api.response.PokemonSpeciesResponse;
+import com.pokemon.api.support.PokemonFixtures;
+import com.pokemon.api.support.TestCacheManagers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EvolutionServiceTest {
+
+    @Mock
+    private PokeApiService pokeApiService;
+
+    private EvolutionService evolutionService;
+
+    @BeforeEach
+    void setup() {
+        PokemonCacheManager cacheManager = new PokemonCacheManager(TestCacheManagers.caffeine(pokeApiService),
+                new CacheRefreshStats(), new SimpleMeterRegistry());
+        evolutionService = new EvolutionService(pokeApiService, cacheManager, true, Duration.ofHours(1));
+    }
+
+    @Test
+    void loadAll_ShouldFetchChainsInOneBatch_AndServeLinesFromMemory() {
+        // given
+        when(pokeApiService.fetchEvolutionChainIds()).thenReturn(Mono.just(List.of(1L, 67L)));
+        when(pokeApiService.fetchEvolutionChainsByIds(any()))
+                .thenReturn(Flux.just(PokemonFixtures.evolutionChain(1), PokemonFixtures.evolutionChain(67)));
+
+        // when
+        evolutionService.loadAll();
+        Optional<EvolutionLine> venusaur = evolutionService.findLine(3L);
+        Optional<EvolutionLine> jolteon = evolutionService.findLine(135L);
+
+        // then
+        assertThat(venusaur).get().satisfies(line -> assertThat(line.evolvesFrom()).isEqualTo(2L));
+        assertThat(jolteon).get().satisfies(line -> assertThat(line.chainId()).isEqualTo(67L));
+        verify(pokeApiService, times(1)).fetchEvolutionChainsByIds(any());
+        verify(pokeApiService, never()).fetchSpecies(any());
+        verify(pokeApiService, never()).fetchEvolutionChain(any());
+    }
+
+    @Test
+    void findLine_ShouldLoadAnUnknownSpeciesChainOnce() {
+        // given
+        when(pokeApiService.fetchSpecies(2L)).thenReturn(Mono.just(species(2, 1)));
+        when(pokeApiService.fetchEvolutionChain(1L)).thenReturn(Mono.just(PokemonFixtures.evolutionChain(1)));
+
+        // when
+        Optional<EvolutionLine> ivysaur = evolutionService.findLine(2L);
+        Optional<EvolutionLine> bulbasaur = evolutionService.findLine(1L);
+
+        // then
+        assertThat(ivysaur).get().satisfies(line -> assertThat(line.evolvesTo()).containsExactly(3L));
+        assertThat(bulbasaur).get().satisfies(line -> assertThat(line.evolvesFrom()).isNull());
+        verify(pokeApiService, times(1)).fetchSpecies(any());
+        verify(pokeApiService, times(1)).fetchEvolutionChain(1L);
+    }
+
+    @Test
+    void findLine_ShouldBeEmpty_ForUnknownSpecies() {
+        // given
+        when(pokeApiService.fetchSpecies(5000L))
+                .thenReturn(Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+        // when / then
+        assertThat(evolutionService.findLine(5000L)).isEmpty();
+    }
+
+    @Test
+    void findLine_ShouldAskPokeApiOnce_ForRepeatedAndConcurrentUnknownIds() throws Exception {
+        // given
+        when(pokeApiService.fetchSpecies(999999L)).thenReturn(Mono.<PokemonSpeciesResponse>error(
+                        WebClientResponseException.create(404, "Not Found", null, null, null))
+                .delaySubscription(Duration.ofMillis(200)));
+        Callable<Optional<EvolutionLine>> lookup = () -> evolutionService.findLine(999999L);
+
+        // when
+        try (ExecutorService clients = Executors.newFixedThreadPool(8)) {
+            for (Future<Optional<EvolutionLine>> line : clients.invokeAll(IntStream.range(0, 8).mapToObj(i -> lookup).toList())) {
+                assertThat(line.get()).isEmpty();
+            }
+        }
+        Optional<EvolutionLine> later = evolutionService.findLine(999999L);
+
+        // then
+        assertThat(later).isEmpty();
+        verify(pokeApiService, times(1)).fetchSpecies(999999L);
+    }
+
+    @Test
+    void findLine_ShouldNotCacheFailedLookups() {
+        // given
+        when(pokeApiService.fetchSpecies(2L))
+                .thenReturn(Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null)))
+                .thenReturn(Mono.just(species(2, 1)));
+        when(pokeApiService.fetchEvolutionChain(1L)).thenReturn(Mono.just(PokemonFixtures.evolutionChain(1)));
+
+        // when / then
+        assertThatThrownBy(() -> evolutionService.findLine(2L)).isInstanceOf(WebClientResponseException.class);
+        assertThat(evolutionService.findLine(2L)).isPresent();
+        verify(pokeApiService, times(2)).fetchSpecies(2L);
+    }
+
+    private static PokemonSpeciesResponse species(long id, long chainId) {
+        NamedResource chain = new NamedResource();
+        chain.setUrl("https://pokeapi.co/api/v2/evolution-chain/" + chainId + "/");
+        PokemonSpeciesResponse species = new PokemonSpeciesResponse();
+        species.setId(id);
+        species.setEvolutionChain(chain);
+        return species;
+    }
+}
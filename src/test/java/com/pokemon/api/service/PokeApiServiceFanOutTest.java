@@ -0,0 +1,81 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.support.MockPokeApiServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times a full {@link PokeApiService#fetchAllPokemon()} load, the fan-out behind the
+ * "pokemonList" cache, with 10 and with 64 upstream calls in flight. The fan-out holds no
+ * thread while it waits, so the concurrency cap (the batch limit and the bulkhead permits) is
+ * the only thing that decides how long it takes. The connection pool is sized above both caps.
+ */
+@Slf4j
+@Tag("load")
+class PokeApiServiceFanOutTest {
+
+    private static final int POKEMON = 200;
+    private static final int LOW_CONCURRENCY = 10;
+    private static final int HIGH_CONCURRENCY = 64;
+
+    private static final MockPokeApiServer upstream = new MockPokeApiServer()
+            .latency(Duration.ofMillis(200))
+            .maxId(POKEMON);
+
+    private static final ConnectionProvider connections = ConnectionProvider.builder("fan-out-test")
+            .maxConnections(HIGH_CONCURRENCY)
+            .build();
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+        connections.dispose();
+    }
+
+    @Test
+    void fetchAllPokemon_ShouldScaleWithUpstreamConcurrency() {
+        loadAll(HIGH_CONCURRENCY, 50); // warm-up
+
+        long lowNanos = loadAll(LOW_CONCURRENCY, POKEMON);
+        long highNanos = loadAll(HIGH_CONCURRENCY, POKEMON);
+
+        log.info("{} in flight: {} Pokémon in {} ms ({} per second)",
+                LOW_CONCURRENCY, POKEMON, lowNanos / 1_000_000, POKEMON * 1_000_000_000L / lowNanos);
+        log.info("{} in flight: {} Pokémon in {} ms ({} per second)",
+                HIGH_CONCURRENCY, POKEMON, highNanos / 1_000_000, POKEMON * 1_000_000_000L / highNanos);
+
+        assertThat(highNanos).isLessThan(lowNanos / 2);
+    }
+
+    private long loadAll(int concurrency, int maxPokemon) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl(upstream.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        PokeApiService service = new PokeApiService(webClient,
+                new UpstreamPolicy(UpstreamPolicy.Settings.defaults().toBuilder().maxConcurrent(concurrency).build()));
+        ReflectionTestUtils.setField(service, "maxPokemon", maxPokemon);
+        ReflectionTestUtils.setField(service, "batchConcurrency", concurrency);
+        ReflectionTestUtils.setField(service, "batchRequestTimeout", Duration.ofSeconds(30));
+
+        long start = System.nanoTime();
+        List<Pokemon> all = service.fetchAllPokemon().collectList().block();
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(all).hasSize(maxPokemon);
+        return elapsed;
+    }
+}
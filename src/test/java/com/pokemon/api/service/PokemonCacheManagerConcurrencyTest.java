@@ -0,0 +1,150 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.cache.CacheRefreshStats;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.support.TestCacheManagers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stress harness for single-flight loading: many threads are released at once against a cold
+ * cache while the upstream call is slow enough for all of them to miss together.
+ */
+@ExtendWith(MockitoExtension.class)
+class PokemonCacheManagerConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(100);
+
+    @Mock
+    private PokeApiService pokeApiService;
+
+    private PokemonCacheManager pokemonCacheManager;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        pokemonCacheManager = new PokemonCacheManager(TestCacheManagers.caffeine(pokeApiService), new CacheRefreshStats(), new SimpleMeterRegistry());
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @RepeatedTest(10)
+    void concurrentMisses_ShouldShareOneUpstreamCall() throws Exception {
+        // given
+        when(pokeApiService.fetchPokemonById(25L))
+                .thenAnswer(invocation -> Mono.just(new Pokemon(25L, "Pikachu")).delayElement(UPSTREAM_LATENCY));
+
+        // when
+        List<Pokemon> results = runConcurrently(() -> pokemonCacheManager.getPokemonByIdWithCache(25L));
+
+        // then
+        verify(pokeApiService, times(1)).fetchPokemonById(25L);
+        assertThat(results).hasSize(THREADS).allSatisfy(pokemon -> assertThat(pokemon).isSameAs(results.get(0)));
+    }
+
+    @Test
+    void concurrentMisses_ShouldAllReceiveTheSameError() throws Exception {
+        // given
+        when(pokeApiService.fetchPokemonById(25L))
+                .thenAnswer(invocation -> Mono.<Pokemon>error(new IllegalStateException("PokeAPI down"))
+                        .delaySubscription(UPSTREAM_LATENCY));
+
+        // when
+        List<Throwable> errors = runConcurrently(() -> catchThrowable(() -> pokemonCacheManager.getPokemonByIdWithCache(25L)));
+
+        // then
+        verify(pokeApiService, times(1)).fetchPokemonById(25L);
+        assertThat(errors).hasSize(THREADS).allSatisfy(error -> assertThat(error).hasMessageContaining("PokeAPI down"));
+    }
+
+    @RepeatedTest(10)
+    void overlappingBatchAndSingleLookups_ShouldFetchEachIdOnce() throws Exception {
+        // given
+        Map<Long, AtomicInteger> upstreamCalls = new ConcurrentHashMap<>();
+        lenient().when(pokeApiService.fetchPokemonById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            upstreamCalls.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+            return Mono.just(new Pokemon(id, "Pokemon-" + id)).delayElement(UPSTREAM_LATENCY);
+        });
+        lenient().when(pokeApiService.fetchPokemonByIds(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            ids.forEach(id -> upstreamCalls.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet());
+            return Flux.fromIterable(ids).map(id -> new Pokemon(id, "Pokemon-" + id)).delaySubscription(UPSTREAM_LATENCY);
+        });
+        List<Long> page = LongStream.rangeClosed(1, 20).boxed().toList();
+        AtomicInteger turn = new AtomicInteger();
+
+        // when
+        List<Integer> sizes = runConcurrently(() -> {
+            int n = turn.getAndIncrement();
+            if (n % 2 == 0) {
+                return pokemonCacheManager.getPokemonBatchWithCache(page).size();
+            }
+            return pokemonCacheManager.getPokemonByIdWithCache(page.get(n % page.size())) != null ? 1 : 0;
+        });
+
+        // then
+        assertThat(upstreamCalls).hasSize(page.size());
+        assertThat(upstreamCalls.values()).allSatisfy(calls -> assertThat(calls.get()).isEqualTo(1));
+        assertThat(sizes).allSatisfy(size -> assertThat(size).isIn(1, page.size()));
+    }
+
+    /** Releases {@link #THREADS} callers at the same instant and collects their results. */
+    private <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                return task.call();
+            }));
+        }
+        assertThat(ready.await(10, TimeUnit.SECONDS)).isTrue();
+        start.countDown();
+
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+}
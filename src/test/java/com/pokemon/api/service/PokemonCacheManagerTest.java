@@ -1,19 +1,28 @@
 package com.pokemon.api.service;
 
+import com.pokemon.api.cache.CacheRefreshStats;
 import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.support.TestCacheManagers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,7 +31,7 @@ class PokemonCacheManagerTest {
     @Mock
     private PokeApiService pokeApiService;
 
-    @InjectMocks
+    private CacheManager cacheManager;
     private PokemonCacheManager pokemonCacheManager;
 
     private Pokemon bulbasaur;
@@ -30,6 +39,8 @@ class PokemonCacheManagerTest {
 
     @BeforeEach
     void setup() {
+        cacheManager = TestCacheManagers.caffeine(pokeApiService);
+        pokemonCacheManager = new PokemonCacheManager(cacheManager, new CacheRefreshStats(), new SimpleMeterRegistry());
         bulbasaur = new Pokemon(1L, "Bulbasaur");
         ivysaur = new Pokemon(2L, "Ivysaur");
     }
@@ -37,7 +48,7 @@ class PokemonCacheManagerTest {
     @Test
     void getPokemonByIdWithCache_ShouldFetchFromService() {
         // given
-        when(pokeApiService.getPokemonById(1L)).thenReturn(bulbasaur);
+        when(pokeApiService.fetchPokemonById(1L)).thenReturn(Mono.just(bulbasaur));
 
         // when
         Pokemon result = pokemonCacheManager.getPokemonByIdWithCache(1L);
@@ -45,13 +56,26 @@ class PokemonCacheManagerTest {
         // then
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo("Bulbasaur");
-        verify(pokeApiService, times(1)).getPokemonById(1L);
+        verify(pokeApiService, times(1)).fetchPokemonById(1L);
+    }
+
+    @Test
+    void getPokemonById_ShouldServeSecondLookupFromCache() {
+        // given
+        when(pokeApiService.fetchPokemonById(1L)).thenReturn(Mono.just(bulbasaur));
+
+        // when
+        StepVerifier.create(pokemonCacheManager.getPokemonById(1L)).expectNext(bulbasaur).verifyComplete();
+        StepVerifier.create(pokemonCacheManager.getPokemonById(1L)).expectNext(bulbasaur).verifyComplete();
+
+        // then
+        verify(pokeApiService, times(1)).fetchPokemonById(1L);
     }
 
     @Test
     void getAllPokemonWithCache_ShouldFetchFromService() {
         // given
-        when(pokeApiService.getAllPokemon()).thenReturn(Arrays.asList(bulbasaur, ivysaur));
+        when(pokeApiService.fetchAllPokemon()).thenReturn(Flux.just(ivysaur, bulbasaur));
 
         // when
         List<Pokemon> result = pokemonCacheManager.getAllPokemonWithCache();
@@ -59,6 +83,80 @@ class PokemonCacheManagerTest {
         // then
         assertThat(result).hasSize(2);
         assertThat(result).extracting("name").containsExactly("Bulbasaur", "Ivysaur");
-        verify(pokeApiService, times(1)).getAllPokemon();
+        verify(pokeApiService, times(1)).fetchAllPokemon();
+    }
+
+    @Test
+    void getPokemonBatchWithCache_ShouldFetchOnlyMisses_AndKeepIdOrder() {
+        // given
+        Pokemon venusaur = new Pokemon(3L, "Venusaur");
+        cacheManager.getCache("pokemon").put(2L, ivysaur);
+        when(pokeApiService.fetchPokemonByIds(argThat(ids -> ids.containsAll(List.of(3L, 1L)) && ids.size() == 2)))
+                .thenReturn(Flux.just(bulbasaur, venusaur));
+
+        // when
+        List<Pokemon> result = pokemonCacheManager.getPokemonBatchWithCache(List.of(3L, 2L, 1L));
+
+        // then
+        assertThat(result).extracting("name").containsExactly("Venusaur", "Ivysaur", "Bulbasaur");
+        assertThat(TestCacheManagers.cachedValue(cacheManager, "pokemon", 1L)).isSameAs(bulbasaur);
+        verify(pokeApiService, times(1)).fetchPokemonByIds(any());
+    }
+
+    @Test
+    void getPokemonBatchWithCache_ShouldSkipIdsThatCouldNotBeFetched() {
+        // given
+        when(pokeApiService.fetchPokemonByIds(any())).thenReturn(Flux.just(ivysaur));
+
+        // when
+        List<Pokemon> result = pokemonCacheManager.getPokemonBatchWithCache(List.of(1L, 2L));
+
+        // then
+        assertThat(result).containsExactly(ivysaur);
+        assertThat(TestCacheManagers.cachedValue(cacheManager, "pokemon", 1L)).isNull();
+    }
+
+    @Test
+    void getPokemonByIds_ShouldLoadScatteredMissesTogether_AndLeaveUnknownIdsOut() {
+        // given
+        cacheManager.getCache("pokemon").put(2L, ivysaur);
+        when(pokeApiService.fetchPokemonByIds(argThat(ids -> ids.containsAll(List.of(1L, 9999L)) && ids.size() == 2)))
+                .thenReturn(Flux.just(bulbasaur));
+
+        // when
+        Map<Long, Pokemon> result = pokemonCacheManager.getPokemonByIds(List.of(9999L, 2L, 1L)).block();
+
+        // then
+        assertThat(result).containsOnlyKeys(1L, 2L).containsEntry(2L, ivysaur).containsEntry(1L, bulbasaur);
+        verify(pokeApiService, times(1)).fetchPokemonByIds(any());
+    }
+
+    @Test
+    void cachedPokemon_ShouldListLoadedEntriesWithoutLoading() {
+        // given
+        cacheManager.getCache("pokemon").put(1L, bulbasaur);
+        cacheManager.getCache("pokemon").put(2L, ivysaur);
+
+        // when
+        List<Pokemon> result = pokemonCacheManager.cachedPokemon();
+
+        // then
+        assertThat(result).containsExactlyInAnyOrder(bulbasaur, ivysaur);
+        verifyNoInteractions(pokeApiService);
+    }
+
+    @Test
+    void isCached_ShouldOnlyCountFinishedLoads() {
+        // given
+        when(pokeApiService.fetchPokemonById(1L)).thenReturn(Mono.never());
+        cacheManager.getCache("pokemon").put(2L, ivysaur);
+
+        // when
+        pokemonCacheManager.getPokemonById(1L).subscribe();
+
+        // then
+        assertThat(pokemonCacheManager.isCached(1L)).isFalse();
+        assertThat(pokemonCacheManager.isCached(2L)).isTrue();
+        assertThat(pokemonCacheManager.isCached(3L)).isFalse();
     }
 }
@@ -7,11 +7,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.anyLong;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -23,6 +28,12 @@ class PokemonCacheServiceTest {
     @Mock
     private PokemonCacheManager pokemonCacheManager;
 
+    @Mock
+    private PokemonPreloader pokemonPreloader;
+
+    @Mock
+    private PokemonDeltaSync pokemonDeltaSync;
+
     @InjectMocks
     private PokemonCacheService pokemonCacheService;
 
@@ -33,31 +44,45 @@ class PokemonCacheServiceTest {
 
         pokemonCacheService.preloadPokemonCache();
 
+        verifyNoInteractions(pokemonPreloader);
         verifyNoInteractions(pokemonCacheManager);
     }
 
     @Test
-    void preloadPokemonCache_ShouldPreload100Pokemons_WhenSyncEnabled() throws Exception {
-        // given
+    void preloadPokemonCache_ShouldRunPreloader_WhenSyncEnabled() {
+        ReflectionTestUtils.setField(pokemonCacheService, "isSyncEnabled", true);
+
+        pokemonCacheService.preloadPokemonCache();
+
+        verify(pokemonPreloader, times(1)).run();
+    }
+
+    @Test
+    void preloadPokemonCache_ShouldRevalidateCachedEntries_InDeltaMode() {
         ReflectionTestUtils.setField(pokemonCacheService, "isSyncEnabled", true);
+        ReflectionTestUtils.setField(pokemonCacheService, "syncMode", "delta");
+
+        pokemonCacheService.preloadPokemonCache();
+
+        verify(pokemonPreloader, times(1)).run();
+        verify(pokemonDeltaSync, times(1)).run();
+    }
 
-        when(pokemonCacheManager.getPokemonByIdWithCache(anyLong()))
-                .thenAnswer(invocation -> {
-                    Long id = invocation.getArgument(0);
-                    return new Pokemon(id, "Pokemon-" + id);
-                });
+    @Test
+    void preloadPokemonCache_ShouldOnlyPreload_InPreloadMode() {
+        ReflectionTestUtils.setField(pokemonCacheService, "isSyncEnabled", true);
+        ReflectionTestUtils.setField(pokemonCacheService, "syncMode", "preload");
 
         pokemonCacheService.preloadPokemonCache();
 
-        verify(pokemonCacheManager, times(100)).getPokemonByIdWithCache(anyLong());
+        verify(pokemonPreloader, times(1)).run();
+        verifyNoInteractions(pokemonDeltaSync);
     }
 
     @Test
     void getPokemonBatch_ShouldReturnPokemons_WhenCacheWorks() throws Exception {
-        when(pokemonCacheManager.getPokemonByIdWithCache(1L))
-                .thenReturn(new Pokemon(1L, "Bulbasaur"));
-        when(pokemonCacheManager.getPokemonByIdWithCache(2L))
-                .thenReturn(new Pokemon(2L, "Ivysaur"));
+        when(pokemonCacheManager.getPokemonBatchWithCache(List.of(1L, 2L)))
+                .thenReturn(List.of(new Pokemon(1L, "Bulbasaur"), new Pokemon(2L, "Ivysaur")));
 
         List<Pokemon> result = pokemonCacheService.getPokemonBatch(0, 2);
 
@@ -67,15 +92,58 @@ class PokemonCacheServiceTest {
     }
 
     @Test
-    void getPokemonBatch_ShouldSkipNulls_WhenExceptionThrown() throws Exception {
-        when(pokemonCacheManager.getPokemonByIdWithCache(1L))
+    void getPokemonBatch_ShouldReturnEmptyList_WhenExceptionThrown() throws Exception {
+        when(pokemonCacheManager.getPokemonBatchWithCache(List.of(1L, 2L)))
                 .thenThrow(new RuntimeException("API error"));
-        when(pokemonCacheManager.getPokemonByIdWithCache(2L))
-                .thenReturn(new Pokemon(2L, "Ivysaur"));
 
         List<Pokemon> result = pokemonCacheService.getPokemonBatch(0, 2);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getName()).isEqualTo("Ivysaur");
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void getPokemonByIds_ShouldLeaveOutOnlyIdsPokeApiDoesNotKnow() {
+        when(pokemonCacheManager.getPokemonByIds(List.of(1L, 2L, 9999L)))
+                .thenReturn(Mono.just(Map.of(1L, new Pokemon(1L, "Bulbasaur"))));
+        when(pokemonCacheManager.getPokemonById(2L)).thenReturn(Mono.just(new Pokemon(2L, "Ivysaur")));
+        when(pokemonCacheManager.getPokemonById(9999L))
+                .thenReturn(Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+        Map<Long, Pokemon> result = pokemonCacheService.getPokemonByIds(List.of(1L, 2L, 9999L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    void getPokemonByIds_ShouldFail_WhenPokeApiFailsForAnId() {
+        when(pokemonCacheManager.getPokemonByIds(List.of(1L, 2L)))
+                .thenReturn(Mono.just(Map.of(2L, new Pokemon(2L, "Ivysaur"))));
+        when(pokemonCacheManager.getPokemonById(1L))
+                .thenReturn(Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null)));
+
+        assertThatThrownBy(() -> pokemonCacheService.getPokemonByIds(List.of(1L, 2L)))
+                .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+    }
+
+    @Test
+    void streamAllPokemon_ShouldFetchChunksInOrderOnlyAsFastAsDemanded() {
+        ReflectionTestUtils.setField(pokemonCacheService, "maxPokemon", 5);
+        ReflectionTestUtils.setField(pokemonCacheService, "streamChunkSize", 2);
+        when(pokemonCacheManager.getPokemonBatch(List.of(1L, 2L)))
+                .thenReturn(Mono.just(List.of(new Pokemon(1L, "Bulbasaur"), new Pokemon(2L, "Ivysaur"))));
+        when(pokemonCacheManager.getPokemonBatch(List.of(3L, 4L)))
+                .thenReturn(Mono.just(List.of(new Pokemon(3L, "Venusaur"), new Pokemon(4L, "Charmander"))));
+        when(pokemonCacheManager.getPokemonBatch(List.of(5L)))
+                .thenReturn(Mono.error(new IllegalStateException("PokeAPI down")));
+
+        StepVerifier.create(pokemonCacheService.streamAllPokemon(), 1)
+                .assertNext(pokemon -> assertThat(pokemon.getName()).isEqualTo("Bulbasaur"))
+                // One chunk ahead at most
+                .then(() -> verify(pokemonCacheManager, never()).getPokemonBatch(List.of(5L)))
+                .thenRequest(Long.MAX_VALUE)
+                .assertNext(pokemon -> assertThat(pokemon.getName()).isEqualTo("Ivysaur"))
+                .assertNext(pokemon -> assertThat(pokemon.getName()).isEqualTo("Venusaur"))
+                .assertNext(pokemon -> assertThat(pokemon.getName()).isEqualTo("Charmander"))
+                .verifyComplete();
     }
 }
@@ -0,0 +1,116 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.cache.CacheRefreshStats;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.SyncReport;
+import com.pokemon.api.support.MockPokeApiServer;
+import com.pokemon.api.support.MockPokeApiServer.Fault;
+import com.pokemon.api.support.TestCacheManagers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** {@link PokemonDeltaSync} over a real cache and {@link PokeApiService} against a {@link MockPokeApiServer}. */
+class PokemonDeltaSyncTest {
+
+    private static final List<Long> IDS = LongStream.rangeClosed(1, 5).boxed().toList();
+
+    private MockPokeApiServer upstream;
+    private PokeApiService pokeApiService;
+    private PokemonCacheManager cacheManager;
+    private PokemonDeltaSync deltaSync;
+
+    @BeforeEach
+    void setup() {
+        upstream = new MockPokeApiServer();
+        pokeApiService = new PokeApiService(WebClient.create(upstream.baseUrl()),
+                new UpstreamPolicy(UpstreamPolicy.Settings.defaults().toBuilder().maxAttempts(1).build()));
+        ReflectionTestUtils.setField(pokeApiService, "batchConcurrency", 4);
+        ReflectionTestUtils.setField(pokeApiService, "batchRequestTimeout", Duration.ofSeconds(5));
+        cacheManager = new PokemonCacheManager(TestCacheManagers.caffeine(pokeApiService), new CacheRefreshStats(),
+                new SimpleMeterRegistry());
+        deltaSync = new PokemonDeltaSync(pokeApiService, cacheManager, Optional.empty(), 4, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void run_ShouldOnlyDownloadAndReplaceWhatChanged() {
+        // given
+        List<Pokemon> loaded = cacheManager.getPokemonBatchWithCache(IDS);
+        upstream.update(3L, json -> json.replace("\"weight\":69", "\"weight\":70"));
+        upstream.resetCounts();
+
+        // when
+        SyncReport report = deltaSync.run();
+
+        // then
+        assertThat(report).extracting(SyncReport::checked, SyncReport::unchanged, SyncReport::updated, SyncReport::failed)
+                .containsExactly(5, 4, 1, 0);
+        assertThat(report.bytesDownloaded()).isEqualTo(upstream.payload(3L).length);
+        assertThat(upstream.notModifiedResponses()).isEqualTo(4);
+        assertThat(cacheManager.peek(3L).getWeight()).isEqualTo(70);
+        assertThat(cacheManager.peek(1L)).isSameAs(loaded.get(0)); // Untouched, so its serialized body stays valid
+    }
+
+    @Test
+    void run_ShouldCompareContent_WhenUpstreamSendsNoValidators() {
+        // given
+        upstream.etags(false);
+        List<Pokemon> loaded = cacheManager.getPokemonBatchWithCache(IDS);
+        upstream.update(2L, json -> json.replace("\"base_experience\":64", "\"base_experience\":65")); // Not a field we keep
+        upstream.update(4L, json -> json.replace("\"height\":7", "\"height\":8"));
+
+        // when
+        SyncReport report = deltaSync.run();
+
+        // then
+        assertThat(report).extracting(SyncReport::checked, SyncReport::unchanged, SyncReport::updated)
+                .containsExactly(5, 4, 1);
+        assertThat(cacheManager.peek(2L)).isSameAs(loaded.get(1));
+        assertThat(cacheManager.peek(4L).getHeight()).isEqualTo(8);
+    }
+
+    @Test
+    void run_ShouldCountFailures_AndKeepTheCachedEntry() {
+        // given
+        List<Pokemon> loaded = cacheManager.getPokemonBatchWithCache(List.of(1L));
+        upstream.inject(Fault.status(500));
+
+        // when
+        SyncReport report = deltaSync.run();
+
+        // then
+        assertThat(report).extracting(SyncReport::checked, SyncReport::failed).containsExactly(1, 1);
+        assertThat(cacheManager.peek(1L)).isSameAs(loaded.get(0));
+    }
+
+    @Test
+    void run_ShouldSkipEntriesCheckedRecently() {
+        // given
+        cacheManager.getPokemonBatchWithCache(IDS);
+        PokemonDeltaSync recentlyLoadedSkipped = new PokemonDeltaSync(pokeApiService, cacheManager, Optional.empty(), 4,
+                Duration.ofMinutes(30));
+        upstream.resetCounts();
+
+        // when
+        SyncReport report = recentlyLoadedSkipped.run();
+
+        // then
+        assertThat(report.checked()).isZero();
+        assertThat(upstream.totalRequests()).isZero();
+    }
+}
@@ -0,0 +1,120 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.model.StatName;
+import com.pokemon.api.response.PokeApiResponse;
+import com.pokemon.api.support.MockPokeApiServer;
+import com.pokemon.api.support.PokemonFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PokemonPayloadDecoderTest {
+
+    private MockPokeApiServer upstream;
+    private PokeApiService pokeApiService;
+
+    @BeforeEach
+    void setup() {
+        upstream = new MockPokeApiServer();
+        pokeApiService = new PokeApiService(WebClient.create(upstream.baseUrl()),
+                new UpstreamPolicy(UpstreamPolicy.Settings.defaults()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void decodePokemon_ShouldMatchBindingThenMapping() throws IOException {
+        byte[] payload = PokemonFixtures.pokeApiJson();
+        Pokemon bound = PokemonFixtures.fromResponse(PokemonFixtures.objectMapper().readValue(payload, PokeApiResponse.class));
+
+        Pokemon decoded = pokeApiService.decodePokemon(new ByteArrayInputStream(payload));
+
+        assertThat(decoded).isEqualTo(bound);
+        assertThat(decoded.getName()).isEqualTo("Bulbasaur");
+        assertThat(decoded.getTypes()).containsExactly("grass", "poison");
+        assertThat(decoded.getStats()).hasSize(6).allSatisfy(stat -> assertThat(stat.getBaseStat()).isNotNull());
+        assertThat(decoded.getSprites().getOfficialArtwork()).endsWith("/other/official-artwork/1.png");
+    }
+
+    @Test
+    void decodePokemon_ShouldShareVocabularyStrings() throws IOException {
+        Pokemon decoded = pokeApiService.decodePokemon(new ByteArrayInputStream(PokemonFixtures.pokeApiJson()));
+
+        assertThat(decoded.getTypes().get(0)).isSameAs(PokemonType.GRASS.apiName());
+        assertThat(decoded.getStats().get(5).getName()).isSameAs(StatName.SPEED.apiName());
+        assertThat(decoded.getRegion()).isSameAs(Region.KANTO.displayName());
+    }
+
+    @Test
+    void decodePokemon_ShouldReturnUnmodifiableLists() throws IOException {
+        Pokemon decoded = pokeApiService.decodePokemon(new ByteArrayInputStream(PokemonFixtures.pokeApiJson()));
+
+        assertThatThrownBy(() -> decoded.getTypes().add("fire")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> decoded.getStats().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void decodePokemon_ShouldTolerateNullsAndMissingSections() throws IOException {
+        String payload = """
+                {"abilities": [{"ability": {"name": "static"}}], "id": 25, "name": "pikachu",
+                 "height": null, "sprites": {"front_default": null, "other": null, "versions": {"x": [1, 2]}},
+                 "types": [{"slot": 1, "type": {"name": "electric", "url": "u"}}], "weight": 60}
+                """;
+
+        Pokemon decoded = pokeApiService.decodePokemon(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(decoded.getId()).isEqualTo(25L);
+        assertThat(decoded.getName()).isEqualTo("Pikachu");
+        assertThat(decoded.getHeight()).isNull();
+        assertThat(decoded.getWeight()).isEqualTo(60);
+        assertThat(decoded.getSprites().getOfficialArtwork()).isNull();
+        assertThat(decoded.getWeaknesses()).containsExactly("Ground");
+        assertThat(decoded.getRegion()).isEqualTo("Kanto");
+    }
+
+    @Test
+    void decodePokemon_ShouldRejectTruncatedPayloads() {
+        byte[] truncated = new String(PokemonFixtures.pokeApiJson(), StandardCharsets.UTF_8)
+                .substring(0, 5000)
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> pokeApiService.decodePokemon(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void fetchPokemonById_ShouldDecodeTheWireFormat() {
+        StepVerifier.create(pokeApiService.fetchPokemonById(7L))
+                .assertNext(pokemon -> {
+                    assertThat(pokemon.getId()).isEqualTo(7L);
+                    assertThat(pokemon.getName()).isEqualTo("Pokemon-7");
+                    assertThat(pokemon.getStats().get(0).getBaseStat()).isEqualTo(45);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void fetchPokemonById_ShouldSurfaceUpstreamErrorsBeforeDecoding() {
+        upstream.maxId(0);
+
+        StepVerifier.create(pokeApiService.fetchPokemonById(7L))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify();
+    }
+}
@@ -0,0 +1,161 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PreloadProgress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PokemonPreloaderTest {
+
+    private static final int MAX_POKEMON = 30;
+
+    @Mock
+    private PokemonCacheManager pokemonCacheManager;
+    @Mock
+    private SpriteService spriteService;
+
+    private final Set<Long> cached = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void run_ShouldLoadFullRange_AndSkipCachedIds() {
+        // given
+        for (long id = 2; id <= MAX_POKEMON; id += 2) {
+            cached.add(id);
+        }
+        stubCache(Set.of());
+        PokemonPreloader preloader = preloader(1000, 10);
+
+        // when
+        PreloadProgress progress = preloader.run();
+
+        // then
+        assertThat(progress.loaded()).isEqualTo(15);
+        assertThat(progress.alreadyCached()).isEqualTo(15);
+        assertThat(progress.failed()).isZero();
+        assertThat(progress.lastGoodId()).isEqualTo(MAX_POKEMON);
+        verify(pokemonCacheManager, times(15)).getPokemonByIdWithCache(anyLong());
+        verify(pokemonCacheManager, never()).getPokemonByIdWithCache(2L);
+        verify(spriteService).prefetch();
+    }
+
+    @Test
+    void run_ShouldResumeAfterLastContiguousSuccess() {
+        // given
+        stubCache(Set.of(12L));
+        PokemonPreloader preloader = preloader(1000, 10);
+
+        // when
+        PreloadProgress first = preloader.run();
+        stubCache(Set.of());
+        PreloadProgress second = preloader.run();
+
+        // then
+        assertThat(first.failed()).isEqualTo(1);
+        assertThat(first.lastGoodId()).isEqualTo(11);
+        assertThat(second.firstId()).isEqualTo(12);
+        assertThat(second.loaded()).isEqualTo(1);
+        assertThat(second.alreadyCached()).isEqualTo(MAX_POKEMON - 12);
+        assertThat(second.lastGoodId()).isEqualTo(MAX_POKEMON);
+        verify(pokemonCacheManager, times(2)).getPokemonByIdWithCache(12L);
+        verify(pokemonCacheManager, times(1)).getPokemonByIdWithCache(1L);
+    }
+
+    @Test
+    void bindTo_ShouldPublishProgressOfTheRun() {
+        // given
+        for (long id = 1; id <= 10; id++) {
+            cached.add(id);
+        }
+        stubCache(Set.of(12L));
+        PokemonPreloader preloader = preloader(1000, 10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        preloader.bindTo(registry);
+        double remainingBefore = entries(registry, "remaining");
+
+        // when
+        preloader.run();
+
+        // then
+        assertThat(remainingBefore).isEqualTo(MAX_POKEMON);
+        assertThat(entries(registry, "already-cached")).isEqualTo(10);
+        assertThat(entries(registry, "loaded")).isEqualTo(MAX_POKEMON - 11);
+        assertThat(entries(registry, "failed")).isEqualTo(1);
+        assertThat(entries(registry, "remaining")).isZero();
+    }
+
+    @Test
+    void start_ShouldRejectOverlappingRuns() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        when(pokemonCacheManager.getPokemonByIdWithCache(anyLong())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new Pokemon(invocation.getArgument(0), "Pokemon");
+        });
+        PokemonPreloader preloader = preloader(1000, 10);
+
+        // when
+        boolean firstStarted = preloader.start();
+        boolean secondStarted = preloader.start();
+        PreloadProgress scheduledRun = preloader.run();
+        release.countDown();
+
+        // then
+        assertThat(firstStarted).isTrue();
+        assertThat(secondStarted).isFalse();
+        assertThat(scheduledRun.running()).isTrue();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !preloader.progress().running());
+        assertThat(preloader.progress().loaded()).isEqualTo(MAX_POKEMON);
+    }
+
+    @Test
+    void run_ShouldRespectUpstreamRateLimit() {
+        // given
+        stubCache(Set.of());
+        PokemonPreloader preloader = preloader(50, 1);
+
+        // when
+        long start = System.nanoTime();
+        preloader.run();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then: 30 upstream calls at 50/s with a burst of 1 need at least 29 / 50 s
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(550);
+    }
+
+    private static double entries(SimpleMeterRegistry registry, String state) {
+        return registry.get("pokeapi.preload.entries").tag("state", state).gauge().value();
+    }
+
+    private void stubCache(Set<Long> failingIds) {
+        when(pokemonCacheManager.isCached(anyLong())).thenAnswer(invocation -> cached.contains(invocation.<Long>getArgument(0)));
+        when(pokemonCacheManager.getPokemonByIdWithCache(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            if (failingIds.contains(id)) {
+                throw new IllegalStateException("PokeAPI error");
+            }
+            cached.add(id);
+            return new Pokemon(id, "Pokemon-" + id);
+        });
+    }
+
+    private PokemonPreloader preloader(double requestsPerSecond, int burst) {
+        return new PokemonPreloader(pokemonCacheManager, spriteService, MAX_POKEMON, 4, requestsPerSecond, burst);
+    }
+}
@@ -0,0 +1,70 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSearchPage;
+import com.pokemon.api.store.PokedexQuery;
+import com.pokemon.api.support.PokemonFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PokemonSearchServiceTest {
+
+    @Mock
+    private PokemonCacheManager pokemonCacheManager;
+
+    private PokemonSearchService searchService;
+
+    @BeforeEach
+    void setup() {
+        searchService = new PokemonSearchService(pokemonCacheManager);
+    }
+
+    @Test
+    void search_ShouldBuildIndexOnceUntilCacheChanges() {
+        // given
+        List<Pokemon> cached = new ArrayList<>(PokemonFixtures.dex(10));
+        when(pokemonCacheManager.cachedPokemon()).thenReturn(cached);
+
+        // when
+        PokemonSearchPage first = searchService.search(PokedexQuery.builder().build());
+        PokemonSearchPage second = searchService.search(PokedexQuery.builder().build());
+
+        // then
+        assertThat(first.total()).isEqualTo(10);
+        assertThat(second.total()).isEqualTo(10);
+        verify(pokemonCacheManager, times(1)).cachedPokemon();
+    }
+
+    @Test
+    void refreshIndex_ShouldPickUpNewAndRefreshedEntries() {
+        // given
+        List<Pokemon> cached = new ArrayList<>(PokemonFixtures.dex(10));
+        when(pokemonCacheManager.cachedPokemon()).thenReturn(cached);
+        searchService.search(PokedexQuery.builder().build());
+
+        Pokemon refreshed = PokemonFixtures.pokemon(1);
+        refreshed.setName("Bulbasaur");
+        cached.set(0, refreshed);
+        cached.add(PokemonFixtures.pokemon(11));
+
+        // when
+        searchService.refreshIndex();
+        PokemonSearchPage page = searchService.search(PokedexQuery.builder().build());
+
+        // then
+        assertThat(page.total()).isEqualTo(11);
+        assertThat(page.results().get(0).getName()).isEqualTo("Bulbasaur");
+    }
+}
@@ -0,0 +1,197 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.cache.SpriteStore;
+import com.pokemon.api.cache.SpriteStore.Sprite;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSprites;
+import com.pokemon.api.model.SpriteKind;
+import com.pokemon.api.support.MockPokeApiServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** {@link SpriteService} downloading from the image stand-in of a {@link MockPokeApiServer}. */
+@ExtendWith(MockitoExtension.class)
+class SpriteServiceTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3, 4};
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private PokemonCacheManager pokemonCacheManager;
+
+    private MockPokeApiServer imageHost;
+    private SpriteStore spriteStore;
+
+    @BeforeEach
+    void setup() {
+        imageHost = new MockPokeApiServer();
+        spriteStore = new SpriteStore(root, DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+        spriteStore.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageHost.close();
+    }
+
+    @Test
+    void findSprite_ShouldDownloadOnce_ForConcurrentRequests_ThenServeFromDisk() throws Exception {
+        // given
+        imageHost.sprite("25.png", PNG).latency(Duration.ofMillis(200));
+        when(pokemonCacheManager.getPokemonByIdWithCache(25L)).thenReturn(pokemon(25, imageHost.spriteUrl("25.png")));
+        SpriteService service = service("");
+        Callable<Optional<Sprite>> request = () -> service.findSprite(25L, SpriteKind.FRONT);
+
+        // when
+        List<Optional<Sprite>> sprites;
+        try (ExecutorService clients = Executors.newFixedThreadPool(8)) {
+            List<Future<Optional<Sprite>>> futures = clients.invokeAll(IntStream.range(0, 8).mapToObj(i -> request).toList());
+            sprites = futures.stream().map(SpriteServiceTest::join).toList();
+        }
+        Optional<Sprite> later = service.findSprite(25L, SpriteKind.FRONT);
+
+        // then
+        assertThat(imageHost.spriteRequests()).isEqualTo(1);
+        assertThat(sprites).allSatisfy(sprite -> assertThat(sprite).isEqualTo(later));
+        assertThat(later).get().satisfies(sprite -> {
+            assertThat(sprite.contentType()).isEqualTo("image/png");
+            assertThat(Files.readAllBytes(sprite.path())).isEqualTo(PNG);
+        });
+    }
+
+    @Test
+    void findSprite_ShouldLeaveTheFileInPlace_WhenEvictedBeforeItIsSent() throws Exception {
+        // given: room for one image only
+        byte[] pikachu = Arrays.copyOf(PNG, 600);
+        byte[] raichu = Arrays.copyOf(PNG, 700);
+        imageHost.sprite("25.png", pikachu).sprite("26.png", raichu);
+        when(pokemonCacheManager.getPokemonByIdWithCache(25L)).thenReturn(pokemon(25, imageHost.spriteUrl("25.png")));
+        when(pokemonCacheManager.getPokemonByIdWithCache(26L)).thenReturn(pokemon(26, imageHost.spriteUrl("26.png")));
+        spriteStore = new SpriteStore(root, DataSize.ofBytes(1000), Duration.ofMinutes(10));
+        spriteStore.load();
+        SpriteService service = service("");
+        Sprite found = service.findSprite(25L, SpriteKind.FRONT).orElseThrow();
+
+        // when: another download evicts it before the response hands the path to sendfile
+        service.findSprite(26L, SpriteKind.FRONT);
+
+        // then
+        assertThat(spriteStore.contains("25-front")).isFalse();
+        assertThat(Files.readAllBytes(found.path())).isEqualTo(pikachu);
+    }
+
+    @Test
+    void findSprite_ShouldBeEmpty_WhenPokemonHasNoSuchImage_OrDoesNotExist() {
+        // given
+        when(pokemonCacheManager.getPokemonByIdWithCache(25L)).thenReturn(pokemon(25, imageHost.spriteUrl("25.png")));
+        when(pokemonCacheManager.getPokemonByIdWithCache(5000L))
+                .thenThrow(WebClientResponseException.create(404, "Not Found", null, null, null));
+        SpriteService service = service("");
+
+        // when / then
+        assertThat(service.findSprite(25L, SpriteKind.BACK)).isEmpty();
+        assertThat(service.findSprite(5000L, SpriteKind.FRONT)).isEmpty();
+        assertThat(imageHost.spriteRequests()).isZero();
+    }
+
+    @Test
+    void findSprite_ShouldFail_AndStoreNothing_WhenImageHostDoesNotHaveIt() {
+        // given
+        when(pokemonCacheManager.getPokemonByIdWithCache(25L)).thenReturn(pokemon(25, imageHost.spriteUrl("missing.png")));
+        SpriteService service = service("");
+
+        // when / then
+        assertThatThrownBy(() -> service.findSprite(25L, SpriteKind.FRONT))
+                .isInstanceOf(WebClientResponseException.NotFound.class);
+        assertThat(spriteStore.contains("25-front")).isFalse();
+        assertThat(spriteStore.sizeBytes()).isZero();
+    }
+
+    @Test
+    void findSprite_ShouldFail_AndStoreNothing_WhenImageHostAnswersWithSomethingElse() {
+        // given
+        byte[] page = "<html><script>alert(1)</script></html>".getBytes(StandardCharsets.UTF_8);
+        imageHost.sprite("25.png", page, "text/html");
+        when(pokemonCacheManager.getPokemonByIdWithCache(25L)).thenReturn(pokemon(25, imageHost.spriteUrl("25.png")));
+        SpriteService service = service("");
+
+        // when / then
+        assertThatThrownBy(() -> service.findSprite(25L, SpriteKind.FRONT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("text/html");
+        assertThat(spriteStore.contains("25-front")).isFalse();
+        assertThat(spriteStore.sizeBytes()).isZero();
+    }
+
+    @Test
+    void prefetch_ShouldDownloadConfiguredKinds_OfCachedPokemonNotStoredYet() {
+        // given
+        imageHost.sprite("1.png", PNG).sprite("2.png", new byte[]{1, 2, 3}).sprite("3.png", PNG);
+        when(pokemonCacheManager.cachedPokemon()).thenReturn(List.of(
+                pokemon(1, imageHost.spriteUrl("1.png")),
+                pokemon(2, imageHost.spriteUrl("2.png")),
+                pokemon(3, imageHost.spriteUrl("3.png"))));
+        SpriteService service = service("front,back");
+
+        // when
+        int first = service.prefetch();
+        int second = service.prefetch();
+
+        // then
+        assertThat(first).isEqualTo(3);
+        assertThat(second).isZero();
+        assertThat(imageHost.spriteRequests()).isEqualTo(3);
+        assertThat(spriteStore.images()).isEqualTo(2); // 1 and 3 are the same image
+        verify(pokemonCacheManager, times(2)).cachedPokemon();
+    }
+
+    private SpriteService service(String prefetch) {
+        return new SpriteService(pokemonCacheManager, spriteStore, WebClient.create(), prefetch, 2,
+                Duration.ofSeconds(5), DataSize.ofKilobytes(64));
+    }
+
+    private static Pokemon pokemon(long id, String frontUrl) {
+        PokemonSprites sprites = new PokemonSprites();
+        sprites.setFrontDefault(frontUrl);
+        Pokemon pokemon = new Pokemon(id, "Pokemon-" + id);
+        pokemon.setSprites(sprites);
+        return pokemon;
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.pokemon.api.service;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.support.MockPokeApiServer;
+import com.pokemon.api.support.MockPokeApiServer.Fault;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** {@link UpstreamPolicy} around real WebClient calls to a {@link MockPokeApiServer} with injected faults. */
+class UpstreamPolicyTest {
+
+    private static final UpstreamPolicy.Settings FAST = UpstreamPolicy.Settings.defaults().toBuilder()
+            .initialBackoff(Duration.ofMillis(10))
+            .maxBackoff(Duration.ofMillis(50))
+            .build();
+
+    private MockPokeApiServer upstream;
+    private PokeApiService pokeApiService;
+    private UpstreamPolicy policy;
+
+    @BeforeEach
+    void setup() {
+        upstream = new MockPokeApiServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void transientFailures_ShouldBeRetried() {
+        // given
+        service(FAST);
+        upstream.inject(Fault.status(503), Fault.disconnect());
+
+        // when
+        Pokemon pokemon = pokeApiService.fetchPokemonById(25L).block();
+
+        // then
+        assertThat(pokemon.getId()).isEqualTo(25L);
+        assertThat(upstream.requestsFor(25L)).isEqualTo(1);
+        assertThat(upstream.totalRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void notFound_ShouldNotBeRetried() {
+        // given
+        service(FAST);
+
+        // when / then
+        StepVerifier.create(pokeApiService.fetchPokemonById(5000L))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(upstream.totalRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void persistentFailure_ShouldSurfaceLastError_AfterMaxAttempts() {
+        // given
+        service(FAST);
+        upstream.outage(Fault.status(503));
+
+        // when / then
+        StepVerifier.create(pokeApiService.fetchPokemonById(25L))
+                .expectError(WebClientResponseException.ServiceUnavailable.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(upstream.totalRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void slowAttempt_ShouldTimeOut_AndBeRetried() {
+        // given
+        service(FAST.toBuilder().attemptTimeout(Duration.ofMillis(200)).build());
+        upstream.inject(Fault.delay(Duration.ofSeconds(2)));
+
+        // when
+        long start = System.nanoTime();
+        Pokemon pokemon = pokeApiService.fetchPokemonById(25L).block();
+
+        // then
+        assertThat(pokemon.getId()).isEqualTo(25L);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(upstream.totalRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void outage_ShouldOpenCircuit_FailFast_AndCloseAfterSuccessfulTrials() throws InterruptedException {
+        // given
+        service(FAST.toBuilder()
+                .maxAttempts(1)
+                .windowSize(4)
+                .minimumCalls(4)
+                .openDuration(Duration.ofMillis(300))
+                .build());
+        upstream.outage(Fault.status(500));
+        for (long id = 1; id <= 4; id++) {
+            StepVerifier.create(pokeApiService.fetchPokemonById(id)).expectError(WebClientResponseException.class).verify();
+        }
+
+        // when
+        int before = upstream.totalRequests();
+        StepVerifier.create(pokeApiService.fetchPokemonById(5L)).expectError(UpstreamUnavailableException.class).verify();
+        int whileOpen = upstream.totalRequests() - before;
+        upstream.recover();
+        Thread.sleep(400);
+        List<Pokemon> trials = Flux.range(6, 3).concatMap(id -> pokeApiService.fetchPokemonById((long) id)).collectList().block();
+
+        // then
+        assertThat(whileOpen).isZero();
+        assertThat(trials).hasSize(3);
+        assertThat(policy.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void hedge_ShouldAnswerFromSecondRequest_WhenFirstIsSlow() {
+        // given
+        service(FAST.toBuilder().hedgeDelay(Duration.ofMillis(100)).build());
+        upstream.inject(Fault.delay(Duration.ofSeconds(3)));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        policy.bindTo(registry);
+
+        // when
+        long start = System.nanoTime();
+        Pokemon pokemon = pokeApiService.fetchPokemonById(25L).block();
+
+        // then
+        assertThat(pokemon.getId()).isEqualTo(25L);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(upstream.requestsFor(25L)).isEqualTo(1); // The slow first request never reached the handler body
+        assertThat(registry.get("pokeapi.upstream.hedges").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void hedge_ShouldNotBeSent_WhenFirstAnswersInTime() {
+        // given
+        service(FAST.toBuilder().hedgeDelay(Duration.ofMillis(500)).build());
+
+        // when
+        pokeApiService.fetchPokemonById(25L).block();
+
+        // then
+        assertThat(upstream.totalRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void bulkhead_ShouldCapCallsInFlight_AndReleaseEveryPermit() {
+        // given
+        policy = new UpstreamPolicy(FAST.toBuilder().maxConcurrent(2).build());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Mono<Integer> call = Mono.fromCallable(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return 1;
+                })
+                .delayElement(Duration.ofMillis(50))
+                .doOnTerminate(inFlight::decrementAndGet);
+
+        // when
+        List<Integer> results = Flux.range(0, 8)
+                .flatMap(i -> policy.execute(() -> call))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // then
+        assertThat(results).hasSize(8);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+        assertThatAllPermitsReturned();
+    }
+
+    @Test
+    void bulkhead_ShouldReject_WhenNoPermitFreesUpInTime() {
+        // given
+        policy = new UpstreamPolicy(FAST.toBuilder().maxConcurrent(1).maxWait(Duration.ofMillis(50)).build());
+        Mono<Integer> slow = Mono.just(1).delayElement(Duration.ofMillis(300));
+
+        // when
+        Mono<Integer> first = policy.execute(() -> slow);
+        Mono<Integer> second = Mono.delay(Duration.ofMillis(20)).then(policy.execute(() -> slow));
+
+        // then
+        StepVerifier.create(Flux.merge(first, second.onErrorResume(UpstreamUnavailableException.class, e -> Mono.just(-1))))
+                .expectNext(-1)
+                .expectNext(1)
+                .verifyComplete();
+        assertThatAllPermitsReturned();
+    }
+
+    @Test
+    void cancelledCalls_ShouldReturnTheirPermits() {
+        // given
+        policy = new UpstreamPolicy(FAST.toBuilder().maxConcurrent(1).build());
+
+        // when
+        Flux.range(0, 5)
+                .flatMap(i -> policy.execute(() -> Mono.never()))
+                .take(Duration.ofMillis(100))
+                .blockLast();
+
+        // then
+        assertThatAllPermitsReturned();
+        StepVerifier.create(policy.execute(() -> Mono.just(1))).expectNext(1).verifyComplete();
+    }
+
+    @Test
+    void isTransient_ShouldOnlyAcceptFailuresWorthRetrying() {
+        assertThat(UpstreamPolicy.isTransient(new TimeoutException())).isTrue();
+        assertThat(UpstreamPolicy.isTransient(WebClientResponseException.create(503, "", null, null, null))).isTrue();
+        assertThat(UpstreamPolicy.isTransient(WebClientResponseException.create(429, "", null, null, null))).isTrue();
+        assertThat(UpstreamPolicy.isTransient(WebClientResponseException.create(404, "", null, null, null))).isFalse();
+        assertThat(UpstreamPolicy.isTransient(new UpstreamUnavailableException("open"))).isFalse();
+        assertThat(UpstreamPolicy.isTransient(new IllegalStateException())).isFalse();
+    }
+
+    private void service(UpstreamPolicy.Settings settings) {
+        policy = new UpstreamPolicy(settings);
+        pokeApiService = new PokeApiService(WebClient.create(upstream.baseUrl()), policy);
+    }
+
+    private void assertThatAllPermitsReturned() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        policy.bindTo(registry);
+        assertThat(registry.get("pokeapi.upstream.in.flight").gauge().value()).isZero();
+        assertThat(registry.get("pokeapi.upstream.waiting").gauge().value()).isZero();
+    }
+}
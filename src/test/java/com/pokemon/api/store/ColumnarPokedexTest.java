@@ -0,0 +1,102 @@
+package com.pokemon.api.store;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.model.StatName;
+import com.pokemon.api.support.PokemonFixtures;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarPokedexTest {
+
+    @Test
+    void materializedViewsEqualTheSourceObjects() {
+        List<Pokemon> dex = PokemonFixtures.dex();
+        ColumnarPokedex store = ColumnarPokedex.of(dex);
+
+        assertEquals(dex.size(), store.size());
+        for (int i = 0; i < store.size(); i++) {
+            assertEquals(dex.get(i), store.materialize(i));
+        }
+    }
+
+    @Test
+    void ordersByIdAndLooksUpByBinarySearch() {
+        List<Pokemon> shuffled = new ArrayList<>(PokemonFixtures.dex(200));
+        Collections.shuffle(shuffled);
+        shuffled.add(PokemonFixtures.pokemon(42));
+
+        ColumnarPokedex store = ColumnarPokedex.of(shuffled);
+
+        assertEquals(200, store.size());
+        assertEquals(1, store.id(0));
+        assertEquals(200, store.id(199));
+        assertEquals(PokemonFixtures.pokemon(150), store.findById(150).orElseThrow());
+        assertTrue(store.findById(201).isEmpty());
+        assertTrue(store.findById(Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void exposesColumnsWithoutMaterializing() {
+        ColumnarPokedex store = ColumnarPokedex.of(PokemonFixtures.dex());
+        Pokemon source = PokemonFixtures.pokemon(300);
+        int index = store.indexOf(300);
+
+        assertEquals(source.getName(), store.name(index));
+        assertEquals(Region.HOENN, store.region(index));
+        assertEquals(source.getStats().get(StatName.SPEED.ordinal()).getBaseStat(), store.baseStat(index, StatName.SPEED));
+        assertTrue(store.hasType(index, PokemonType.fromName(source.getTypes().get(0))));
+        for (String weakness : source.getWeaknesses()) {
+            assertTrue((store.weaknessMask(index) & 1 << PokemonType.fromName(weakness).ordinal()) != 0);
+        }
+    }
+
+    @Test
+    void keepsAbsentFieldsAbsent() {
+        Pokemon sparse = new Pokemon(7L, "squirtle");
+
+        ColumnarPokedex store = ColumnarPokedex.of(List.of(sparse));
+        Pokemon view = store.materialize(0);
+
+        assertEquals(ColumnarPokedex.ABSENT, store.baseStat(0, StatName.HP));
+        assertNull(store.primaryType(0));
+        assertNull(view.getHeight());
+        assertNull(view.getSprites());
+        assertNull(view.getRegion());
+        assertTrue(view.getTypes().isEmpty());
+    }
+
+    @Test
+    void skipsEntriesThatCannotBeEncoded() {
+        Pokemon unknownType = PokemonFixtures.pokemon(2);
+        unknownType.setTypes(List.of("shadow"));
+
+        ColumnarPokedex store = ColumnarPokedex.of(List.of(PokemonFixtures.pokemon(1), unknownType, PokemonFixtures.pokemon(3)));
+
+        assertEquals(2, store.size());
+        assertEquals(1, store.id(0));
+        assertEquals(3, store.id(1));
+        assertFalse(store.findById(2).isPresent());
+    }
+
+    @Test
+    void usesAFractionOfTheObjectGraphHeap() {
+        List<Pokemon> dex = PokemonFixtures.dex();
+        ColumnarPokedex store = ColumnarPokedex.of(dex);
+
+        long objectGraph = GraphLayout.parseInstance(dex).totalSize();
+        long columnar = GraphLayout.parseInstance(store).totalSize();
+
+        assertTrue(columnar * 4 < objectGraph, "columnar " + columnar + "B vs object graph " + objectGraph + "B");
+    }
+}
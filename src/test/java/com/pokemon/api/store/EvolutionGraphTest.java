@@ -0,0 +1,56 @@
+package com.pokemon.api.store;
+
+import com.pokemon.api.model.EvolutionLine;
+import com.pokemon.api.model.EvolutionStep;
+import com.pokemon.api.support.PokemonFixtures;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EvolutionGraphTest {
+
+    private final EvolutionGraph graph = EvolutionGraph.of(List.of(
+            PokemonFixtures.evolutionChain(1), PokemonFixtures.evolutionChain(67)));
+
+    @Test
+    void linearChain_ShouldLinkEveryStage() {
+        EvolutionLine line = graph.line(2);
+
+        assertThat(line.chainId()).isEqualTo(1L);
+        assertThat(line.evolvesFrom()).isEqualTo(1L);
+        assertThat(line.evolvesTo()).containsExactly(3L);
+        assertThat(line.chain().name()).isEqualTo("Bulbasaur");
+        assertThat(line.chain().evolvesBy()).isNull();
+        assertThat(line.chain().evolvesTo()).singleElement().satisfies(ivysaur -> {
+            assertThat(ivysaur.evolvesBy()).isEqualTo(new EvolutionStep("level-up", 16, null, null, null, null, null));
+            assertThat(ivysaur.evolvesTo()).extracting(EvolutionLine.Node::id).containsExactly(3L);
+        });
+    }
+
+    @Test
+    void branchingChain_ShouldKeepBranchOrder_AndServeTheSameTreeFromAnyMember() {
+        EvolutionLine eevee = graph.line(133);
+        EvolutionLine espeon = graph.line(196);
+
+        assertThat(eevee.evolvesFrom()).isNull();
+        assertThat(eevee.evolvesTo()).containsExactly(134L, 135L, 196L);
+        assertThat(espeon.evolvesTo()).isEmpty();
+        assertThat(espeon.chain()).isEqualTo(eevee.chain());
+        assertThat(espeon.chain().evolvesTo().get(0).evolvesBy().item()).isEqualTo("water-stone");
+        assertThat(espeon.chain().evolvesTo().get(2).evolvesBy())
+                .isEqualTo(new EvolutionStep("level-up", null, null, null, 160, "day", null));
+    }
+
+    @Test
+    void unknownIds_ShouldNotBeFound() {
+        assertThat(graph.size()).isEqualTo(7);
+        assertThat(graph.chains()).isEqualTo(2);
+        assertThat(graph.contains(4)).isFalse();
+        assertThat(graph.line(4)).isNull();
+        assertThat(graph.line(5000)).isNull();
+        assertThat(graph.parentOf(135)).isEqualTo(133L);
+        assertThat(EvolutionGraph.EMPTY.contains(1)).isFalse();
+    }
+}
@@ -0,0 +1,140 @@
+package com.pokemon.api.store;
+
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSearchPage;
+import com.pokemon.api.model.PokemonStat;
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.model.StatName;
+import com.pokemon.api.support.PokemonFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PokedexIndexTest {
+
+    private List<Pokemon> dex;
+    private PokedexIndex index;
+
+    @BeforeEach
+    void setup() {
+        dex = PokemonFixtures.dex();
+        index = PokedexIndex.build(ColumnarPokedex.of(dex));
+    }
+
+    @Test
+    void anyTypeInRegionMatchesBruteForce() {
+        PokedexQuery query = PokedexQuery.builder()
+                .types(Set.of(PokemonType.FIRE, PokemonType.WATER))
+                .regions(Set.of(Region.KANTO))
+                .limit(PokedexQuery.MAX_LIMIT)
+                .build();
+
+        assertThat(ids(index.search(query))).containsExactlyElementsOf(bruteForce(p ->
+                p.getRegion().equals("Kanto") && (p.getTypes().contains("fire") || p.getTypes().contains("water"))));
+    }
+
+    @Test
+    void allWeaknessesAndStatRangesAreAnded() {
+        PokedexQuery query = PokedexQuery.builder()
+                .weaknesses(Set.of(PokemonType.ROCK, PokemonType.DARK))
+                .weaknessMatch(PokedexQuery.Match.ALL)
+                .statRanges(List.of(PokedexQuery.StatRange.parse("attack:60..120"), PokedexQuery.StatRange.parse("speed:..100")))
+                .limit(PokedexQuery.MAX_LIMIT)
+                .build();
+
+        assertThat(ids(index.search(query))).containsExactlyElementsOf(bruteForce(p ->
+                p.getWeaknesses().containsAll(List.of("Rock", "Dark"))
+                        && between(stat(p, StatName.ATTACK), 60, 120)
+                        && between(stat(p, StatName.SPEED), 0, 100)));
+    }
+
+    @Test
+    void statRangeUpToIntegerMaxMatchesEverything() {
+        PokedexQuery query = PokedexQuery.builder()
+                .statRanges(List.of(PokedexQuery.StatRange.parse("hp:0.." + Integer.MAX_VALUE),
+                        PokedexQuery.StatRange.parse("speed:" + Integer.MIN_VALUE + "..")))
+                .build();
+
+        assertThat(index.search(query).total()).isEqualTo(dex.size());
+    }
+
+    @Test
+    void cursorPagingWalksEveryMatchOnceInSortOrder() {
+        PokedexQuery.Sort sort = PokedexQuery.Sort.parse("speed,desc");
+        List<Long> expected = dex.stream()
+                .filter(p -> p.getTypes().contains("grass"))
+                .sorted(Comparator.comparingInt((Pokemon p) -> stat(p, StatName.SPEED)).thenComparing(Pokemon::getId).reversed())
+                .map(Pokemon::getId)
+                .toList();
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            PokemonSearchPage page = index.search(PokedexQuery.builder()
+                    .types(Set.of(PokemonType.GRASS)).sort(sort).limit(7).cursor(cursor).build());
+            assertThat(page.total()).isEqualTo(expected.size());
+            walked.addAll(ids(page));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(walked).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void lastFullPageHasNoCursor() {
+        PokemonSearchPage page = index.search(PokedexQuery.builder()
+                .regions(Set.of(Region.KANTO)).limit(151).build());
+
+        assertThat(page.results()).hasSize(151);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSort() {
+        String cursor = index.search(PokedexQuery.builder().limit(5).build()).nextCursor();
+
+        assertThatThrownBy(() -> index.search(PokedexQuery.builder()
+                .sort(PokedexQuery.Sort.parse("attack")).cursor(cursor).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search(PokedexQuery.builder().cursor("not a cursor").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMalformedParameters() {
+        assertThatThrownBy(() -> PokedexQuery.StatRange.parse("attack>100")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PokedexQuery.StatRange.parse("luck:1..2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PokedexQuery.Sort.parse("speed,sideways")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PokedexQuery.builder().limit(PokedexQuery.MAX_LIMIT + 1).build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Long> bruteForce(Predicate<Pokemon> filter) {
+        return dex.stream().filter(filter).map(Pokemon::getId).toList();
+    }
+
+    private static List<Long> ids(PokemonSearchPage page) {
+        return page.results().stream().map(Pokemon::getId).toList();
+    }
+
+    private static int stat(Pokemon pokemon, StatName name) {
+        return pokemon.getStats().stream()
+                .filter(s -> s.getName().equals(name.apiName()))
+                .mapToInt(PokemonStat::getBaseStat)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static boolean between(int value, int min, int max) {
+        return value >= min && value <= max;
+    }
+}
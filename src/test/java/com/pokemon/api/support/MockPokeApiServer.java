@@ -0,0 +1,366 @@
+package com.pokemon.api.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Embedded stand-in for pokeapi.co serving the recorded {@code /pokemon/1} payload for every ID
+ * (with the ID and name rewritten) so tests never touch the public API.
+ * <p>
+ * Faults can be injected one request at a time ({@link #inject}) or for every request until
+ * further notice ({@link #outage}), or to a random share of requests ({@link #faultRate}).
+ * Bodies are gzipped for clients that accept it and carry
+ * an ETag honoured by {@code If-None-Match}, like pokeapi.co's; {@link #update} changes one.
+ * Images registered with {@link #sprite} stand in for the sprite host the payloads link to.
+ */
+public final class MockPokeApiServer implements AutoCloseable {
+
+    private static final String FIXTURE = "/fixtures/pokeapi/pokemon-1.json";
+    private static final long FAULT_SEED = 42; // Same fault sequence every run
+
+    static {
+        // Headers and a small (gzipped) body go out as separate writes; without TCP_NODELAY the
+        // second waits for the client's delayed ACK and every call takes tens of milliseconds
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String template;
+    private final Map<Long, byte[]> payloads = new ConcurrentHashMap<>();
+    private final Map<Long, byte[]> gzippedPayloads = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> pokemonRequests = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> sprites = new ConcurrentHashMap<>();
+    private final Map<String, String> spriteContentTypes = new ConcurrentHashMap<>();
+    private final AtomicInteger spriteRequests = new AtomicInteger();
+    private final AtomicInteger totalRequests = new AtomicInteger();
+    private final AtomicInteger gzippedResponses = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final Set<SocketAddress> clientAddresses = ConcurrentHashMap.newKeySet();
+    private final Queue<Fault> faults = new ConcurrentLinkedQueue<>();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Fault outage;
+    private volatile Random random = new Random(FAULT_SEED);
+    private volatile Fault randomFault;
+    private volatile double faultRate;
+    private volatile int maxId = 1025;
+    private volatile boolean etags = true;
+
+    public MockPokeApiServer() {
+        try {
+            this.template = readFixture();
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/pokemon", this::handlePokemon);
+        server.createContext("/sprites", this::handleSprite);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public MockPokeApiServer latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public MockPokeApiServer maxId(int maxId) {
+        this.maxId = maxId;
+        return this;
+    }
+
+    /** Whether {@code /pokemon/{id}} answers carry an ETag (and so can be revalidated). */
+    public MockPokeApiServer etags(boolean etags) {
+        this.etags = etags;
+        return this;
+    }
+
+    /** Edits the JSON served for {@code id} from now on, as a PokeAPI data update would. */
+    public MockPokeApiServer update(long id, UnaryOperator<String> edit) {
+        payloads.put(id, edit.apply(new String(payload(id), StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8));
+        gzippedPayloads.remove(id);
+        return this;
+    }
+
+    /** Serves {@code image} as a PNG at {@link #spriteUrl(String)}; other names get a 404. */
+    public MockPokeApiServer sprite(String name, byte[] image) {
+        return sprite(name, image, "image/png");
+    }
+
+    /** Serves {@code body} at {@link #spriteUrl(String)} with the given Content-Type. */
+    public MockPokeApiServer sprite(String name, byte[] body, String contentType) {
+        sprites.put(name, body);
+        spriteContentTypes.put(name, contentType);
+        return this;
+    }
+
+    public String spriteUrl(String name) {
+        return baseUrl() + "/sprites/" + name;
+    }
+
+    /** Queues faults; each one is applied to a single upcoming request, in order. */
+    public MockPokeApiServer inject(Fault... faults) {
+        this.faults.addAll(List.of(faults));
+        return this;
+    }
+
+    /** Applies {@code fault} to every request until {@link #recover()}. */
+    public MockPokeApiServer outage(Fault fault) {
+        this.outage = fault;
+        return this;
+    }
+
+    /** Applies {@code fault} to about {@code rate} (0..1) of requests until {@link #recover()}. */
+    public MockPokeApiServer faultRate(double rate, Fault fault) {
+        this.randomFault = fault;
+        this.faultRate = rate;
+        return this;
+    }
+
+    public MockPokeApiServer recover() {
+        this.outage = null;
+        this.randomFault = null;
+        this.faults.clear();
+        return this;
+    }
+
+    public int totalRequests() {
+        return totalRequests.get();
+    }
+
+    public int requestsFor(long id) {
+        AtomicInteger count = pokemonRequests.get(id);
+        return count == null ? 0 : count.get();
+    }
+
+    /** Client connections seen, one per remote address and port. */
+    public int connections() {
+        return clientAddresses.size();
+    }
+
+    public int spriteRequests() {
+        return spriteRequests.get();
+    }
+
+    public int gzippedResponses() {
+        return gzippedResponses.get();
+    }
+
+    public int notModifiedResponses() {
+        return notModifiedResponses.get();
+    }
+
+    /** Zeroes the counts and restarts the {@link #faultRate} sequence, for a run measured from here. */
+    public void resetCounts() {
+        totalRequests.set(0);
+        gzippedResponses.set(0);
+        notModifiedResponses.set(0);
+        pokemonRequests.clear();
+        spriteRequests.set(0);
+        clientAddresses.clear();
+        random = new Random(FAULT_SEED);
+    }
+
+    /** The payload served for {@code id}, exactly as it goes over the wire. */
+    public byte[] payload(long id) {
+        return payloads.computeIfAbsent(id, key -> template
+                .replace("\"id\":1,", "\"id\":" + key + ",")
+                .replace("bulbasaur", "pokemon-" + key)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handlePokemon(HttpExchange exchange) throws IOException {
+        totalRequests.incrementAndGet();
+        clientAddresses.add(exchange.getRemoteAddress());
+        try (exchange) {
+            sleep(latency);
+            Fault fault = outage != null ? outage : faults.poll();
+            Fault sometimes = randomFault;
+            if (fault == null && sometimes != null && random.nextDouble() < faultRate) {
+                fault = sometimes;
+            }
+            if (fault != null) {
+                sleep(fault.latency());
+                if (fault.dropConnection()) {
+                    return; // Closing an exchange before sending headers drops the connection
+                }
+                if (fault.statusCode() != 0) {
+                    respond(exchange, fault.statusCode(), "Injected fault".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+            }
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/pokemon") || path.equals("/pokemon/")) {
+                respond(exchange, 200, listPayload(limit(exchange.getRequestURI().getQuery())));
+                return;
+            }
+
+            long id;
+            try {
+                id = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+            } catch (NumberFormatException e) {
+                respond(exchange, 404, "Not Found".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            pokemonRequests.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+
+            if (id < 1 || id > maxId) {
+                respond(exchange, 404, "Not Found".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            byte[] payload = payload(id);
+            if (etags) {
+                String etag = "\"" + Integer.toHexString(Arrays.hashCode(payload)) + "\"";
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    notModifiedResponses.incrementAndGet();
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+            respond(exchange, 200, payload, () -> gzippedPayloads.computeIfAbsent(id, key -> gzip(payload(key))));
+        }
+    }
+
+    private void handleSprite(HttpExchange exchange) throws IOException {
+        spriteRequests.incrementAndGet();
+        try (exchange) {
+            sleep(latency);
+            String path = exchange.getRequestURI().getPath();
+            String name = path.substring(path.lastIndexOf('/') + 1);
+            byte[] image = sprites.get(name);
+            if (image == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", spriteContentTypes.get(name));
+            exchange.sendResponseHeaders(200, image.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(image);
+            }
+        }
+    }
+
+    /**
+     * A fault for one request: answer with {@code statusCode}, hang up without answering, or
+     * only add {@code latency} before the normal answer (it also precedes the other two).
+     */
+    public record Fault(int statusCode, Duration latency, boolean dropConnection) {
+
+        public static Fault status(int status) {
+            return new Fault(status, Duration.ZERO, false);
+        }
+
+        public static Fault delay(Duration delay) {
+            return new Fault(0, delay, false);
+        }
+
+        public static Fault disconnect() {
+            return new Fault(0, Duration.ZERO, true);
+        }
+    }
+
+    private int limit(String query) {
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith("limit=")) {
+                    return Math.min(Integer.parseInt(param.substring("limit=".length())), maxId);
+                }
+            }
+        }
+        return Math.min(20, maxId);
+    }
+
+    private byte[] listPayload(int limit) {
+        StringJoiner results = new StringJoiner(",", "{\"count\":" + maxId + ",\"results\":[", "]}");
+        for (int id = 1; id <= limit; id++) {
+            results.add("{\"name\":\"pokemon-" + id + "\",\"url\":\"https://pokeapi.co/api/v2/pokemon/" + id + "/\"}");
+        }
+        return results.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        respond(exchange, status, body, () -> gzip(body));
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body, Supplier<byte[]> gzipped) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            body = gzipped.get();
+            gzippedResponses.incrementAndGet();
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String readFixture() throws IOException {
+        try (InputStream in = MockPokeApiServer.class.getResourceAsStream(FIXTURE)) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + FIXTURE);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+    }
+}
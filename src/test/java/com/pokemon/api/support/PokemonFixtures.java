@@ -0,0 +1,170 @@
+package com.pokemon.api.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.pokemon.api.model.Pokemon;
+import com.pokemon.api.model.PokemonSprites;
+import com.pokemon.api.model.PokemonStat;
+import com.pokemon.api.model.PokemonType;
+import com.pokemon.api.model.Region;
+import com.pokemon.api.model.StatName;
+import com.pokemon.api.model.TypeChart;
+import com.pokemon.api.model.Vocabulary;
+import com.pokemon.api.response.EvolutionChainResponse;
+import com.pokemon.api.response.PokeApiResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deterministic, realistically shaped in-memory Pokédex for tests and benchmarks that need
+ * the full dataset without going through HTTP. Values are derived from the ID, so two calls
+ * produce equal (but not identical) object graphs.
+ */
+public final class PokemonFixtures {
+
+    public static final int FULL_DEX = 1025;
+
+    /** A recorded {@code /pokemon/1} PokeAPI response (bulbasaur). */
+    public static final String POKEAPI_FIXTURE = "/fixtures/pokeapi/pokemon-1.json";
+
+    private static final String SPRITE_BASE = "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/";
+
+    private PokemonFixtures() {
+    }
+
+    /**
+     * An ObjectMapper configured like the application's (snake_case, unknown properties
+     * ignored), for tests and benchmarks that run without a Spring context.
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .build();
+    }
+
+    public static byte[] pokeApiJson() {
+        try (InputStream in = PokemonFixtures.class.getResourceAsStream(POKEAPI_FIXTURE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + POKEAPI_FIXTURE);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A recorded {@code /evolution-chain/{id}} response, trimmed to the fields we read: 1 is
+     * Bulbasaur's linear chain, 67 Eevee's branching one (three of its branches).
+     */
+    public static EvolutionChainResponse evolutionChain(long id) {
+        String fixture = "/fixtures/pokeapi/evolution-chain-" + id + ".json";
+        try (InputStream in = PokemonFixtures.class.getResourceAsStream(fixture)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + fixture);
+            }
+            return objectMapper().readValue(in, EvolutionChainResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps a payload bound to {@link PokeApiResponse} the way PokeApiService did before it
+     * decoded the token stream directly, as the reference the decoder has to agree with.
+     */
+    public static Pokemon fromResponse(PokeApiResponse response) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(response.getId());
+        pokemon.setName(Vocabulary.capitalize(response.getName()));
+        pokemon.setTypes(response.getTypes().stream()
+                .map(type -> type.getType().getName())
+                .toList());
+        pokemon.setHeight(response.getHeight());
+        pokemon.setWeight(response.getWeight());
+
+        PokemonSprites sprites = new PokemonSprites();
+        sprites.setFrontDefault(response.getSprites().getFrontDefault());
+        sprites.setBackDefault(response.getSprites().getBackDefault());
+        sprites.setOfficialArtwork(response.getSprites().getOther().getOfficialArtwork().getFrontDefault());
+        pokemon.setSprites(sprites);
+
+        pokemon.setStats(response.getStats().stream()
+                .map(stat -> {
+                    PokemonStat pokemonStat = new PokemonStat();
+                    pokemonStat.setName(stat.getStat().getName());
+                    pokemonStat.setBaseStat(stat.getBaseStat());
+                    return pokemonStat;
+                })
+                .toList());
+
+        pokemon.setRegion(Region.forPokemonId(pokemon.getId()).displayName());
+        pokemon.setWeaknesses(TypeChart.weaknesses(pokemon.getTypes()));
+        return pokemon;
+    }
+
+    public static List<Pokemon> dex() {
+        return dex(FULL_DEX);
+    }
+
+    public static List<Pokemon> dex(int size) {
+        List<Pokemon> pokemon = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            pokemon.add(pokemon(id));
+        }
+        return pokemon;
+    }
+
+    public static Pokemon pokemon(long id) {
+        PokemonType[] all = PokemonType.values();
+        PokemonType primary = all[(int) (id % all.length)];
+        PokemonType secondary = id % 3 == 0 ? all[(int) ((id * 7) % all.length)] : null;
+
+        List<String> types = new ArrayList<>();
+        types.add(primary.apiName());
+        if (secondary != null && secondary != primary) {
+            types.add(secondary.apiName());
+        }
+
+        // Synthetic, not TypeChart's: a de-duplicated union of a few capitalized type names
+        // per type, so every weakness shows up somewhere in the dex.
+        Set<String> weaknesses = new LinkedHashSet<>();
+        for (String type : types) {
+            int ordinal = PokemonType.fromName(type).ordinal();
+            weaknesses.add(all[(ordinal + 5) % all.length].displayName());
+            weaknesses.add(all[(ordinal + 11) % all.length].displayName());
+        }
+
+        PokemonSprites sprites = new PokemonSprites();
+        sprites.setFrontDefault(SPRITE_BASE + id + ".png");
+        sprites.setBackDefault(SPRITE_BASE + "back/" + id + ".png");
+        sprites.setOfficialArtwork(SPRITE_BASE + "other/official-artwork/" + id + ".png");
+
+        List<PokemonStat> stats = new ArrayList<>();
+        for (StatName name : StatName.values()) {
+            PokemonStat stat = new PokemonStat();
+            stat.setName(name.apiName());
+            stat.setBaseStat((int) (20 + (id * 31 + name.ordinal() * 17) % 140));
+            stats.add(stat);
+        }
+
+        return new Pokemon(
+                id,
+                "Pokemon-" + id,
+                types,
+                Region.forPokemonId(id).displayName(),
+                new ArrayList<>(weaknesses),
+                sprites,
+                (int) (3 + id % 40),
+                (int) (10 + (id * 13) % 2000),
+                stats
+        );
+    }
+}
@@ -0,0 +1,37 @@
+package com.pokemon.api.support;
+
+import com.pokemon.api.cache.CacheRefreshStats;
+import com.pokemon.api.cache.SharedPokemonCache;
+import com.pokemon.api.config.CacheConfig;
+import com.pokemon.api.service.PokeApiService;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Optional;
+
+/** Builds the production cache setup around a (usually mocked) {@link PokeApiService}. */
+public final class TestCacheManagers {
+
+    private TestCacheManagers() {
+    }
+
+    public static CacheManager caffeine(PokeApiService pokeApiService) {
+        return caffeine(pokeApiService, new CacheRefreshStats());
+    }
+
+    public static CacheManager caffeine(PokeApiService pokeApiService, CacheRefreshStats refreshStats) {
+        return new CacheConfig().cacheManager(pokeApiService, refreshStats, new StandardEnvironment(), Optional.empty());
+    }
+
+    /** One node of a multi-node setup: its own Caffeine tier in front of {@code sharedCache}. */
+    public static CacheManager tiered(PokeApiService pokeApiService, SharedPokemonCache sharedCache) {
+        return new CacheConfig().cacheManager(pokeApiService, new CacheRefreshStats(), new StandardEnvironment(),
+                Optional.of(sharedCache));
+    }
+
+    /** Peeks at a cached value; unlike {@code Cache.get} this never triggers a load. */
+    public static Object cachedValue(CacheManager cacheManager, String cacheName, Object key) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().getIfPresent(key);
+    }
+}